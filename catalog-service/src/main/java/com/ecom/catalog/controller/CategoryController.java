@@ -0,0 +1,61 @@
+package com.ecom.catalog.controller;
+
+import com.ecom.common.dto.ApiResponse;
+import com.ecom.common.dto.CursorPage;
+import com.ecom.catalog.dto.CategoryNode;
+import com.ecom.catalog.dto.CategoryRequest;
+import com.ecom.catalog.dto.CategoryRow;
+import com.ecom.catalog.dto.ProductSummary;
+import com.ecom.catalog.service.CategoryService;
+import com.ecom.catalog.service.ProductService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/categories")
+@RequiredArgsConstructor
+public class CategoryController {
+
+    private final CategoryService categoryService;
+    private final ProductService productService;
+
+    @GetMapping("/tree")
+    public ResponseEntity<ApiResponse<List<CategoryNode>>> getMenu() {
+        return ResponseEntity.ok(ApiResponse.ok(categoryService.getMenu()));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponse<CategoryNode>> getCategory(@PathVariable String id) {
+        return ResponseEntity.ok(ApiResponse.ok(categoryService.getCategory(id)));
+    }
+
+    @GetMapping("/slug/{slug}")
+    public ResponseEntity<ApiResponse<CategoryNode>> getCategoryBySlug(@PathVariable String slug) {
+        return ResponseEntity.ok(ApiResponse.ok(categoryService.getCategoryBySlug(slug)));
+    }
+
+    @GetMapping("/{id}/products")
+    public ResponseEntity<ApiResponse<CursorPage<ProductSummary>>> getProductsInTree(
+            @PathVariable String id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(ApiResponse.ok(productService.getProductsInCategoryTree(id, cursor, size)));
+    }
+
+    @PostMapping
+    public ResponseEntity<ApiResponse<CategoryRow>> createCategory(@Valid @RequestBody CategoryRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.ok("Category created", categoryService.createCategory(request)));
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<ApiResponse<CategoryRow>> updateCategory(
+            @PathVariable String id, @Valid @RequestBody CategoryRequest request) {
+        return ResponseEntity.ok(ApiResponse.ok("Category updated", categoryService.updateCategory(id, request)));
+    }
+}
@@ -1,9 +1,17 @@
 package com.ecom.catalog.controller;
 
 import com.ecom.common.dto.ApiResponse;
+import com.ecom.catalog.dto.BatchStockRequest;
+import com.ecom.catalog.dto.BatchStockResponse;
+import com.ecom.catalog.dto.ReservationResponse;
 import com.ecom.catalog.entity.Inventory;
+import com.ecom.catalog.service.FlashSaleCounters;
 import com.ecom.catalog.service.InventoryService;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -20,23 +28,58 @@ public class InventoryController {
     private final InventoryService inventoryService;
 
     @PostMapping("/reserve")
-    public ResponseEntity<ApiResponse<Void>> reserveStock(@RequestBody Map<String, Object> request) {
-        inventoryService.reserveStock(
+    public ResponseEntity<ApiResponse<ReservationResponse>> reserveStock(@RequestBody Map<String, Object> request) {
+        ReservationResponse reservation = inventoryService.reserveStock(
                 (String) request.get("variantId"),
                 (String) request.get("sellerId"),
-                (Integer) request.get("quantity"));
-        return ResponseEntity.ok(ApiResponse.ok("Stock reserved", null));
+                (Integer) request.get("quantity"),
+                (String) request.get("callerId"));
+        return ResponseEntity.ok(ApiResponse.ok("Stock reserved", reservation));
     }
 
-    @PostMapping("/release")
-    public ResponseEntity<ApiResponse<Void>> releaseStock(@RequestBody Map<String, Object> request) {
-        inventoryService.releaseStock(
-                (String) request.get("variantId"),
-                (String) request.get("sellerId"),
-                (Integer) request.get("quantity"));
+    @PostMapping("/reserve-batch")
+    public ResponseEntity<ApiResponse<BatchStockResponse>> reserveBatch(
+            @Valid @RequestBody BatchStockRequest request) {
+        BatchStockResponse result = inventoryService.reserveBatch(request.getLines(), request.getCallerId());
+        if (result.isSuccess()) {
+            return ResponseEntity.ok(ApiResponse.ok("Stock reserved", result));
+        }
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(ApiResponse.<BatchStockResponse>builder()
+                        .success(false)
+                        .message("One or more lines could not be reserved — nothing was reserved")
+                        .data(result)
+                        .build());
+    }
+
+    @PostMapping("/reservations/{reservationId}/release")
+    public ResponseEntity<ApiResponse<Void>> releaseReservation(@PathVariable String reservationId) {
+        inventoryService.releaseReservation(reservationId);
         return ResponseEntity.ok(ApiResponse.ok("Stock released", null));
     }
 
+    @PostMapping("/reservations/{reservationId}/confirm")
+    public ResponseEntity<ApiResponse<Void>> confirmReservation(@PathVariable String reservationId) {
+        inventoryService.confirmReservation(reservationId);
+        return ResponseEntity.ok(ApiResponse.ok("Reservation confirmed", null));
+    }
+
+    @PostMapping("/flash-sale/{variantId}/{sellerId}/start")
+    public ResponseEntity<ApiResponse<Integer>> startFlashSale(
+            @PathVariable String variantId, @PathVariable String sellerId,
+            @RequestParam(defaultValue = "${inventory.flash-sale.default-shards:16}")
+            @Min(1) @Max(FlashSaleCounters.MAX_SHARDS) int shards) {
+        return ResponseEntity.ok(ApiResponse.ok("Flash sale started",
+                inventoryService.startFlashSale(variantId, sellerId, shards)));
+    }
+
+    @PostMapping("/flash-sale/{variantId}/{sellerId}/end")
+    public ResponseEntity<ApiResponse<Integer>> endFlashSale(
+            @PathVariable String variantId, @PathVariable String sellerId) {
+        return ResponseEntity.ok(ApiResponse.ok("Flash sale ended",
+                inventoryService.endFlashSale(variantId, sellerId)));
+    }
+
     @GetMapping("/{variantId}/{sellerId}")
     public ResponseEntity<ApiResponse<Inventory>> getInventory(
             @PathVariable String variantId, @PathVariable String sellerId) {
@@ -1,13 +1,22 @@
 package com.ecom.catalog.controller;
 
 import com.ecom.common.dto.ApiResponse;
+import com.ecom.common.dto.CursorPage;
+import com.ecom.catalog.dto.ProductDetail;
+import com.ecom.catalog.dto.ProductSearchResponse;
+import com.ecom.catalog.dto.ProductSummary;
+import com.ecom.catalog.dto.VariantLookupRequest;
+import com.ecom.catalog.dto.VariantPrice;
 import com.ecom.catalog.entity.Product;
+import com.ecom.catalog.search.ProductSearchService;
 import com.ecom.catalog.service.ProductService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 @RestController
@@ -16,6 +25,7 @@ import java.util.List;
 public class ProductController {
 
     private final ProductService productService;
+    private final ProductSearchService productSearchService;
 
     @PostMapping
     public ResponseEntity<ApiResponse<Product>> createProduct(@RequestBody Product product) {
@@ -24,28 +34,59 @@ public class ProductController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<Product>> getProduct(@PathVariable String id) {
-        return ResponseEntity.ok(ApiResponse.ok(productService.getProductById(id)));
+    public ResponseEntity<ApiResponse<ProductDetail>> getProduct(@PathVariable String id) {
+        return ResponseEntity.ok(ApiResponse.ok(productService.getProductDetail(id)));
+    }
+
+    /**
+     * Batch price lookup: {@code POST /api/products/variants/lookup} with {@code {"ids": [...]}} —
+     * in the body, so a full cart's ids never run into the request header limit.
+     */
+    @PostMapping("/variants/lookup")
+    public ResponseEntity<ApiResponse<List<VariantPrice>>> getVariantPrices(
+            @Valid @RequestBody VariantLookupRequest request) {
+        return ResponseEntity.ok(ApiResponse.ok(productService.getVariantPrices(request.getIds())));
     }
 
     @GetMapping("/slug/{slug}")
-    public ResponseEntity<ApiResponse<Product>> getProductBySlug(@PathVariable String slug) {
-        return ResponseEntity.ok(ApiResponse.ok(productService.getProductBySlug(slug)));
+    public ResponseEntity<ApiResponse<ProductDetail>> getProductBySlug(@PathVariable String slug) {
+        return ResponseEntity.ok(ApiResponse.ok(productService.getProductDetailBySlug(slug)));
     }
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<Product>>> getActiveProducts() {
-        return ResponseEntity.ok(ApiResponse.ok(productService.getActiveProducts()));
+    public ResponseEntity<ApiResponse<CursorPage<ProductSummary>>> getActiveProducts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(ApiResponse.ok(productService.getActiveProducts(cursor, size)));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<ProductSearchResponse>> search(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) String categoryId,
+            @RequestParam(required = false) Double minRating,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(ApiResponse.ok(
+                productSearchService.search(q, minPrice, maxPrice, categoryId, minRating, page, size)));
     }
 
     @GetMapping("/seller/{sellerId}")
-    public ResponseEntity<ApiResponse<List<Product>>> getProductsBySeller(@PathVariable String sellerId) {
-        return ResponseEntity.ok(ApiResponse.ok(productService.getProductsBySeller(sellerId)));
+    public ResponseEntity<ApiResponse<CursorPage<ProductSummary>>> getProductsBySeller(
+            @PathVariable String sellerId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(ApiResponse.ok(productService.getProductsBySeller(sellerId, cursor, size)));
     }
 
     @GetMapping("/category/{categoryId}")
-    public ResponseEntity<ApiResponse<List<Product>>> getProductsByCategory(@PathVariable String categoryId) {
-        return ResponseEntity.ok(ApiResponse.ok(productService.getProductsByCategory(categoryId)));
+    public ResponseEntity<ApiResponse<CursorPage<ProductSummary>>> getProductsByCategory(
+            @PathVariable String categoryId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(ApiResponse.ok(productService.getProductsByCategory(categoryId, cursor, size)));
     }
 
     @PutMapping("/{id}")
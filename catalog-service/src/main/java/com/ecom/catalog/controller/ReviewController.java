@@ -0,0 +1,40 @@
+package com.ecom.catalog.controller;
+
+import com.ecom.common.dto.ApiResponse;
+import com.ecom.common.dto.CursorPage;
+import com.ecom.catalog.dto.RatingSummary;
+import com.ecom.catalog.dto.ReviewRequest;
+import com.ecom.catalog.dto.ReviewResponse;
+import com.ecom.catalog.service.ReviewService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/reviews")
+@RequiredArgsConstructor
+public class ReviewController {
+
+    private final ReviewService reviewService;
+
+    @PostMapping
+    public ResponseEntity<ApiResponse<ReviewResponse>> createReview(@Valid @RequestBody ReviewRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.ok("Review submitted for moderation", reviewService.createReview(request)));
+    }
+
+    @GetMapping("/product/{productId}")
+    public ResponseEntity<ApiResponse<CursorPage<ReviewResponse>>> getReviews(
+            @PathVariable String productId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(ApiResponse.ok(reviewService.getApprovedReviews(productId, cursor, size)));
+    }
+
+    @GetMapping("/product/{productId}/summary")
+    public ResponseEntity<ApiResponse<RatingSummary>> getRatingSummary(@PathVariable String productId) {
+        return ResponseEntity.ok(ApiResponse.ok(reviewService.getRatingSummary(productId)));
+    }
+}
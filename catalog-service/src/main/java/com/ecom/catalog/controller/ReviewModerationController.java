@@ -0,0 +1,39 @@
+package com.ecom.catalog.controller;
+
+import com.ecom.common.dto.ApiResponse;
+import com.ecom.catalog.dto.ReviewResponse;
+import com.ecom.catalog.entity.Review.ReviewStatus;
+import com.ecom.catalog.service.ReviewAggregateRebuilder;
+import com.ecom.catalog.service.ReviewService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Internal moderation endpoints — called by the admin tooling.
+ */
+@RestController
+@RequestMapping("/internal/reviews")
+@RequiredArgsConstructor
+public class ReviewModerationController {
+
+    private final ReviewService reviewService;
+    private final ReviewAggregateRebuilder aggregateRebuilder;
+
+    @PostMapping("/{reviewId}/moderation")
+    public ResponseEntity<ApiResponse<ReviewResponse>> moderate(
+            @PathVariable String reviewId, @RequestParam ReviewStatus decision) {
+        return ResponseEntity.ok(ApiResponse.ok("Review moderated", reviewService.moderate(reviewId, decision)));
+    }
+
+    @PostMapping("/aggregates/rebuild")
+    public ResponseEntity<ApiResponse<ReviewAggregateRebuilder.RebuildResult>> rebuildAggregates() {
+        ReviewAggregateRebuilder.RebuildResult result = aggregateRebuilder.rebuild();
+        if (result == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(ApiResponse.error("Rebuild already running"));
+        }
+        return ResponseEntity.ok(ApiResponse.ok("Aggregates rebuilt", result));
+    }
+}
@@ -0,0 +1,17 @@
+package com.ecom.catalog.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BatchStockRequest {
+
+    @NotEmpty(message = "At least one line is required")
+    private List<@Valid StockLineRequest> lines;
+
+    /** Spreads flash-sale reservations across shards; usually the user or order id. */
+    private String callerId;
+}
@@ -0,0 +1,19 @@
+package com.ecom.catalog.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Per-line outcome of an all-or-nothing batch — if any line failed, none were applied.
+ */
+@Data
+@Builder
+public class BatchStockResponse {
+    private boolean success;
+    private String reservationId;
+    private LocalDateTime expiresAt;
+    private List<StockLineResult> lines;
+}
@@ -0,0 +1,16 @@
+package com.ecom.catalog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cheap change detector for the categories table — any insert, update or delete moves one of the two.
+ */
+@Data
+@AllArgsConstructor
+public class CategoryFingerprint {
+    private Long count;
+    private LocalDateTime lastUpdated;
+}
@@ -0,0 +1,28 @@
+package com.ecom.catalog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Navigation menu node. {@code left}/{@code right} are the node's pre-order interval:
+ * a category is in this subtree iff its {@code left} falls in [left, right).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryNode {
+    private String id;
+    private String name;
+    private String slug;
+    private String imageUrl;
+    private Integer displayOrder;
+    private int level;
+    private int left;
+    private int right;
+    private List<CategoryNode> children;
+}
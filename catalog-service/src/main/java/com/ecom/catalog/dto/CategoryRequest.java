@@ -0,0 +1,19 @@
+package com.ecom.catalog.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+@Data
+public class CategoryRequest {
+    private String parentId;
+
+    @NotBlank(message = "Name is required")
+    private String name;
+
+    @NotBlank(message = "Slug is required")
+    private String slug;
+
+    private String imageUrl;
+    private Integer displayOrder;
+    private Boolean isActive;
+}
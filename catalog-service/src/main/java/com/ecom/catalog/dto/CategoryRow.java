@@ -0,0 +1,19 @@
+package com.ecom.catalog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Flat category row used to build the in-memory tree.
+ */
+@Data
+@AllArgsConstructor
+public class CategoryRow {
+    private String id;
+    private String parentId;
+    private String name;
+    private String slug;
+    private String imageUrl;
+    private Integer displayOrder;
+    private Boolean isActive;
+}
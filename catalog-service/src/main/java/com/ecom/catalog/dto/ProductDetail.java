@@ -0,0 +1,112 @@
+package com.ecom.catalog.dto;
+
+import com.ecom.catalog.entity.Product;
+import com.ecom.catalog.entity.Product.ProductStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Product page payload — a detached, cacheable copy of the product with its variants and images.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductDetail {
+    private String id;
+    private String sellerId;
+    private String categoryId;
+    private String name;
+    private String slug;
+    private String description;
+    private BigDecimal basePrice;
+    private String currency;
+    private ProductStatus status;
+    private Double avgRating;
+    private Integer reviewCount;
+    private Long totalSold;
+    private Integer weightGrams;
+    private List<Variant> variants;
+    private List<Image> images;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Variant {
+        private String id;
+        private String sku;
+        private String name;
+        private BigDecimal price;
+        private BigDecimal compareAtPrice;
+        private String attributes;
+        private Boolean isActive;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Image {
+        private String id;
+        private String variantId;
+        private String url;
+        private String altText;
+        private Integer displayOrder;
+        private Boolean isPrimary;
+    }
+
+    /**
+     * Must run inside the loading transaction — reads the lazy variants and images.
+     */
+    public static ProductDetail from(Product product) {
+        return ProductDetail.builder()
+                .id(product.getId())
+                .sellerId(product.getSeller().getId())
+                .categoryId(product.getCategory().getId())
+                .name(product.getName())
+                .slug(product.getSlug())
+                .description(product.getDescription())
+                .basePrice(product.getBasePrice())
+                .currency(product.getCurrency())
+                .status(product.getStatus())
+                .avgRating(product.getAvgRating())
+                .reviewCount(product.getReviewCount())
+                .totalSold(product.getTotalSold())
+                .weightGrams(product.getWeightGrams())
+                .variants(product.getVariants().stream()
+                        .map(v -> Variant.builder()
+                                .id(v.getId())
+                                .sku(v.getSku())
+                                .name(v.getName())
+                                .price(v.getPrice())
+                                .compareAtPrice(v.getCompareAtPrice())
+                                .attributes(v.getAttributes())
+                                .isActive(v.getIsActive())
+                                .build())
+                        .toList())
+                .images(product.getImages().stream()
+                        .sorted(Comparator.comparing(i -> i.getDisplayOrder() == null ? 0 : i.getDisplayOrder()))
+                        .map(i -> Image.builder()
+                                .id(i.getId())
+                                .variantId(i.getVariantId())
+                                .url(i.getUrl())
+                                .altText(i.getAltText())
+                                .displayOrder(i.getDisplayOrder())
+                                .isPrimary(i.getIsPrimary())
+                                .build())
+                        .toList())
+                .createdAt(product.getCreatedAt())
+                .updatedAt(product.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,19 @@
+package com.ecom.catalog.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+public class ProductSearchHit {
+    private String productId;
+    private String name;
+    private String slug;
+    private BigDecimal basePrice;
+    private String currency;
+    private String categoryId;
+    private double avgRating;
+    private float score;
+}
@@ -0,0 +1,21 @@
+package com.ecom.catalog.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of search hits. {@code facets} maps facet name (category, price, rating)
+ * to bucket counts over every match, not just this page.
+ */
+@Data
+@Builder
+public class ProductSearchResponse {
+    private int total;
+    private int page;
+    private int size;
+    private List<ProductSearchHit> hits;
+    private Map<String, Map<String, Integer>> facets;
+}
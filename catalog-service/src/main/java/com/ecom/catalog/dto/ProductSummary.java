@@ -0,0 +1,29 @@
+package com.ecom.catalog.dto;
+
+import com.ecom.catalog.entity.Product.ProductStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Listing projection — scalar columns only, so no lazy relation is ever touched.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSummary {
+    private String id;
+    private String sellerId;
+    private String categoryId;
+    private String name;
+    private String slug;
+    private BigDecimal basePrice;
+    private String currency;
+    private ProductStatus status;
+    private Double avgRating;
+    private Integer reviewCount;
+    private LocalDateTime createdAt;
+}
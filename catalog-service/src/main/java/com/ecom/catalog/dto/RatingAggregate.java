@@ -0,0 +1,15 @@
+package com.ecom.catalog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Approved-review totals for one product, as recomputed by the rebuild job.
+ */
+@Data
+@AllArgsConstructor
+public class RatingAggregate {
+    private String productId;
+    private Long ratingSum;
+    private Long reviewCount;
+}
@@ -0,0 +1,12 @@
+package com.ecom.catalog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class RatingSummary {
+    private String productId;
+    private Double avgRating;
+    private Integer reviewCount;
+}
@@ -0,0 +1,13 @@
+package com.ecom.catalog.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class ReservationResponse {
+    private String reservationId;
+    private LocalDateTime expiresAt;
+}
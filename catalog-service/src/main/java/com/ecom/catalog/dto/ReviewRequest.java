@@ -0,0 +1,24 @@
+package com.ecom.catalog.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class ReviewRequest {
+    @NotBlank(message = "User ID is required")
+    private String userId;
+
+    @NotBlank(message = "Product ID is required")
+    private String productId;
+
+    @NotNull(message = "Rating is required")
+    @Min(value = 1, message = "Rating must be between 1 and 5")
+    @Max(value = 5, message = "Rating must be between 1 and 5")
+    private Integer rating;
+
+    private String title;
+    private String body;
+}
@@ -0,0 +1,21 @@
+package com.ecom.catalog.dto;
+
+import com.ecom.catalog.entity.Review.ReviewStatus;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class ReviewResponse {
+    private String id;
+    private String userId;
+    private String productId;
+    private Integer rating;
+    private String title;
+    private String body;
+    private Boolean isVerified;
+    private ReviewStatus status;
+    private LocalDateTime createdAt;
+}
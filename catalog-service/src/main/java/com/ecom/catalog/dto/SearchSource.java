@@ -0,0 +1,22 @@
+package com.ecom.catalog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+/**
+ * Product columns the search index is built from.
+ */
+@Data
+@AllArgsConstructor
+public class SearchSource {
+    private String id;
+    private String name;
+    private String slug;
+    private String description;
+    private BigDecimal basePrice;
+    private String currency;
+    private String categoryId;
+    private Double avgRating;
+}
@@ -0,0 +1,13 @@
+package com.ecom.catalog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class StockLevel {
+    private String variantId;
+    private String sellerId;
+    private int availableStock;
+    private int reorderLevel;
+}
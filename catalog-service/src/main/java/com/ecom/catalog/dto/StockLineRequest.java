@@ -0,0 +1,24 @@
+package com.ecom.catalog.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockLineRequest {
+
+    @NotBlank(message = "Variant id is required")
+    private String variantId;
+
+    /** Optional — when absent, the seller of the variant's product is used. */
+    private String sellerId;
+
+    @NotNull(message = "Quantity is required")
+    @Min(value = 1, message = "Quantity must be at least 1")
+    private Integer quantity;
+}
@@ -0,0 +1,15 @@
+package com.ecom.catalog.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class StockLineResult {
+    private String variantId;
+    private String sellerId;
+    private int quantity;
+    private boolean success;
+    private Integer availableStock;
+    private String message;
+}
@@ -0,0 +1,13 @@
+package com.ecom.catalog.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class VariantLookupRequest {
+
+    @NotNull(message = "Variant ids are required")
+    private List<String> ids;
+}
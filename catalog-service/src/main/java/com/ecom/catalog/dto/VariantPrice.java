@@ -0,0 +1,26 @@
+package com.ecom.catalog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * A variant's current selling price, availability and stock, for revalidating cart lines.
+ * {@code active} means both the variant and its product are on sale; {@code availableStock} is the
+ * product's seller's unreserved stock (0 if the seller holds none).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VariantPrice {
+    private String variantId;
+    private String productId;
+    private String productName;
+    private String variantName;
+    private BigDecimal price;
+    private Boolean active;
+    private String sellerId;
+    private Integer availableStock;
+}
@@ -0,0 +1,15 @@
+package com.ecom.catalog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Searchable text of one variant — its name and raw attribute JSON.
+ */
+@Data
+@AllArgsConstructor
+public class VariantText {
+    private String productId;
+    private String name;
+    private String attributes;
+}
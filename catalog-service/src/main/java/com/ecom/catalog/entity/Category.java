@@ -1,8 +1,10 @@
 package com.ecom.catalog.entity;
 
+import com.ecom.common.id.UuidV7;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -54,9 +56,13 @@ public class Category {
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
 
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
     @PrePersist
     public void prePersist() {
         if (id == null)
-            id = java.util.UUID.randomUUID().toString();
+            id = UuidV7.next();
     }
 }
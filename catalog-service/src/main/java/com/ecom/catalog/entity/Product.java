@@ -1,5 +1,6 @@
 package com.ecom.catalog.entity;
 
+import com.ecom.common.id.UuidV7;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
@@ -12,9 +13,9 @@ import java.util.List;
 
 @Entity
 @Table(name = "products", indexes = {
-        @Index(name = "idx_prod_seller", columnList = "seller_id"),
-        @Index(name = "idx_prod_category", columnList = "category_id"),
-        @Index(name = "idx_prod_status", columnList = "status"),
+        @Index(name = "idx_prod_seller_created", columnList = "seller_id, created_at, id"),
+        @Index(name = "idx_prod_category_created", columnList = "category_id, created_at, id"),
+        @Index(name = "idx_prod_status_created", columnList = "status, created_at, id"),
         @Index(name = "idx_prod_price", columnList = "base_price")
 })
 @Data
@@ -55,11 +56,16 @@ public class Product {
     @Builder.Default
     private ProductStatus status = ProductStatus.DRAFT;
 
-    @Column(name = "avg_rating", precision = 3)
+    // Review aggregates are maintained by atomic UPDATEs (see ReviewService) — never written from the entity
+    @Column(name = "avg_rating", precision = 3, updatable = false)
     @Builder.Default
     private Double avgRating = 0.0;
 
-    @Column(name = "review_count")
+    @Column(name = "rating_sum", updatable = false)
+    @Builder.Default
+    private Long ratingSum = 0L;
+
+    @Column(name = "review_count", updatable = false)
     @Builder.Default
     private Integer reviewCount = 0;
 
@@ -97,6 +103,6 @@ public class Product {
     @PrePersist
     public void prePersist() {
         if (id == null)
-            id = java.util.UUID.randomUUID().toString();
+            id = UuidV7.next();
     }
 }
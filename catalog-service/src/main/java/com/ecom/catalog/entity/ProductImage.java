@@ -1,5 +1,6 @@
 package com.ecom.catalog.entity;
 
+import com.ecom.common.id.UuidV7;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -41,6 +42,6 @@ public class ProductImage {
     @PrePersist
     public void prePersist() {
         if (id == null)
-            id = java.util.UUID.randomUUID().toString();
+            id = UuidV7.next();
     }
 }
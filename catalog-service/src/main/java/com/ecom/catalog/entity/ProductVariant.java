@@ -1,5 +1,6 @@
 package com.ecom.catalog.entity;
 
+import com.ecom.common.id.UuidV7;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
@@ -56,6 +57,6 @@ public class ProductVariant {
     @PrePersist
     public void prePersist() {
         if (id == null)
-            id = java.util.UUID.randomUUID().toString();
+            id = UuidV7.next();
     }
 }
@@ -1,5 +1,6 @@
 package com.ecom.catalog.entity;
 
+import com.ecom.common.id.UuidV7;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
@@ -8,7 +9,9 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "reviews", uniqueConstraints = @UniqueConstraint(name = "uq_review", columnNames = { "user_id",
-        "product_id" }), indexes = @Index(name = "idx_rev_product", columnList = "product_id"))
+        "product_id" }), indexes = {
+        @Index(name = "idx_rev_product", columnList = "product_id"),
+        @Index(name = "idx_rev_status_product", columnList = "status, product_id, rating") })
 @Data
 @Builder
 @NoArgsConstructor
@@ -53,6 +56,6 @@ public class Review {
     @PrePersist
     public void prePersist() {
         if (id == null)
-            id = java.util.UUID.randomUUID().toString();
+            id = UuidV7.next();
     }
 }
@@ -1,5 +1,6 @@
 package com.ecom.catalog.entity;
 
+import com.ecom.common.id.UuidV7;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
@@ -39,10 +40,19 @@ public class Seller {
     @Column(name = "gst_number", length = 20)
     private String gstNumber;
 
-    @Column(name = "avg_rating", precision = 3)
+    // Review aggregates are maintained by atomic UPDATEs (see ReviewService) — never written from the entity
+    @Column(name = "avg_rating", precision = 3, updatable = false)
     @Builder.Default
     private Double avgRating = 0.0;
 
+    @Column(name = "rating_sum", updatable = false)
+    @Builder.Default
+    private Long ratingSum = 0L;
+
+    @Column(name = "review_count", updatable = false)
+    @Builder.Default
+    private Integer reviewCount = 0;
+
     @Enumerated(EnumType.STRING)
     @Builder.Default
     private SellerStatus status = SellerStatus.PENDING;
@@ -62,6 +72,6 @@ public class Seller {
     @PrePersist
     public void prePersist() {
         if (id == null)
-            id = java.util.UUID.randomUUID().toString();
+            id = UuidV7.next();
     }
 }
@@ -0,0 +1,67 @@
+package com.ecom.catalog.entity;
+
+import com.ecom.common.id.UuidV7;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * A hold on reserved stock for one (variant, seller) line. All lines reserved together
+ * share a reservationId, which is what callers confirm or release.
+ */
+@Entity
+@Table(name = "stock_reservations", indexes = {
+        @Index(name = "idx_sr_reservation", columnList = "reservation_id"),
+        @Index(name = "idx_sr_expiry", columnList = "status, expires_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReservation {
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Column(name = "reservation_id", nullable = false, length = 36)
+    private String reservationId;
+
+    @Column(name = "variant_id", nullable = false, length = 36)
+    private String variantId;
+
+    @Column(name = "seller_id", nullable = false, length = 36)
+    private String sellerId;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @Builder.Default
+    private ReservationStatus status = ReservationStatus.HELD;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public enum ReservationStatus {
+        HELD, CONFIRMED, RELEASED, EXPIRED
+    }
+
+    @PrePersist
+    public void prePersist() {
+        if (id == null)
+            id = UuidV7.next();
+    }
+}
@@ -1,7 +1,10 @@
 package com.ecom.catalog.repository;
 
+import com.ecom.catalog.dto.CategoryFingerprint;
+import com.ecom.catalog.dto.CategoryRow;
 import com.ecom.catalog.entity.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -14,4 +17,11 @@ public interface CategoryRepository extends JpaRepository<Category, String> {
     List<Category> findByParentIsNull();
 
     List<Category> findByParentId(String parentId);
+
+    @Query("SELECT new com.ecom.catalog.dto.CategoryRow(c.id, p.id, c.name, c.slug, c.imageUrl, c.displayOrder, "
+            + "c.isActive) FROM Category c LEFT JOIN c.parent p")
+    List<CategoryRow> findAllRows();
+
+    @Query("SELECT new com.ecom.catalog.dto.CategoryFingerprint(COUNT(c), MAX(c.updatedAt)) FROM Category c")
+    CategoryFingerprint fingerprint();
 }
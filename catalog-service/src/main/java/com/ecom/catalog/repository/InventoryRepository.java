@@ -1,9 +1,14 @@
 package com.ecom.catalog.repository;
 
+import com.ecom.catalog.dto.StockLevel;
 import com.ecom.catalog.entity.Inventory;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,4 +19,31 @@ public interface InventoryRepository extends JpaRepository<Inventory, String> {
     List<Inventory> findByVariantId(String variantId);
 
     List<Inventory> findBySellerId(String sellerId);
+
+    @Query("SELECT new com.ecom.catalog.dto.StockLevel(i.variant.id, i.sellerId, i.quantity - i.reserved, i.reorderLevel) "
+            + "FROM Inventory i WHERE i.variant.id IN :variantIds")
+    List<StockLevel> findStockLevels(@Param("variantIds") Collection<String> variantIds);
+
+    /**
+     * Guarded reservation — succeeds (returns 1) only if enough stock is available.
+     * The row lock is held for the duration of this single statement, not a read-modify-write.
+     */
+    @Modifying
+    @Query(value = "UPDATE inventory SET reserved = reserved + :qty, version = version + 1 "
+            + "WHERE variant_id = :variantId AND seller_id = :sellerId AND quantity - reserved >= :qty",
+            nativeQuery = true)
+    int tryReserve(@Param("variantId") String variantId, @Param("sellerId") String sellerId,
+            @Param("qty") int quantity);
+
+    @Modifying
+    @Query(value = "UPDATE inventory SET reserved = GREATEST(reserved - :qty, 0), version = version + 1 "
+            + "WHERE variant_id = :variantId AND seller_id = :sellerId", nativeQuery = true)
+    int release(@Param("variantId") String variantId, @Param("sellerId") String sellerId,
+            @Param("qty") int quantity);
+
+    @Modifying
+    @Query(value = "UPDATE inventory SET quantity = quantity - :qty, reserved = GREATEST(reserved - :qty, 0), "
+            + "version = version + 1 WHERE variant_id = :variantId AND seller_id = :sellerId", nativeQuery = true)
+    int confirm(@Param("variantId") String variantId, @Param("sellerId") String sellerId,
+            @Param("qty") int quantity);
 }
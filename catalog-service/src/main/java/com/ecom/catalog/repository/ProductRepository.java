@@ -1,12 +1,18 @@
 package com.ecom.catalog.repository;
 
+import com.ecom.catalog.dto.ProductSummary;
+import com.ecom.catalog.dto.SearchSource;
 import com.ecom.catalog.entity.Product;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,12 +21,70 @@ public interface ProductRepository extends JpaRepository<Product, String> {
 
     Optional<Product> findBySlug(String slug);
 
-    List<Product> findBySellerId(String sellerId);
+    // ── Keyset listings: newest first, (createdAt, id) strictly after the cursor ──
+    // The leading createdAt <= bound keeps the scan a range on the composite indexes.
 
-    List<Product> findByCategoryId(String categoryId);
+    String SUMMARY = "SELECT new com.ecom.catalog.dto.ProductSummary(p.id, p.seller.id, p.category.id, p.name, "
+            + "p.slug, p.basePrice, p.currency, p.status, p.avgRating, p.reviewCount, p.createdAt) FROM Product p ";
 
-    List<Product> findByStatus(Product.ProductStatus status);
+    String AFTER_CURSOR = "AND p.createdAt <= :createdAt "
+            + "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) "
+            + "ORDER BY p.createdAt DESC, p.id DESC";
+
+    @Query(SUMMARY + "WHERE p.status = :status " + AFTER_CURSOR)
+    List<ProductSummary> findPageByStatus(@Param("status") Product.ProductStatus status,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") String id, Pageable pageable);
+
+    @Query(SUMMARY + "WHERE p.seller.id = :sellerId " + AFTER_CURSOR)
+    List<ProductSummary> findPageBySeller(@Param("sellerId") String sellerId,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") String id, Pageable pageable);
+
+    @Query(SUMMARY + "WHERE p.category.id IN :categoryIds " + AFTER_CURSOR)
+    List<ProductSummary> findPageByCategories(@Param("categoryIds") Collection<String> categoryIds,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") String id, Pageable pageable);
+
+    @Query(SUMMARY + "WHERE p.category.id = :categoryId " + AFTER_CURSOR)
+    List<ProductSummary> findPageByCategory(@Param("categoryId") String categoryId,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") String id, Pageable pageable);
+
+    // ── Search index feed ──
+
+    String SEARCH_SOURCE = "SELECT new com.ecom.catalog.dto.SearchSource(p.id, p.name, p.slug, p.description, "
+            + "p.basePrice, p.currency, p.category.id, p.avgRating) FROM Product p WHERE p.status = 'ACTIVE' ";
+
+    @Query(SEARCH_SOURCE + "AND p.id > :afterId ORDER BY p.id")
+    List<SearchSource> findSearchSources(@Param("afterId") String afterId, Pageable pageable);
+
+    @Query(SEARCH_SOURCE + "AND p.id IN :ids")
+    List<SearchSource> findSearchSourcesByIds(@Param("ids") Collection<String> ids);
 
     @Query("SELECT p FROM Product p WHERE p.basePrice BETWEEN :min AND :max AND p.status = 'ACTIVE'")
     List<Product> findByPriceRange(@Param("min") BigDecimal min, @Param("max") BigDecimal max);
+
+    // ── Review aggregates ──
+    // MySQL applies SET assignments left to right, so avg_rating is computed from the updated sum and count.
+
+    @Modifying
+    @Query(value = "UPDATE products SET rating_sum = rating_sum + :ratingDelta, review_count = review_count + :countDelta, "
+            + "avg_rating = IF(review_count = 0, 0, rating_sum / review_count) WHERE id = :productId", nativeQuery = true)
+    int addRating(@Param("productId") String productId, @Param("ratingDelta") long ratingDelta,
+            @Param("countDelta") int countDelta);
+
+    @Modifying
+    @Query(value = "UPDATE products SET rating_sum = :ratingSum, review_count = :reviewCount, "
+            + "avg_rating = IF(review_count = 0, 0, rating_sum / review_count) WHERE id = :productId", nativeQuery = true)
+    int setRating(@Param("productId") String productId, @Param("ratingSum") long ratingSum,
+            @Param("reviewCount") long reviewCount);
+
+    @Query("SELECT p.seller.id FROM Product p WHERE p.id = :productId")
+    Optional<String> findSellerId(@Param("productId") String productId);
+
+    /**
+     * Next batch of product ids, row-locked so no approval can slip in between the rebuild's read and write.
+     */
+    @Query(value = "SELECT id FROM products WHERE id > :afterId ORDER BY id LIMIT :limit FOR UPDATE", nativeQuery = true)
+    List<String> lockIdBatch(@Param("afterId") String afterId, @Param("limit") int limit);
+
+    @Query(value = "SELECT id FROM products WHERE seller_id IN :sellerIds FOR UPDATE", nativeQuery = true)
+    List<String> lockIdsBySellers(@Param("sellerIds") Collection<String> sellerIds);
 }
@@ -1,9 +1,16 @@
 package com.ecom.catalog.repository;
 
+import com.ecom.catalog.dto.VariantSeller;
+import com.ecom.catalog.dto.VariantPrice;
+import com.ecom.catalog.dto.VariantText;
+import com.ecom.catalog.entity.Product;
 import com.ecom.catalog.entity.ProductVariant;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,4 +19,26 @@ public interface ProductVariantRepository extends JpaRepository<ProductVariant,
     List<ProductVariant> findByProductId(String productId);
 
     Optional<ProductVariant> findBySku(String sku);
+
+    @Query("SELECT new com.ecom.catalog.dto.VariantText(v.product.id, v.name, v.attributes) "
+            + "FROM ProductVariant v WHERE v.product.id IN :productIds AND v.isActive = true")
+    List<VariantText> findVariantTexts(@Param("productIds") Collection<String> productIds);
+
+    /** A variant is sold by its product's seller. */
+    @Query("SELECT new com.ecom.catalog.dto.VariantSeller(v.id, v.product.seller.id) "
+            + "FROM ProductVariant v WHERE v.id IN :variantIds")
+    List<VariantSeller> findSellers(@Param("variantIds") Collection<String> variantIds);
+
+    /**
+     * Price, availability and seller stock of each variant in one query: the variant's own price or
+     * else the product's base price, joined to the inventory row of the product's seller.
+     */
+    @Query("SELECT new com.ecom.catalog.dto.VariantPrice(v.id, p.id, p.name, v.name, COALESCE(v.price, p.basePrice), "
+            + "CASE WHEN v.isActive = true AND p.status = :active THEN true ELSE false END, "
+            + "p.seller.id, COALESCE(i.quantity - i.reserved, 0)) "
+            + "FROM ProductVariant v JOIN v.product p "
+            + "LEFT JOIN Inventory i ON i.variant = v AND i.sellerId = p.seller.id "
+            + "WHERE v.id IN :variantIds")
+    List<VariantPrice> findPrices(@Param("variantIds") Collection<String> variantIds,
+            @Param("active") Product.ProductStatus active);
 }
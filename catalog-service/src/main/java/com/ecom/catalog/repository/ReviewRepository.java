@@ -1,11 +1,17 @@
 package com.ecom.catalog.repository;
 
+import com.ecom.catalog.dto.RatingAggregate;
 import com.ecom.catalog.entity.Review;
+import com.ecom.catalog.entity.Review.ReviewStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -16,6 +22,24 @@ public interface ReviewRepository extends JpaRepository<Review, String> {
 
     boolean existsByUserIdAndProductId(String userId, String productId);
 
-    @Query("SELECT AVG(r.rating) FROM Review r WHERE r.product.id = :productId AND r.status = 'APPROVED'")
-    Double getAverageRating(@Param("productId") String productId);
+    /**
+     * Compare-and-set on the moderation status — only one moderator's decision applies its rating delta.
+     */
+    @Modifying
+    @Query("UPDATE Review r SET r.status = :to WHERE r.id = :id AND r.status = :from")
+    int transition(@Param("id") String id, @Param("from") ReviewStatus from, @Param("to") ReviewStatus to);
+
+    @Query("SELECT r FROM Review r WHERE r.product.id = :productId AND r.status = 'APPROVED' "
+            + "AND r.createdAt <= :createdAt "
+            + "AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id)) "
+            + "ORDER BY r.createdAt DESC, r.id DESC")
+    List<Review> findApprovedPage(@Param("productId") String productId,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") String id, Pageable pageable);
+
+    /**
+     * Served from idx_rev_status_product (status, product_id, rating) without touching the rows.
+     */
+    @Query("SELECT new com.ecom.catalog.dto.RatingAggregate(r.product.id, SUM(r.rating), COUNT(r)) "
+            + "FROM Review r WHERE r.status = 'APPROVED' AND r.product.id IN :productIds GROUP BY r.product.id")
+    List<RatingAggregate> aggregateApproved(@Param("productIds") Collection<String> productIds);
 }
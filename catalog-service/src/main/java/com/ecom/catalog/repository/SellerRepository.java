@@ -2,8 +2,13 @@ package com.ecom.catalog.repository;
 
 import com.ecom.catalog.entity.Seller;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -13,4 +18,27 @@ public interface SellerRepository extends JpaRepository<Seller, String> {
     Optional<Seller> findByStoreSlug(String storeSlug);
 
     boolean existsByUserId(String userId);
+
+    // ── Review aggregates — see ProductRepository for the SET ordering this relies on ──
+
+    @Modifying
+    @Query(value = "UPDATE sellers SET rating_sum = rating_sum + :ratingDelta, review_count = review_count + :countDelta, "
+            + "avg_rating = IF(review_count = 0, 0, rating_sum / review_count) WHERE id = :sellerId", nativeQuery = true)
+    int addRating(@Param("sellerId") String sellerId, @Param("ratingDelta") long ratingDelta,
+            @Param("countDelta") int countDelta);
+
+    /**
+     * Roll the sellers' totals up from their products' stored aggregates (not from reviews).
+     * Multi-table UPDATEs don't guarantee SET order, so avg_rating reads the derived table directly.
+     */
+    @Modifying
+    @Query(value = "UPDATE sellers s LEFT JOIN (SELECT seller_id, SUM(rating_sum) AS rs, SUM(review_count) AS rc "
+            + "FROM products WHERE seller_id IN :sellerIds GROUP BY seller_id) a ON a.seller_id = s.id "
+            + "SET s.rating_sum = COALESCE(a.rs, 0), s.review_count = COALESCE(a.rc, 0), "
+            + "s.avg_rating = IF(COALESCE(a.rc, 0) = 0, 0, a.rs / a.rc) "
+            + "WHERE s.id IN :sellerIds", nativeQuery = true)
+    int rebuildRatings(@Param("sellerIds") Collection<String> sellerIds);
+
+    @Query(value = "SELECT id FROM sellers WHERE id > :afterId ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<String> findIdBatch(@Param("afterId") String afterId, @Param("limit") int limit);
 }
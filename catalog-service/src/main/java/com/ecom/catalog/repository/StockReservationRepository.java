@@ -0,0 +1,33 @@
+package com.ecom.catalog.repository;
+
+import com.ecom.catalog.entity.StockReservation;
+import com.ecom.catalog.entity.StockReservation.ReservationStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface StockReservationRepository extends JpaRepository<StockReservation, String> {
+    List<StockReservation> findByReservationIdOrderByVariantIdAscSellerIdAsc(String reservationId);
+
+    /**
+     * Oldest-first page of expired holds — served by idx_sr_expiry (status, expires_at).
+     */
+    List<StockReservation> findByStatusAndExpiresAtBeforeOrderByExpiresAtAsc(
+            ReservationStatus status, LocalDateTime now, Pageable pageable);
+
+    /**
+     * Compare-and-set on the hold status, so a hold is released or confirmed exactly once
+     * even when the sweeper and a caller race for it.
+     */
+    @Modifying
+    @Query("UPDATE StockReservation r SET r.status = :to WHERE r.id = :id AND r.status = :from")
+    int transition(@Param("id") String id, @Param("from") ReservationStatus from,
+            @Param("to") ReservationStatus to);
+}
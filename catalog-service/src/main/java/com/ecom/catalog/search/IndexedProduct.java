@@ -0,0 +1,10 @@
+package com.ecom.catalog.search;
+
+import java.math.BigDecimal;
+
+/**
+ * Stored fields of an indexed product — what a search hit returns without touching MySQL.
+ */
+record IndexedProduct(String productId, String name, String slug, BigDecimal basePrice, String currency,
+        String categoryId, double avgRating) {
+}
@@ -0,0 +1,271 @@
+package com.ecom.catalog.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Single-writer inverted index over products. Not thread-safe — {@link ProductSearchService}
+ * guards it with a read/write lock.
+ *
+ * Doc ids are dense ints assigned in insertion order. An update deletes the old doc id (clears
+ * its bit in {@code live}) and appends a new one, so posting lists stay append-only; the dead
+ * postings are dropped when the service rebuilds the index.
+ */
+final class InvertedIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    /** Upper bounds of the price facet buckets; the last bucket is open-ended. */
+    private static final double[] PRICE_BUCKETS = {500, 1_000, 5_000, 20_000};
+    private static final String[] PRICE_LABELS = {"0-500", "500-1000", "1000-5000", "5000-20000", "20000+"};
+    private static final int[] RATING_FLOORS = {4, 3, 2, 1};
+
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<String, Integer> docIdByProduct = new HashMap<>();
+    private final Map<String, Integer> categoryOrdinals = new HashMap<>();
+    private final List<String> categories = new ArrayList<>();
+    private final List<IndexedProduct> docs = new ArrayList<>();
+    private final BitSet live = new BitSet();
+
+    // Columnar copies of the fields filters and scoring read in tight loops
+    private double[] prices = new double[1024];
+    private float[] ratings = new float[1024];
+    private int[] categoryOrds = new int[1024];
+    private int[] lengths = new int[1024];
+
+    private long liveLength;
+    private int liveCount;
+
+    record Hit(IndexedProduct product, float score) {
+    }
+
+    record Result(int total, List<Hit> hits, Map<String, Map<String, Integer>> facets) {
+    }
+
+    /**
+     * Index (or re-index) a product.
+     *
+     * @param tokens every token of the product's searchable text, with repeats
+     */
+    void add(IndexedProduct product, List<String> tokens) {
+        remove(product.productId());
+        int docId = docs.size();
+        ensureCapacity(docId + 1);
+
+        Map<String, Integer> termFrequencies = new LinkedHashMap<>();
+        for (String token : tokens) {
+            termFrequencies.merge(token, 1, Integer::sum);
+        }
+        termFrequencies.forEach((term, tf) -> postings.computeIfAbsent(term, t -> new PostingList()).add(docId, tf));
+
+        docs.add(product);
+        docIdByProduct.put(product.productId(), docId);
+        prices[docId] = product.basePrice() == null ? 0 : product.basePrice().doubleValue();
+        ratings[docId] = (float) product.avgRating();
+        categoryOrds[docId] = categoryOrdinal(product.categoryId());
+        lengths[docId] = tokens.size();
+        live.set(docId);
+        liveLength += tokens.size();
+        liveCount++;
+    }
+
+    boolean remove(String productId) {
+        Integer docId = docIdByProduct.remove(productId);
+        if (docId == null) {
+            return false;
+        }
+        live.clear(docId);
+        liveLength -= lengths[docId];
+        liveCount--;
+        return true;
+    }
+
+    int liveCount() {
+        return liveCount;
+    }
+
+    int deletedCount() {
+        return docs.size() - liveCount;
+    }
+
+    int termCount() {
+        return postings.size();
+    }
+
+    long postingBytes() {
+        return postings.values().stream().mapToLong(PostingList::sizeInBytes).sum();
+    }
+
+    /**
+     * BM25-ranked OR query over the terms. With no terms, every doc passing the filter matches
+     * and the newest come first. Facets count all matches, not just the returned page.
+     */
+    Result search(List<String> terms, SearchFilter filter, int offset, int limit) {
+        BitSet candidates = candidates(filter);
+        BitSet matched;
+        float[] scores = null;
+
+        LinkedHashSet<String> distinctTerms = new LinkedHashSet<>(terms);
+        if (distinctTerms.isEmpty()) {
+            matched = candidates;
+        } else {
+            matched = new BitSet(docs.size());
+            scores = new float[docs.size()];
+            double avgLength = liveCount == 0 ? 1 : (double) liveLength / liveCount;
+            for (String term : distinctTerms) {
+                PostingList list = postings.get(term);
+                if (list == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (liveCount - list.docFrequency() + 0.5) / (list.docFrequency() + 0.5));
+                PostingList.Cursor cursor = list.cursor();
+                while (cursor.next()) {
+                    int doc = cursor.docId();
+                    if (!candidates.get(doc)) {
+                        continue;
+                    }
+                    int tf = cursor.termFrequency();
+                    double norm = K1 * (1 - B + B * lengths[doc] / avgLength);
+                    scores[doc] += (float) (Math.max(idf, 0.0001) * tf * (K1 + 1) / (tf + norm));
+                    matched.set(doc);
+                }
+            }
+        }
+
+        return new Result(matched.cardinality(), topHits(matched, scores, offset, limit), facets(matched));
+    }
+
+    // ── Helpers ──
+
+    private BitSet candidates(SearchFilter filter) {
+        if (filter.isEmpty()) {
+            return live;
+        }
+        boolean[] allowedCategories = null;
+        if (filter.categoryIds() != null) {
+            allowedCategories = new boolean[categories.size()];
+            for (String categoryId : filter.categoryIds()) {
+                Integer ordinal = categoryOrdinals.get(categoryId);
+                if (ordinal != null) {
+                    allowedCategories[ordinal] = true;
+                }
+            }
+        }
+        double minPrice = filter.minPrice() == null ? Double.NEGATIVE_INFINITY : filter.minPrice();
+        double maxPrice = filter.maxPrice() == null ? Double.POSITIVE_INFINITY : filter.maxPrice();
+        double minRating = filter.minRating() == null ? Double.NEGATIVE_INFINITY : filter.minRating();
+
+        BitSet result = new BitSet(docs.size());
+        for (int doc = live.nextSetBit(0); doc >= 0; doc = live.nextSetBit(doc + 1)) {
+            if (prices[doc] >= minPrice && prices[doc] <= maxPrice && ratings[doc] >= minRating
+                    && (allowedCategories == null || allowedCategories[categoryOrds[doc]])) {
+                result.set(doc);
+            }
+        }
+        return result;
+    }
+
+    private List<Hit> topHits(BitSet matched, float[] scores, int offset, int limit) {
+        // Never more than there are matches, however deep the requested page
+        int wanted = (int) Math.min((long) offset + limit, matched.cardinality());
+        if (wanted <= offset) {
+            return List.of();
+        }
+        List<Integer> ranked = new ArrayList<>(wanted);
+        if (scores == null) {
+            // No query terms: newest first, i.e. highest doc ids
+            for (int doc = matched.previousSetBit(docs.size() - 1); doc >= 0 && ranked.size() < wanted;
+                    doc = matched.previousSetBit(doc - 1)) {
+                ranked.add(doc);
+            }
+        } else {
+            // Min-heap of the best `wanted` docs; ties go to the newer doc
+            PriorityQueue<Integer> heap = new PriorityQueue<>(wanted, (a, b) -> scores[a] != scores[b]
+                    ? Float.compare(scores[a], scores[b]) : Integer.compare(a, b));
+            for (int doc = matched.nextSetBit(0); doc >= 0; doc = matched.nextSetBit(doc + 1)) {
+                if (heap.size() < wanted) {
+                    heap.add(doc);
+                } else if (heap.comparator().compare(doc, heap.peek()) > 0) {
+                    heap.poll();
+                    heap.add(doc);
+                }
+            }
+            while (!heap.isEmpty()) {
+                ranked.add(heap.poll());
+            }
+            Collections.reverse(ranked);
+        }
+
+        List<Hit> hits = new ArrayList<>(Math.max(0, ranked.size() - offset));
+        for (int i = offset; i < ranked.size(); i++) {
+            int doc = ranked.get(i);
+            hits.add(new Hit(docs.get(doc), scores == null ? 0 : scores[doc]));
+        }
+        return hits;
+    }
+
+    private Map<String, Map<String, Integer>> facets(BitSet matched) {
+        int[] categoryCounts = new int[categories.size()];
+        int[] priceCounts = new int[PRICE_LABELS.length];
+        int[] ratingCounts = new int[RATING_FLOORS.length];
+
+        for (int doc = matched.nextSetBit(0); doc >= 0; doc = matched.nextSetBit(doc + 1)) {
+            categoryCounts[categoryOrds[doc]]++;
+            int bucket = Arrays.binarySearch(PRICE_BUCKETS, prices[doc]);
+            priceCounts[bucket >= 0 ? bucket + 1 : -bucket - 1]++;
+            for (int i = 0; i < RATING_FLOORS.length; i++) {
+                if (ratings[doc] >= RATING_FLOORS[i]) {
+                    ratingCounts[i]++;
+                }
+            }
+        }
+
+        Map<String, Integer> byCategory = new LinkedHashMap<>();
+        for (int ordinal = 0; ordinal < categoryCounts.length; ordinal++) {
+            if (categoryCounts[ordinal] > 0) {
+                byCategory.put(categories.get(ordinal), categoryCounts[ordinal]);
+            }
+        }
+        Map<String, Integer> byPrice = new LinkedHashMap<>();
+        for (int i = 0; i < PRICE_LABELS.length; i++) {
+            byPrice.put(PRICE_LABELS[i], priceCounts[i]);
+        }
+        Map<String, Integer> byRating = new LinkedHashMap<>();
+        for (int i = 0; i < RATING_FLOORS.length; i++) {
+            byRating.put(RATING_FLOORS[i] + "+", ratingCounts[i]);
+        }
+
+        Map<String, Map<String, Integer>> facets = new LinkedHashMap<>();
+        facets.put("category", byCategory);
+        facets.put("price", byPrice);
+        facets.put("rating", byRating);
+        return facets;
+    }
+
+    private int categoryOrdinal(String categoryId) {
+        return categoryOrdinals.computeIfAbsent(categoryId, id -> {
+            categories.add(id);
+            return categories.size() - 1;
+        });
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= prices.length) {
+            return;
+        }
+        int grown = Math.max(capacity, prices.length * 2);
+        prices = Arrays.copyOf(prices, grown);
+        ratings = Arrays.copyOf(ratings, grown);
+        categoryOrds = Arrays.copyOf(categoryOrds, grown);
+        lengths = Arrays.copyOf(lengths, grown);
+    }
+}
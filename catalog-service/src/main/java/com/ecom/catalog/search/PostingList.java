@@ -0,0 +1,87 @@
+package com.ecom.catalog.search;
+
+import java.util.Arrays;
+
+/**
+ * Append-only posting list: (docId delta, term frequency) pairs, each as a LEB128 varint.
+ * Doc ids only ever grow, so deltas stay small and most postings take two bytes.
+ */
+final class PostingList {
+
+    private byte[] bytes = new byte[8];
+    private int length;
+    private int lastDocId = -1;
+    private int docFrequency;
+
+    void add(int docId, int termFrequency) {
+        if (docId <= lastDocId) {
+            throw new IllegalArgumentException("Doc ids must be appended in increasing order");
+        }
+        writeVarint(docId - lastDocId);
+        writeVarint(termFrequency);
+        lastDocId = docId;
+        docFrequency++;
+    }
+
+    /** Postings ever appended — includes documents deleted since. */
+    int docFrequency() {
+        return docFrequency;
+    }
+
+    int sizeInBytes() {
+        return length;
+    }
+
+    Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Forward-only reader: call {@link #next()} before reading {@link #docId()} / {@link #termFrequency()}.
+     */
+    final class Cursor {
+        private int position;
+        private int docId = -1;
+        private int termFrequency;
+
+        boolean next() {
+            if (position >= length) {
+                return false;
+            }
+            docId += readVarint();
+            termFrequency = readVarint();
+            return true;
+        }
+
+        int docId() {
+            return docId;
+        }
+
+        int termFrequency() {
+            return termFrequency;
+        }
+
+        private int readVarint() {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = bytes[position++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+    }
+
+    private void writeVarint(int value) {
+        if (length + 5 > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + 5));
+        }
+        while ((value & ~0x7F) != 0) {
+            bytes[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[length++] = (byte) value;
+    }
+}
@@ -0,0 +1,278 @@
+package com.ecom.catalog.search;
+
+import com.ecom.common.exception.BadRequestException;
+import com.ecom.catalog.dto.ProductSearchHit;
+import com.ecom.catalog.dto.ProductSearchResponse;
+import com.ecom.catalog.dto.SearchSource;
+import com.ecom.catalog.dto.VariantText;
+import com.ecom.catalog.repository.ProductRepository;
+import com.ecom.catalog.repository.ProductVariantRepository;
+import com.ecom.catalog.service.CategoryService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Embedded product search over an in-process {@link InvertedIndex}.
+ *
+ * The index is built from MySQL in the background at startup and kept current by
+ * {@link #productChanged}: changed ids are queued and re-read in batches on a schedule.
+ * Updates leave dead postings behind, so once they pass a threshold the index is rebuilt
+ * off to the side and swapped in. Queries share a read lock; batch updates take the write lock.
+ */
+@Service
+@Slf4j
+public class ProductSearchService {
+
+    private final ProductRepository productRepository;
+    private final ProductVariantRepository variantRepository;
+    private final CategoryService categoryService;
+    private final Timer queryTimer;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean building = new AtomicBoolean();
+    private final ExecutorService builder = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "search-index-builder");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile InvertedIndex index = new InvertedIndex();
+
+    @Value("${catalog.search.build-batch-size:1000}")
+    private int buildBatchSize;
+
+    @Value("${catalog.search.max-page-size:100}")
+    private int maxPageSize;
+
+    /** Deepest result reachable by paging; ranking keeps offset + size hits in memory. */
+    @Value("${catalog.search.max-offset:10000}")
+    private int maxOffset;
+
+    @Value("${catalog.search.rebuild-deleted-ratio:0.3}")
+    private double rebuildDeletedRatio;
+
+    public ProductSearchService(ProductRepository productRepository, ProductVariantRepository variantRepository,
+            CategoryService categoryService, MeterRegistry meterRegistry) {
+        this.productRepository = productRepository;
+        this.variantRepository = variantRepository;
+        this.categoryService = categoryService;
+        this.queryTimer = Timer.builder("catalog.search.query")
+                .description("Search query latency")
+                .register(meterRegistry);
+        Gauge.builder("catalog.search.documents", this, s -> s.index.liveCount())
+                .description("Products in the search index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param categoryId matches the category and everything under it
+     */
+    public ProductSearchResponse search(String q, BigDecimal minPrice, BigDecimal maxPrice, String categoryId,
+            Double minRating, int page, int size) {
+        if (page < 0) {
+            throw new BadRequestException("page must be >= 0");
+        }
+        int limit = Math.max(1, Math.min(size, maxPageSize));
+        long requestedOffset = Math.multiplyExact((long) page, limit);
+        if (requestedOffset > maxOffset) {
+            throw new BadRequestException("Results beyond the first " + maxOffset + " cannot be paged to; refine the search");
+        }
+        int offset = (int) requestedOffset;
+        SearchFilter filter = new SearchFilter(
+                minPrice == null ? null : minPrice.doubleValue(),
+                maxPrice == null ? null : maxPrice.doubleValue(),
+                categoryId == null ? null : categoryService.getSubtreeIds(categoryId),
+                minRating);
+        List<String> terms = Tokenizer.tokenize(q);
+
+        InvertedIndex.Result result = queryTimer.record(() -> {
+            lock.readLock().lock();
+            try {
+                return index.search(terms, filter, offset, limit);
+            } finally {
+                lock.readLock().unlock();
+            }
+        });
+
+        return ProductSearchResponse.builder()
+                .total(result.total())
+                .page(page)
+                .size(limit)
+                .hits(result.hits().stream().map(this::toHit).toList())
+                .facets(result.facets())
+                .build();
+    }
+
+    /**
+     * Queue a product for re-indexing; deleted or no-longer-active products drop out.
+     */
+    public void productChanged(String productId) {
+        pending.add(productId);
+    }
+
+    // ── Index maintenance ──
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        scheduleRebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.search.refresh-interval-ms:1000}")
+    public void applyPending() {
+        // While a rebuild runs, changes wait — they are re-read against the new index once it is live
+        if (pending.isEmpty() || building.get()) {
+            return;
+        }
+        List<String> ids = new ArrayList<>();
+        Iterator<String> it = pending.iterator();
+        while (it.hasNext() && ids.size() < buildBatchSize) {
+            ids.add(it.next());
+            it.remove();
+        }
+
+        Map<String, SearchSource> sources = new HashMap<>();
+        Map<String, List<VariantText>> variants;
+        try {
+            productRepository.findSearchSourcesByIds(ids).forEach(s -> sources.put(s.getId(), s));
+            variants = variantsOf(sources.keySet());
+        } catch (Exception e) {
+            pending.addAll(ids);
+            log.error("Search index update failed, will retry: products={}", ids.size(), e);
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (String id : ids) {
+                SearchSource source = sources.get(id);
+                if (source == null) {
+                    index.remove(id);
+                } else {
+                    addToIndex(index, source, variants.getOrDefault(id, List.of()));
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.debug("Search index updated: products={}", ids.size());
+
+        InvertedIndex current = index;
+        if (current.deletedCount() > rebuildDeletedRatio * Math.max(current.liveCount(), 1)) {
+            scheduleRebuild();
+        }
+    }
+
+    public void scheduleRebuild() {
+        if (!building.compareAndSet(false, true)) {
+            return;
+        }
+        builder.execute(() -> {
+            try {
+                rebuild();
+            } catch (Exception e) {
+                log.error("Search index build failed, keeping current index", e);
+            } finally {
+                building.set(false);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        builder.shutdownNow();
+    }
+
+    // ── Helpers ──
+
+    private void rebuild() {
+        long started = System.currentTimeMillis();
+        InvertedIndex fresh = new InvertedIndex();
+        String afterId = "";
+        while (true) {
+            List<SearchSource> batch = productRepository.findSearchSources(afterId, PageRequest.of(0, buildBatchSize));
+            if (batch.isEmpty()) {
+                break;
+            }
+            Map<String, List<VariantText>> variants = variantsOf(batch.stream().map(SearchSource::getId).toList());
+            for (SearchSource source : batch) {
+                addToIndex(fresh, source, variants.getOrDefault(source.getId(), List.of()));
+            }
+            afterId = batch.get(batch.size() - 1).getId();
+        }
+
+        lock.writeLock().lock();
+        try {
+            index = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Search index built: products={}, terms={}, postingBytes={}, tookMs={}",
+                fresh.liveCount(), fresh.termCount(), fresh.postingBytes(), System.currentTimeMillis() - started);
+    }
+
+    private Map<String, List<VariantText>> variantsOf(Collection<String> productIds) {
+        if (productIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, List<VariantText>> byProduct = new HashMap<>();
+        for (VariantText variant : variantRepository.findVariantTexts(new HashSet<>(productIds))) {
+            byProduct.computeIfAbsent(variant.getProductId(), k -> new ArrayList<>()).add(variant);
+        }
+        return byProduct;
+    }
+
+    private void addToIndex(InvertedIndex target, SearchSource source, List<VariantText> variants) {
+        List<String> name = Tokenizer.tokenize(source.getName());
+        List<String> tokens = new ArrayList<>(name);
+        // Name matches count double
+        tokens.addAll(name);
+        tokens.addAll(Tokenizer.tokenize(source.getDescription()));
+        for (VariantText variant : variants) {
+            tokens.addAll(Tokenizer.tokenize(variant.getName()));
+            tokens.addAll(Tokenizer.tokenize(variant.getAttributes()));
+        }
+        target.add(new IndexedProduct(source.getId(), source.getName(), source.getSlug(), source.getBasePrice(),
+                source.getCurrency(), source.getCategoryId(),
+                source.getAvgRating() == null ? 0 : source.getAvgRating()), tokens);
+    }
+
+    private ProductSearchHit toHit(InvertedIndex.Hit hit) {
+        IndexedProduct p = hit.product();
+        return ProductSearchHit.builder()
+                .productId(p.productId())
+                .name(p.name())
+                .slug(p.slug())
+                .basePrice(p.basePrice())
+                .currency(p.currency())
+                .categoryId(p.categoryId())
+                .avgRating(p.avgRating())
+                .score(hit.score())
+                .build();
+    }
+}
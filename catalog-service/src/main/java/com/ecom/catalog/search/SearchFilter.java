@@ -0,0 +1,13 @@
+package com.ecom.catalog.search;
+
+import java.util.Collection;
+
+/**
+ * Optional constraints on a search; null fields don't filter.
+ */
+record SearchFilter(Double minPrice, Double maxPrice, Collection<String> categoryIds, Double minRating) {
+
+    boolean isEmpty() {
+        return minPrice == null && maxPrice == null && categoryIds == null && minRating == null;
+    }
+}
@@ -0,0 +1,52 @@
+package com.ecom.catalog.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Splits text into lowercase letter/digit runs and drops English stop words.
+ * The same tokenizer runs at index and query time, so the two always agree.
+ */
+public final class Tokenizer {
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it",
+            "of", "on", "or", "the", "to", "with");
+
+    private static final int MAX_TOKEN_LENGTH = 40;
+
+    private Tokenizer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < text.length(); ) {
+            int cp = text.codePointAt(i);
+            i += Character.charCount(cp);
+            if (Character.isLetterOrDigit(cp)) {
+                current.appendCodePoint(cp);
+            } else {
+                emit(current, tokens);
+            }
+        }
+        emit(current, tokens);
+        return tokens;
+    }
+
+    private static void emit(StringBuilder current, List<String> tokens) {
+        if (current.isEmpty()) {
+            return;
+        }
+        String token = current.toString().toLowerCase(Locale.ROOT);
+        current.setLength(0);
+        if (token.length() <= MAX_TOKEN_LENGTH && !STOP_WORDS.contains(token)) {
+            tokens.add(token);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.ecom.catalog.service;
+
+import com.ecom.common.exception.BadRequestException;
+import com.ecom.common.exception.DuplicateResourceException;
+import com.ecom.common.exception.ResourceNotFoundException;
+import com.ecom.catalog.dto.CategoryFingerprint;
+import com.ecom.catalog.dto.CategoryNode;
+import com.ecom.catalog.dto.CategoryRequest;
+import com.ecom.catalog.dto.CategoryRow;
+import com.ecom.catalog.entity.Category;
+import com.ecom.catalog.repository.CategoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Serves the category hierarchy from an in-memory {@link CategoryTree} snapshot.
+ *
+ * Readers never lock: a refresh builds a new tree and swaps the reference. The snapshot is
+ * rebuilt after local changes commit, and a periodic fingerprint check (row count + latest
+ * updated_at) picks up changes made by other instances.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CategoryService {
+
+    private final CategoryRepository categoryRepository;
+
+    private volatile CategoryTree tree = CategoryTree.EMPTY;
+    private volatile CategoryFingerprint fingerprint;
+
+    public List<CategoryNode> getMenu() {
+        return tree.menu();
+    }
+
+    public CategoryNode getCategory(String id) {
+        return tree.find(id).orElseThrow(() -> new ResourceNotFoundException("Category", id));
+    }
+
+    public CategoryNode getCategoryBySlug(String slug) {
+        return tree.findBySlug(slug)
+                .orElseThrow(() -> new ResourceNotFoundException("Category not found with slug: " + slug));
+    }
+
+    /**
+     * Ids of the category and every active descendant, in pre-order.
+     */
+    public List<String> getSubtreeIds(String id) {
+        CategoryTree snapshot = tree;
+        return snapshot.subtreeIds(snapshot.find(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Category", id)));
+    }
+
+    @Transactional
+    public CategoryRow createCategory(CategoryRequest request) {
+        if (categoryRepository.findBySlug(request.getSlug()).isPresent()) {
+            throw new DuplicateResourceException("Category slug already exists: " + request.getSlug());
+        }
+        Category category = Category.builder().build();
+        apply(category, request);
+        category = categoryRepository.save(category);
+        refreshAfterCommit();
+        log.info("Category created: id={}, slug={}", category.getId(), category.getSlug());
+        return toRow(category);
+    }
+
+    @Transactional
+    public CategoryRow updateCategory(String id, CategoryRequest request) {
+        Category category = categoryRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Category", id));
+        categoryRepository.findBySlug(request.getSlug())
+                .filter(other -> !other.getId().equals(id))
+                .ifPresent(other -> {
+                    throw new DuplicateResourceException("Category slug already exists: " + request.getSlug());
+                });
+        if (id.equals(request.getParentId()) || (request.getParentId() != null
+                && getSubtreeIdsIfPresent(id).contains(request.getParentId()))) {
+            throw new BadRequestException("A category cannot be moved under itself");
+        }
+        apply(category, request);
+        refreshAfterCommit();
+        log.info("Category updated: id={}", id);
+        return toRow(category);
+    }
+
+    // ── Snapshot maintenance ──
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.category-tree.refresh-interval-ms:60000}")
+    public void refreshIfChanged() {
+        try {
+            if (!Objects.equals(categoryRepository.fingerprint(), fingerprint)) {
+                refresh();
+            }
+        } catch (Exception e) {
+            log.error("Category tree refresh check failed, keeping current snapshot", e);
+        }
+    }
+
+    public synchronized void refresh() {
+        // Fingerprint first: a change landing mid-load is caught by the next check
+        CategoryFingerprint current = categoryRepository.fingerprint();
+        CategoryTree rebuilt = CategoryTree.build(categoryRepository.findAllRows());
+        tree = rebuilt;
+        fingerprint = current;
+        log.info("Category tree loaded: categories={}", rebuilt.size());
+    }
+
+    // ── Helpers ──
+
+    private void apply(Category category, CategoryRequest request) {
+        Category parent = request.getParentId() == null ? null
+                : categoryRepository.findById(request.getParentId())
+                        .orElseThrow(() -> new ResourceNotFoundException("Category", request.getParentId()));
+        category.setParent(parent);
+        category.setLevel(parent == null ? 0 : parent.getLevel() + 1);
+        category.setName(request.getName());
+        category.setSlug(request.getSlug());
+        category.setImageUrl(request.getImageUrl());
+        if (request.getDisplayOrder() != null) {
+            category.setDisplayOrder(request.getDisplayOrder());
+        }
+        if (request.getIsActive() != null) {
+            category.setIsActive(request.getIsActive());
+        }
+    }
+
+    private CategoryRow toRow(Category category) {
+        return new CategoryRow(category.getId(),
+                category.getParent() == null ? null : category.getParent().getId(),
+                category.getName(), category.getSlug(), category.getImageUrl(),
+                category.getDisplayOrder(), category.getIsActive());
+    }
+
+    private List<String> getSubtreeIdsIfPresent(String id) {
+        CategoryTree snapshot = tree;
+        return snapshot.find(id).map(snapshot::subtreeIds).orElse(List.of());
+    }
+
+    private void refreshAfterCommit() {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    refresh();
+                } catch (Exception e) {
+                    log.error("Category tree refresh failed, next scheduled check retries", e);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,150 @@
+package com.ecom.catalog.service;
+
+import com.ecom.catalog.dto.CategoryNode;
+import com.ecom.catalog.dto.CategoryRow;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable snapshot of the active category tree.
+ *
+ * Categories are numbered in pre-order (siblings by displayOrder, then name), so every subtree
+ * is the contiguous slice [left, right) of {@link #preorderIds}. Inactive categories prune
+ * their whole subtree, as do rows whose parent is missing or inactive.
+ */
+final class CategoryTree {
+
+    static final CategoryTree EMPTY = build(List.of());
+
+    private static final Comparator<CategoryRow> SIBLING_ORDER = Comparator
+            .comparing((CategoryRow r) -> r.getDisplayOrder() == null ? 0 : r.getDisplayOrder())
+            .thenComparing(CategoryRow::getName);
+
+    private final List<CategoryNode> menu;
+    private final List<String> preorderIds;
+    private final Map<String, CategoryNode> byId;
+    private final Map<String, CategoryNode> bySlug;
+
+    private CategoryTree(List<CategoryNode> menu, List<String> preorderIds,
+            Map<String, CategoryNode> byId, Map<String, CategoryNode> bySlug) {
+        this.menu = menu;
+        this.preorderIds = preorderIds;
+        this.byId = byId;
+        this.bySlug = bySlug;
+    }
+
+    static CategoryTree build(List<CategoryRow> rows) {
+        Map<String, List<CategoryRow>> childrenOf = new HashMap<>();
+        List<CategoryRow> roots = new ArrayList<>();
+        for (CategoryRow row : rows) {
+            if (!Boolean.TRUE.equals(row.getIsActive())) {
+                continue;
+            }
+            if (row.getParentId() == null) {
+                roots.add(row);
+            } else {
+                childrenOf.computeIfAbsent(row.getParentId(), k -> new ArrayList<>()).add(row);
+            }
+        }
+
+        List<String> preorder = new ArrayList<>();
+        Map<String, CategoryNode> byId = new HashMap<>();
+        Map<String, CategoryNode> bySlug = new HashMap<>();
+        List<CategoryNode> menu = new ArrayList<>();
+        roots.sort(SIBLING_ORDER);
+        for (CategoryRow root : roots) {
+            menu.add(number(root, childrenOf, preorder, byId, bySlug));
+        }
+        return new CategoryTree(Collections.unmodifiableList(menu), List.copyOf(preorder),
+                Map.copyOf(byId), Map.copyOf(bySlug));
+    }
+
+    List<CategoryNode> menu() {
+        return menu;
+    }
+
+    Optional<CategoryNode> find(String id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    Optional<CategoryNode> findBySlug(String slug) {
+        return Optional.ofNullable(bySlug.get(slug));
+    }
+
+    /**
+     * Ids of the category and all its descendants — a view, not a copy.
+     */
+    List<String> subtreeIds(CategoryNode node) {
+        return preorderIds.subList(node.getLeft(), node.getRight());
+    }
+
+    int size() {
+        return preorderIds.size();
+    }
+
+    // ── Helpers ──
+
+    /**
+     * Iterative pre-order walk — a deep or corrupted (cyclic) hierarchy can't blow the stack,
+     * and a node is never numbered twice.
+     */
+    private static CategoryNode number(CategoryRow root, Map<String, List<CategoryRow>> childrenOf,
+            List<String> preorder, Map<String, CategoryNode> byId, Map<String, CategoryNode> bySlug) {
+        record Frame(CategoryRow row, CategoryNode node, List<CategoryRow> children, int next) {
+        }
+
+        Deque<Frame> stack = new ArrayDeque<>();
+        CategoryNode rootNode = enter(root, 0, preorder, byId, bySlug);
+        stack.push(new Frame(root, rootNode, sortedChildren(root, childrenOf), 0));
+
+        while (!stack.isEmpty()) {
+            Frame top = stack.pop();
+            if (top.next() < top.children().size()) {
+                stack.push(new Frame(top.row(), top.node(), top.children(), top.next() + 1));
+                CategoryRow child = top.children().get(top.next());
+                if (byId.containsKey(child.getId())) {
+                    continue;
+                }
+                CategoryNode childNode = enter(child, top.node().getLevel() + 1, preorder, byId, bySlug);
+                top.node().getChildren().add(childNode);
+                stack.push(new Frame(child, childNode, sortedChildren(child, childrenOf), 0));
+                continue;
+            }
+            top.node().setRight(preorder.size());
+            top.node().setChildren(Collections.unmodifiableList(top.node().getChildren()));
+        }
+        return rootNode;
+    }
+
+    private static CategoryNode enter(CategoryRow row, int level, List<String> preorder,
+            Map<String, CategoryNode> byId, Map<String, CategoryNode> bySlug) {
+        CategoryNode node = CategoryNode.builder()
+                .id(row.getId())
+                .name(row.getName())
+                .slug(row.getSlug())
+                .imageUrl(row.getImageUrl())
+                .displayOrder(row.getDisplayOrder())
+                .level(level)
+                .left(preorder.size())
+                .children(new ArrayList<>())
+                .build();
+        preorder.add(row.getId());
+        byId.put(row.getId(), node);
+        bySlug.put(row.getSlug(), node);
+        return node;
+    }
+
+    private static List<CategoryRow> sortedChildren(CategoryRow row, Map<String, List<CategoryRow>> childrenOf) {
+        List<CategoryRow> children = new ArrayList<>(childrenOf.getOrDefault(row.getId(), List.of()));
+        children.sort(SIBLING_ORDER);
+        return children;
+    }
+}
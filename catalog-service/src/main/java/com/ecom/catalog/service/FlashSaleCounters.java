@@ -0,0 +1,301 @@
+package com.ecom.catalog.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Redis sub-counters for flash-sale SKUs.
+ *
+ * While a sale is open, the SKU's sellable stock is parked in the inventory row as
+ * reserved and split across N shard keys. Every script touches exactly one key, and the shard
+ * keys carry no shared hash tag, so in a cluster the shards spread over slots and nodes and
+ * concurrent buyers contend on N counters on as many nodes instead of one.
+ *
+ * Key format: inventory:flash:{variantId:sellerId} is a hash of the sale id, shard count and
+ * state (opening, open, closing); inventory:flash:variantId:sellerId:n is a hash of the sale id
+ * and the stock of shard n. A sale is opened and closed shard by shard: takers only see it once
+ * every shard holds its share, and closing stops new takes before the shards are drained.
+ */
+@Component
+@Slf4j
+public class FlashSaleCounters {
+
+    /** Upper bound on shards per sale; opening and closing visit every shard in turn. */
+    public static final int MAX_SHARDS = 256;
+
+    /**
+     * KEYS: shard. ARGV: quantity. Takes up to the quantity from the shard; returns how much was
+     * taken, or -1 if the shard is gone.
+     */
+    private static final RedisScript<Long> TAKE = new DefaultRedisScript<>("""
+            local stock = tonumber(redis.call('HGET', KEYS[1], 'stock'))
+            if stock == nil then return -1 end
+            local taken = math.min(stock, tonumber(ARGV[1]))
+            if taken > 0 then redis.call('HINCRBY', KEYS[1], 'stock', -taken) end
+            return taken
+            """, Long.class);
+
+    /** KEYS: shard. ARGV: quantity. Returns stock to a shard still open; 0 once it has been drained. */
+    private static final RedisScript<Long> GIVE = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 1 then
+              redis.call('HINCRBY', KEYS[1], 'stock', ARGV[1])
+              return 1
+            end
+            return 0
+            """, Long.class);
+
+    /**
+     * KEYS: meta. ARGV: sale id, shards. Claims the SKU for a new sale, in state opening.
+     * Returns 1 if claimed, 0 if another sale holds it.
+     */
+    private static final RedisScript<Long> CLAIM = new DefaultRedisScript<>("""
+            if redis.call('HSETNX', KEYS[1], 'sale', ARGV[1]) == 0 then return 0 end
+            redis.call('HSET', KEYS[1], 'shards', ARGV[2], 'state', 'opening')
+            return 1
+            """, Long.class);
+
+    /**
+     * KEYS: shard. ARGV: sale id, stock. Fills the shard for the sale. Returns 1, or 0 if the
+     * shard still belongs to another sale.
+     */
+    private static final RedisScript<Long> FILL = new DefaultRedisScript<>("""
+            local owner = redis.call('HGET', KEYS[1], 'sale')
+            if owner and owner ~= ARGV[1] then return 0 end
+            redis.call('HSET', KEYS[1], 'sale', ARGV[1], 'stock', ARGV[2])
+            return 1
+            """, Long.class);
+
+    /**
+     * KEYS: meta. ARGV: sale id, expected state, new state. Moves the sale between states if it is
+     * still that sale in that state ('*' matches any state). Returns 1 if moved, 0 otherwise.
+     */
+    private static final RedisScript<Long> TRANSITION = new DefaultRedisScript<>("""
+            local meta = redis.call('HMGET', KEYS[1], 'sale', 'state')
+            if meta[1] ~= ARGV[1] or (ARGV[2] ~= '*' and meta[2] ~= ARGV[2]) then return 0 end
+            redis.call('HSET', KEYS[1], 'state', ARGV[3])
+            return 1
+            """, Long.class);
+
+    /** KEYS: shard. ARGV: sale id. Drains the sale's shard; returns its unsold stock, 0 if not the sale's. */
+    private static final RedisScript<Long> DRAIN = new DefaultRedisScript<>("""
+            local shard = redis.call('HMGET', KEYS[1], 'sale', 'stock')
+            if shard[1] ~= ARGV[1] then return 0 end
+            redis.call('DEL', KEYS[1])
+            return tonumber(shard[2]) or 0
+            """, Long.class);
+
+    /** KEYS: meta. ARGV: sale id. Forgets the sale if it is still the one on the SKU. */
+    private static final RedisScript<Long> RELEASE = new DefaultRedisScript<>("""
+            if redis.call('HGET', KEYS[1], 'sale') ~= ARGV[1] then return 0 end
+            return redis.call('DEL', KEYS[1])
+            """, Long.class);
+
+    private static final String SALE = "sale";
+    private static final String SHARDS = "shards";
+    private static final String STATE = "state";
+    private static final String STOCK = "stock";
+    private static final String OPENING = "opening";
+    private static final String OPEN = "open";
+    private static final String CLOSING = "closing";
+
+    private final StringRedisTemplate redisTemplate;
+    private final int maxStealShards;
+
+    public FlashSaleCounters(StringRedisTemplate redisTemplate,
+            @Value("${inventory.flash-sale.max-steal-shards:3}") int maxStealShards) {
+        this.redisTemplate = redisTemplate;
+        this.maxStealShards = maxStealShards;
+    }
+
+    /**
+     * Outcome of {@link #tryTake}. A refused take returns what it had gathered to the shards; if
+     * the sale closed meanwhile that is impossible, and {@code stranded} stock — still parked as
+     * reserved in the inventory row — must be released there by the caller.
+     */
+    public record Take(boolean taken, int stranded) {
+        static final Take TAKEN = new Take(true, 0);
+    }
+
+    /**
+     * @return number of shards of the open sale, or 0 if the SKU is not in flash-sale mode (or a
+     *         sale is still opening or already closing)
+     */
+    public int activeShards(String variantId, String sellerId) {
+        List<Object> meta = redisTemplate.opsForHash().multiGet(metaKey(variantId, sellerId), List.of(STATE, SHARDS));
+        return OPEN.equals(meta.get(0)) && meta.get(1) != null ? Integer.parseInt(meta.get(1).toString()) : 0;
+    }
+
+    /**
+     * @return unsold stock summed across the open shards, or 0 if the SKU is not in flash-sale mode
+     */
+    public int remaining(String variantId, String sellerId) {
+        int shards = activeShards(variantId, sellerId);
+        if (shards == 0) {
+            return 0;
+        }
+        List<Object> values = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection strings = (StringRedisConnection) connection;
+            for (int shard = 0; shard < shards; shard++) {
+                strings.hGet(shardKey(variantId, sellerId, shard), STOCK);
+            }
+            return null;
+        });
+        int remaining = 0;
+        for (Object value : values) {
+            if (value != null) {
+                remaining += Integer.parseInt(value.toString());
+            }
+        }
+        return remaining;
+    }
+
+    /**
+     * Split {@code stock} evenly across {@code shards} keys and open the sale.
+     *
+     * @return the new sale's id, or empty if a sale is already open for this SKU, or one that
+     *         ended has not finished draining
+     */
+    public Optional<String> open(String variantId, String sellerId, int shards, int stock) {
+        String saleId = UUID.randomUUID().toString();
+        String meta = metaKey(variantId, sellerId);
+        if (!isOne(redisTemplate.execute(CLAIM, List.of(meta), saleId, String.valueOf(shards)))) {
+            return Optional.empty();
+        }
+        for (int shard = 0; shard < shards; shard++) {
+            int share = stock / shards + (shard < stock % shards ? 1 : 0);
+            if (!isOne(redisTemplate.execute(FILL, List.of(shardKey(variantId, sellerId, shard)),
+                    saleId, String.valueOf(share)))) {
+                log.warn("Flash sale shard still held by an earlier sale: variantId={}, sellerId={}, shard={}",
+                        variantId, sellerId, shard);
+                close(variantId, sellerId, saleId, shards);
+                return Optional.empty();
+            }
+        }
+        if (!isOne(redisTemplate.execute(TRANSITION, List.of(meta), saleId, OPENING, OPEN))) {
+            // Closed while opening; take back whatever was filled after the close drained
+            close(variantId, sellerId, saleId, shards);
+            return Optional.empty();
+        }
+        return Optional.of(saleId);
+    }
+
+    /**
+     * Close whichever sale is on the SKU and drain every shard. From here on reservations and
+     * releases fall back to the inventory row.
+     *
+     * @return the stock that was still unsold across all shards, or empty if no sale is open
+     */
+    public OptionalInt close(String variantId, String sellerId) {
+        List<Object> meta = redisTemplate.opsForHash().multiGet(metaKey(variantId, sellerId), List.of(SALE, SHARDS));
+        if (meta.get(0) == null || meta.get(1) == null) {
+            return OptionalInt.empty();
+        }
+        return close(variantId, sellerId, meta.get(0).toString(), Integer.parseInt(meta.get(1).toString()));
+    }
+
+    /**
+     * Close the sale only if it is still the one {@link #open} returned {@code saleId} for — a
+     * later sale of the same SKU is left alone. New takes stop first; then each shard is drained,
+     * and takes already past the state check find their shard gone.
+     *
+     * @return the unsold stock, or empty if that sale is no longer on the SKU
+     */
+    public OptionalInt close(String variantId, String sellerId, String saleId, int shards) {
+        String meta = metaKey(variantId, sellerId);
+        if (!isOne(redisTemplate.execute(TRANSITION, List.of(meta), saleId, "*", CLOSING))) {
+            return OptionalInt.empty();
+        }
+        long unsold = 0;
+        for (int shard = 0; shard < shards; shard++) {
+            Long drained = redisTemplate.execute(DRAIN, List.of(shardKey(variantId, sellerId, shard)), saleId);
+            unsold += drained == null ? 0 : drained;
+        }
+        redisTemplate.execute(RELEASE, List.of(meta), saleId);
+        return OptionalInt.of((int) unsold);
+    }
+
+    /**
+     * Take {@code quantity} starting at the caller's shard; whatever it cannot cover is stolen from
+     * at most {@code inventory.flash-sale.max-steal-shards} following shards, one script each. If
+     * they come up short, the partial amounts go back where they came from and the take is
+     * refused, even if shards further away still hold stock — a buyer landing on one of those gets
+     * it. Never oversells, and a take costs at most 1 + max-steal-shards round trips however many
+     * shards the sale has.
+     */
+    public Take tryTake(String variantId, String sellerId, int shards, String callerId, int quantity) {
+        int start = shardFor(callerId, shards);
+        int visits = Math.min(shards, 1 + maxStealShards);
+        int[] takenFrom = new int[visits];
+        int total = 0;
+        for (int i = 0; i < visits && total < quantity; i++) {
+            Long taken = redisTemplate.execute(TAKE, List.of(shardKey(variantId, sellerId, (start + i) % shards)),
+                    String.valueOf(quantity - total));
+            if (taken == null || taken < 0) {
+                // Sale closed under us
+                break;
+            }
+            takenFrom[i] = taken.intValue();
+            total += taken.intValue();
+        }
+        if (total == quantity) {
+            return Take.TAKEN;
+        }
+        int stranded = 0;
+        for (int i = 0; i < visits; i++) {
+            if (takenFrom[i] > 0 && !give(shardKey(variantId, sellerId, (start + i) % shards), takenFrom[i])) {
+                stranded += takenFrom[i];
+            }
+        }
+        return new Take(false, stranded);
+    }
+
+    /**
+     * Put released stock back into an open shard.
+     *
+     * @return false if the sale has ended — the caller must release it on the inventory row
+     */
+    public boolean giveBack(String variantId, String sellerId, String holderId, int quantity) {
+        int shards = activeShards(variantId, sellerId);
+        if (shards == 0) {
+            return false;
+        }
+        return give(shardKey(variantId, sellerId, shardFor(holderId, shards)), quantity);
+    }
+
+    // ── Helpers ──
+
+    private boolean give(String shardKey, int quantity) {
+        return isOne(redisTemplate.execute(GIVE, List.of(shardKey), String.valueOf(quantity)));
+    }
+
+    private static boolean isOne(Long result) {
+        return result != null && result == 1;
+    }
+
+    private int shardFor(String callerId, int shards) {
+        return callerId == null
+                ? ThreadLocalRandom.current().nextInt(shards)
+                : Math.floorMod(callerId.hashCode(), shards);
+    }
+
+    private String metaKey(String variantId, String sellerId) {
+        return "inventory:flash:{" + variantId + ":" + sellerId + "}";
+    }
+
+    /** No hash tag: each shard hashes to its own slot. */
+    private String shardKey(String variantId, String sellerId, int shard) {
+        return "inventory:flash:" + variantId + ":" + sellerId + ":" + shard;
+    }
+}
@@ -1,22 +1,43 @@
 package com.ecom.catalog.service;
 
-import com.ecom.common.event.BaseEvent;
-import com.ecom.common.event.EventTypes;
-import com.ecom.common.event.TopicNames;
+import com.ecom.common.exception.BadRequestException;
 import com.ecom.common.exception.ConflictException;
 import com.ecom.common.exception.ResourceNotFoundException;
+import com.ecom.catalog.dto.BatchStockResponse;
+import com.ecom.catalog.dto.ReservationResponse;
+import com.ecom.catalog.dto.StockLineRequest;
+import com.ecom.catalog.dto.StockLineResult;
 import com.ecom.catalog.entity.Inventory;
+import com.ecom.catalog.entity.StockReservation;
+import com.ecom.catalog.entity.StockReservation.ReservationStatus;
 import com.ecom.catalog.repository.InventoryRepository;
-import io.awspring.cloud.sns.core.SnsTemplate;
+import com.ecom.catalog.repository.ProductVariantRepository;
+import com.ecom.catalog.repository.StockReservationRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Duration;
-import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
 
 @Service
@@ -25,14 +46,65 @@ import java.util.UUID;
 public class InventoryService {
 
     private final InventoryRepository inventoryRepository;
+    private final ProductVariantRepository variantRepository;
+    private final StockReservationRepository reservationRepository;
+    private final FlashSaleCounters flashSaleCounters;
+    private final LowStockAlertPublisher lowStockAlerts;
     private final StringRedisTemplate redisTemplate;
-    private final SnsTemplate snsTemplate;
+    private final PlatformTransactionManager transactionManager;
 
     /**
-     * Reserve stock for an order — uses distributed lock to prevent overselling.
+     * How {@link #reserveStock} serializes concurrent buyers of the same SKU.
+     * ATOMIC relies on a single guarded UPDATE; LOCK is the legacy Redis SETNX path.
+     */
+    public enum ReservationMode {
+        ATOMIC, LOCK
+    }
+
+    @Value("${inventory.reservation.mode:ATOMIC}")
+    private ReservationMode reservationMode;
+
+    @Value("${inventory.reservation.hold-ttl:15m}")
+    private Duration holdTtl;
+
+    /**
+     * Reserve stock for an order — never oversells, whichever mode is configured.
+     * The stock stays held until the returned reservation is confirmed, released or expires.
+     *
+     * @param callerId optional caller identity; picks the shard while the SKU is in flash-sale mode
      */
     @Transactional
-    public void reserveStock(String variantId, String sellerId, int quantity) {
+    public ReservationResponse reserveStock(String variantId, String sellerId, int quantity, String callerId) {
+        int shards = flashSaleCounters.activeShards(variantId, sellerId);
+        if (shards > 0) {
+            if (!takeFlashStock(variantId, sellerId, shards, callerId, quantity)) {
+                throw new ConflictException("Insufficient stock. Requested: " + quantity);
+            }
+            returnToShardsOnRollback(List.of(new StockLineRequest(variantId, sellerId, quantity)));
+            log.info("Flash stock reserved: variantId={}, qty={}, shards={}", variantId, quantity, shards);
+        } else if (reservationMode == ReservationMode.LOCK) {
+            reserveStockWithLock(variantId, sellerId, quantity);
+        } else {
+            reserveStockAtomically(variantId, sellerId, quantity);
+        }
+        lowStockAlerts.stockChanged(variantId, sellerId);
+        return createHolds(List.of(new StockLineRequest(variantId, sellerId, quantity)));
+    }
+
+    private void reserveStockAtomically(String variantId, String sellerId, int quantity) {
+        if (inventoryRepository.tryReserve(variantId, sellerId, quantity) == 0) {
+            // Zero rows: either the row is missing or there isn't enough stock — find out which
+            Inventory inventory = getInventory(variantId, sellerId);
+            throw new ConflictException(
+                    "Insufficient stock. Available: " + inventory.getAvailableStock() + ", Requested: " + quantity);
+        }
+        log.info("Stock reserved: variantId={}, qty={}", variantId, quantity);
+    }
+
+    /**
+     * Legacy reservation path — uses distributed lock to prevent overselling.
+     */
+    private void reserveStockWithLock(String variantId, String sellerId, int quantity) {
         String lockKey = "lock:inventory:" + variantId + ":" + sellerId;
 
         // Acquire distributed lock
@@ -44,9 +116,7 @@ public class InventoryService {
         }
 
         try {
-            Inventory inventory = inventoryRepository.findByVariantIdAndSellerId(variantId, sellerId)
-                    .orElseThrow(() -> new ResourceNotFoundException(
-                            "Inventory not found for variant=" + variantId + ", seller=" + sellerId));
+            Inventory inventory = getInventory(variantId, sellerId);
 
             if (inventory.getAvailableStock() < quantity) {
                 throw new ConflictException(
@@ -58,43 +128,196 @@ public class InventoryService {
 
             log.info("Stock reserved: variantId={}, qty={}, available={}",
                     variantId, quantity, inventory.getAvailableStock());
-
-            // Check low stock alert
-            if (inventory.getAvailableStock() <= inventory.getReorderLevel()) {
-                publishLowStockAlert(inventory);
-            }
         } finally {
             redisTemplate.delete(lockKey);
         }
     }
 
     /**
-     * Release previously reserved stock (e.g., on order cancellation).
+     * Release a held reservation (e.g., on order cancellation or payment failure).
+     * Releasing an already released or expired reservation is a no-op.
      */
     @Transactional
-    public void releaseStock(String variantId, String sellerId, int quantity) {
-        Inventory inventory = inventoryRepository.findByVariantIdAndSellerId(variantId, sellerId)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "Inventory not found for variant=" + variantId + ", seller=" + sellerId));
+    public void releaseReservation(String reservationId) {
+        int released = 0;
+        for (StockReservation hold : getHolds(reservationId)) {
+            if (reservationRepository.transition(hold.getId(), ReservationStatus.HELD, ReservationStatus.RELEASED) == 1) {
+                releaseHeldStock(hold);
+                released++;
+            }
+        }
+        log.info("Reservation released: reservationId={}, lines={}", reservationId, released);
+    }
 
-        inventory.setReserved(Math.max(0, inventory.getReserved() - quantity));
-        inventoryRepository.save(inventory);
-        log.info("Stock released: variantId={}, qty={}", variantId, quantity);
+    /**
+     * Confirm a held reservation (deduct from total after payment).
+     */
+    @Transactional
+    public void confirmReservation(String reservationId) {
+        List<StockReservation> holds = getHolds(reservationId);
+        if (holds.stream().allMatch(h -> h.getStatus() == ReservationStatus.CONFIRMED)) {
+            log.info("Reservation already confirmed: reservationId={}", reservationId);
+            return;
+        }
+
+        for (StockReservation hold : holds) {
+            if (hold.getStatus() == ReservationStatus.CONFIRMED) {
+                continue;
+            }
+            // Lost the race to the sweeper or a release — the whole confirmation rolls back
+            if (reservationRepository.transition(hold.getId(), ReservationStatus.HELD, ReservationStatus.CONFIRMED) == 0) {
+                throw new ConflictException("Reservation is no longer held: " + reservationId);
+            }
+            inventoryRepository.confirm(hold.getVariantId(), hold.getSellerId(), hold.getQuantity());
+        }
+        log.info("Reservation confirmed: reservationId={}, lines={}", reservationId, holds.size());
     }
 
+    // ── Batch operations (whole-order checkout) ──
+
     /**
-     * Confirm reserved stock (deduct from total after payment).
+     * Reserve every line or none. Rows are touched in (variantId, sellerId) order so that
+     * two concurrent batches always lock shared rows in the same sequence and cannot deadlock.
+     * All lines share one reservation id.
+     *
+     * The first line that cannot be reserved ends the batch: the lines after it are not attempted,
+     * so a doomed checkout takes no more row locks, and report the stock available in a plain read.
      */
     @Transactional
-    public void confirmReservation(String variantId, String sellerId, int quantity) {
-        Inventory inventory = inventoryRepository.findByVariantIdAndSellerId(variantId, sellerId)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "Inventory not found for variant=" + variantId + ", seller=" + sellerId));
+    public BatchStockResponse reserveBatch(List<StockLineRequest> lines, String callerId) {
+        List<StockLineRequest> ordered = mergeAndSort(withSellers(lines));
+        List<StockLineResult> results = new ArrayList<>(ordered.size());
+        List<StockLineRequest> flashLines = new ArrayList<>();
+        boolean allReserved = true;
+        int next = 0;
+
+        while (allReserved && next < ordered.size()) {
+            StockLineRequest line = ordered.get(next++);
+            int shards = flashSaleCounters.activeShards(line.getVariantId(), line.getSellerId());
+            if (shards > 0) {
+                boolean taken = takeFlashStock(
+                        line.getVariantId(), line.getSellerId(), shards, callerId, line.getQuantity());
+                if (taken) {
+                    flashLines.add(line);
+                }
+                allReserved &= taken;
+                results.add(lineResult(line, taken, null, taken ? null : "Insufficient stock"));
+                continue;
+            }
+            if (inventoryRepository.tryReserve(line.getVariantId(), line.getSellerId(), line.getQuantity()) == 1) {
+                results.add(lineResult(line, true, null, null));
+                continue;
+            }
+            allReserved = false;
+            Optional<Inventory> inventory = inventoryRepository
+                    .findByVariantIdAndSellerId(line.getVariantId(), line.getSellerId());
+            results.add(inventory
+                    .map(inv -> lineResult(line, false, inv.getAvailableStock(), "Insufficient stock"))
+                    .orElseGet(() -> lineResult(line, false, null, "Inventory not found")));
+        }
+        results.addAll(notAttempted(ordered.subList(next, ordered.size())));
+
+        returnToShardsOnRollback(flashLines);
+        if (!allReserved) {
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            log.info("Batch reservation rejected: lines={}", ordered.size());
+            return BatchStockResponse.builder().success(false).lines(results).build();
+        }
+
+        ReservationResponse reservation = createHolds(ordered);
+        log.info("Batch stock reserved: reservationId={}, lines={}", reservation.getReservationId(), ordered.size());
+        for (StockLineRequest line : ordered) {
+            lowStockAlerts.stockChanged(line.getVariantId(), line.getSellerId());
+        }
+        return BatchStockResponse.builder()
+                .success(true)
+                .reservationId(reservation.getReservationId())
+                .expiresAt(reservation.getExpiresAt())
+                .lines(results)
+                .build();
+    }
+
+    // ── Flash-sale mode ──
+
+    /**
+     * Park the SKU's available stock in the inventory row and split it across Redis shards.
+     * Reservations then only touch the shards until {@link #endFlashSale} folds them back.
+     */
+    @Transactional
+    public int startFlashSale(String variantId, String sellerId, int shards) {
+        if (shards < 1 || shards > FlashSaleCounters.MAX_SHARDS) {
+            throw new BadRequestException("Shards must be between 1 and " + FlashSaleCounters.MAX_SHARDS);
+        }
+        Inventory inventory = getInventory(variantId, sellerId);
+        int available = inventory.getAvailableStock();
+        if (available <= 0 || inventoryRepository.tryReserve(variantId, sellerId, available) == 0) {
+            throw new ConflictException("No available stock to open a flash sale with");
+        }
+        String saleId = flashSaleCounters.open(variantId, sellerId, shards, available)
+                .orElseThrow(() -> new ConflictException(
+                        "Flash sale already active for variant=" + variantId + ", seller=" + sellerId));
+        // The shards must not outlive a parked stock update that never committed — but only this
+        // sale's shards: by then the SKU may be in a sale somebody else opened
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    flashSaleCounters.close(variantId, sellerId, saleId, shards);
+                }
+            }
+        });
+        log.info("Flash sale started: variantId={}, sellerId={}, stock={}, shards={}",
+                variantId, sellerId, available, shards);
+        return available;
+    }
+
+    /**
+     * Close the sale and return whatever is left in the shards to the inventory row.
+     */
+    @Transactional
+    public int endFlashSale(String variantId, String sellerId) {
+        int unsold = flashSaleCounters.close(variantId, sellerId)
+                .orElseThrow(() -> new ConflictException(
+                        "No active flash sale for variant=" + variantId + ", seller=" + sellerId));
+        if (unsold > 0) {
+            inventoryRepository.release(variantId, sellerId, unsold);
+        }
+        log.info("Flash sale ended: variantId={}, sellerId={}, unsold={}", variantId, sellerId, unsold);
+        return unsold;
+    }
+
+    // ── Hold expiry ──
+
+    /**
+     * Outcome of one expiry batch; oldestExpiry is null when nothing had expired.
+     */
+    public record HoldSweepResult(int scanned, int released, LocalDateTime oldestExpiry) {
+    }
 
-        inventory.setQuantity(inventory.getQuantity() - quantity);
-        inventory.setReserved(Math.max(0, inventory.getReserved() - quantity));
-        inventoryRepository.save(inventory);
-        log.info("Reservation confirmed: variantId={}, qty={}", variantId, quantity);
+    /**
+     * Release up to {@code limit} expired holds, oldest first.
+     */
+    @Transactional
+    public HoldSweepResult expireHolds(int limit) {
+        List<StockReservation> expired = reservationRepository.findByStatusAndExpiresAtBeforeOrderByExpiresAtAsc(
+                ReservationStatus.HELD, LocalDateTime.now(), PageRequest.of(0, limit));
+        if (expired.isEmpty()) {
+            return new HoldSweepResult(0, 0, null);
+        }
+
+        LocalDateTime oldest = expired.get(0).getExpiresAt();
+        List<StockReservation> ordered = new ArrayList<>(expired);
+        ordered.sort(Comparator.comparing(StockReservation::getVariantId)
+                .thenComparing(StockReservation::getSellerId));
+        int released = 0;
+        for (StockReservation hold : ordered) {
+            if (reservationRepository.transition(hold.getId(), ReservationStatus.HELD, ReservationStatus.EXPIRED) == 1) {
+                releaseHeldStock(hold);
+                released++;
+            }
+        }
+        log.info("Expired holds released: count={}, oldestExpiry={}", released, oldest);
+        return new HoldSweepResult(expired.size(), released, oldest);
     }
 
     @Transactional(readOnly = true)
@@ -104,25 +327,153 @@ public class InventoryService {
                         "Inventory not found for variant=" + variantId + ", seller=" + sellerId));
     }
 
-    private void publishLowStockAlert(Inventory inventory) {
+    // ── Helpers ──
+
+    private ReservationResponse createHolds(List<StockLineRequest> lines) {
+        String reservationId = UUID.randomUUID().toString();
+        LocalDateTime expiresAt = LocalDateTime.now().plus(holdTtl);
+        reservationRepository.saveAll(lines.stream()
+                .map(line -> StockReservation.builder()
+                        .reservationId(reservationId)
+                        .variantId(line.getVariantId())
+                        .sellerId(line.getSellerId())
+                        .quantity(line.getQuantity())
+                        .expiresAt(expiresAt)
+                        .build())
+                .toList());
+        return ReservationResponse.builder().reservationId(reservationId).expiresAt(expiresAt).build();
+    }
+
+    private boolean takeFlashStock(String variantId, String sellerId, int shards, String callerId, int quantity) {
+        FlashSaleCounters.Take take = flashSaleCounters.tryTake(variantId, sellerId, shards, callerId, quantity);
+        if (take.stranded() > 0) {
+            releaseParkedStock(variantId, sellerId, take.stranded());
+        }
+        return take.taken();
+    }
+
+    /**
+     * Stock released during a flash sale goes back to a shard (it is still parked in the row);
+     * otherwise the row's reserved count comes down.
+     */
+    private void releaseHeldStock(StockReservation hold) {
+        if (!flashSaleCounters.giveBack(hold.getVariantId(), hold.getSellerId(),
+                hold.getReservationId(), hold.getQuantity())) {
+            inventoryRepository.release(hold.getVariantId(), hold.getSellerId(), hold.getQuantity());
+        }
+    }
+
+    /**
+     * Redis takes don't roll back with the transaction — give them back if it does. If the sale
+     * ended meanwhile, its shards are gone and the stock is released on the row instead.
+     */
+    private void returnToShardsOnRollback(List<StockLineRequest> flashLines) {
+        if (flashLines.isEmpty()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    return;
+                }
+                for (StockLineRequest line : flashLines) {
+                    if (!flashSaleCounters.giveBack(line.getVariantId(), line.getSellerId(), null, line.getQuantity())) {
+                        releaseParkedStock(line.getVariantId(), line.getSellerId(), line.getQuantity());
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Release stock a finished sale left parked in the row. Runs in a transaction of its own: the
+     * Redis side it balances has already happened, whatever becomes of the caller's transaction.
+     */
+    private void releaseParkedStock(String variantId, String sellerId, int quantity) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
         try {
-            BaseEvent event = BaseEvent.builder()
-                    .eventId(UUID.randomUUID().toString())
-                    .eventType(EventTypes.LOW_STOCK_ALERT)
-                    .source("catalog-service")
-                    .timestamp(Instant.now())
-                    .data(Map.of(
-                            "variantId", inventory.getVariant().getId(),
-                            "sellerId", inventory.getSellerId(),
-                            "availableStock", inventory.getAvailableStock(),
-                            "reorderLevel", inventory.getReorderLevel()))
-                    .build();
-
-            snsTemplate.convertAndSend(TopicNames.CATALOG_EVENTS, event);
-            log.warn("LOW_STOCK_ALERT: variantId={}, stock={}", inventory.getVariant().getId(),
-                    inventory.getAvailableStock());
+            transaction.executeWithoutResult(status -> inventoryRepository.release(variantId, sellerId, quantity));
+            log.info("Flash sale ended mid-reservation, stock released on the row: variantId={}, sellerId={}, qty={}",
+                    variantId, sellerId, quantity);
         } catch (Exception e) {
-            log.error("Failed to publish LOW_STOCK_ALERT", e);
+            log.error("Failed to release parked flash-sale stock: variantId={}, sellerId={}, qty={}",
+                    variantId, sellerId, quantity, e);
+        }
+    }
+
+    private List<StockReservation> getHolds(String reservationId) {
+        List<StockReservation> holds = reservationRepository.findByReservationIdOrderByVariantIdAscSellerIdAsc(reservationId);
+        if (holds.isEmpty()) {
+            throw new ResourceNotFoundException("Reservation", reservationId);
+        }
+        return holds;
+    }
+
+    /**
+     * Fill in the seller of lines that name only a variant, in one query. Unknown variants keep
+     * a null seller and fail as "Inventory not found".
+     */
+    private List<StockLineRequest> withSellers(List<StockLineRequest> lines) {
+        Set<String> unresolved = new HashSet<>();
+        for (StockLineRequest line : lines) {
+            if (line.getSellerId() == null || line.getSellerId().isBlank()) {
+                unresolved.add(line.getVariantId());
+            }
         }
+        if (unresolved.isEmpty()) {
+            return lines;
+        }
+        Map<String, String> sellers = new HashMap<>();
+        variantRepository.findSellers(unresolved).forEach(vs -> sellers.put(vs.getVariantId(), vs.getSellerId()));
+        return lines.stream()
+                .map(line -> line.getSellerId() == null || line.getSellerId().isBlank()
+                        ? new StockLineRequest(line.getVariantId(), sellers.get(line.getVariantId()), line.getQuantity())
+                        : line)
+                .toList();
+    }
+
+    /**
+     * Collapse duplicate (variantId, sellerId) lines and sort into lock order.
+     */
+    private List<StockLineRequest> mergeAndSort(List<StockLineRequest> lines) {
+        Map<String, StockLineRequest> merged = new TreeMap<>();
+        for (StockLineRequest line : lines) {
+            merged.merge(line.getVariantId() + ":" + line.getSellerId(),
+                    new StockLineRequest(line.getVariantId(), line.getSellerId(), line.getQuantity()),
+                    (a, b) -> new StockLineRequest(a.getVariantId(), a.getSellerId(),
+                            a.getQuantity() + b.getQuantity()));
+        }
+        return new ArrayList<>(merged.values());
+    }
+
+    /**
+     * Results for the lines a failed batch never reached, with the available stock of their rows
+     * read without locking them.
+     */
+    private List<StockLineResult> notAttempted(List<StockLineRequest> lines) {
+        if (lines.isEmpty()) {
+            return List.of();
+        }
+        Map<String, Integer> available = new HashMap<>();
+        inventoryRepository.findStockLevels(lines.stream().map(StockLineRequest::getVariantId).toList())
+                .forEach(level -> available.put(level.getVariantId() + ":" + level.getSellerId(),
+                        level.getAvailableStock()));
+        return lines.stream()
+                .map(line -> lineResult(line, false, available.get(line.getVariantId() + ":" + line.getSellerId()),
+                        "Not attempted"))
+                .toList();
+    }
+
+    private StockLineResult lineResult(StockLineRequest line, boolean success, Integer available, String message) {
+        return StockLineResult.builder()
+                .variantId(line.getVariantId())
+                .sellerId(line.getSellerId())
+                .quantity(line.getQuantity())
+                .success(success)
+                .availableStock(available)
+                .message(message)
+                .build();
     }
 }
@@ -0,0 +1,163 @@
+package com.ecom.catalog.service;
+
+import com.ecom.common.event.BaseEvent;
+import com.ecom.common.event.EventTypes;
+import com.ecom.common.event.TopicNames;
+import com.ecom.catalog.dto.StockLevel;
+import com.ecom.catalog.repository.InventoryRepository;
+import io.awspring.cloud.sns.core.SnsTemplate;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Coalesces low-stock detection off the reservation path.
+ *
+ * Reservations only mark a SKU as touched (after commit). A scheduled flush re-reads the
+ * touched SKUs in one query, drops any alerted within the dedupe window (shared across
+ * instances via Redis SET NX), and publishes one LOW_STOCK_ALERT and one OUT_OF_STOCK
+ * digest per flush.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LowStockAlertPublisher {
+
+    private record Sku(String variantId, String sellerId) {
+    }
+
+    private final InventoryRepository inventoryRepository;
+    private final FlashSaleCounters flashSaleCounters;
+    private final StringRedisTemplate redisTemplate;
+    private final SnsTemplate snsTemplate;
+
+    private final Set<Sku> touched = ConcurrentHashMap.newKeySet();
+
+    @Value("${inventory.low-stock-alert.dedupe-window:30m}")
+    private Duration dedupeWindow;
+
+    @Value("${inventory.low-stock-alert.max-digest-size:100}")
+    private int maxDigestSize;
+
+    /**
+     * Mark a SKU whose available stock went down. Never blocks on I/O; inside a transaction
+     * the mark only lands once it commits, so rolled-back reservations raise nothing.
+     */
+    public void stockChanged(String variantId, String sellerId) {
+        Sku sku = new Sku(variantId, sellerId);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            touched.add(sku);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                touched.add(sku);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.low-stock-alert.flush-interval-ms:10000}")
+    public void flush() {
+        Map<String, List<Sku>> byVariant = drain();
+        if (byVariant.isEmpty()) {
+            return;
+        }
+
+        List<Map<String, Object>> lowStock = new ArrayList<>();
+        List<Map<String, Object>> outOfStock = new ArrayList<>();
+        try {
+            for (StockLevel level : inventoryRepository.findStockLevels(byVariant.keySet())) {
+                if (!byVariant.get(level.getVariantId()).contains(new Sku(level.getVariantId(), level.getSellerId()))) {
+                    continue;
+                }
+                // During a flash sale the row only shows parked stock — the real figure is in the shards
+                int available = level.getAvailableStock()
+                        + flashSaleCounters.remaining(level.getVariantId(), level.getSellerId());
+                if (available <= 0) {
+                    collect(outOfStock, EventTypes.OUT_OF_STOCK, level, available);
+                } else if (available <= level.getReorderLevel()) {
+                    collect(lowStock, EventTypes.LOW_STOCK_ALERT, level, available);
+                }
+            }
+        } catch (Exception e) {
+            // Put the SKUs back so the next flush retries them
+            byVariant.values().forEach(touched::addAll);
+            log.error("Low-stock check failed: variants={}", byVariant.size(), e);
+            return;
+        }
+
+        publishDigests(EventTypes.LOW_STOCK_ALERT, lowStock);
+        publishDigests(EventTypes.OUT_OF_STOCK, outOfStock);
+    }
+
+    // ── Helpers ──
+
+    private Map<String, List<Sku>> drain() {
+        Map<String, List<Sku>> byVariant = new LinkedHashMap<>();
+        Iterator<Sku> it = touched.iterator();
+        while (it.hasNext()) {
+            Sku sku = it.next();
+            it.remove();
+            byVariant.computeIfAbsent(sku.variantId(), v -> new ArrayList<>()).add(sku);
+        }
+        return byVariant;
+    }
+
+    private void collect(List<Map<String, Object>> alerts, String eventType, StockLevel level, int available) {
+        Boolean first = redisTemplate.opsForValue()
+                .setIfAbsent(dedupeKey(eventType, level.getVariantId(), level.getSellerId()), "1", dedupeWindow);
+        if (!Boolean.TRUE.equals(first)) {
+            return;
+        }
+        alerts.add(Map.of(
+                "variantId", level.getVariantId(),
+                "sellerId", level.getSellerId(),
+                "availableStock", Math.max(available, 0),
+                "reorderLevel", level.getReorderLevel()));
+    }
+
+    private void publishDigests(String eventType, List<Map<String, Object>> alerts) {
+        for (int from = 0; from < alerts.size(); from += maxDigestSize) {
+            List<Map<String, Object>> chunk = alerts.subList(from, Math.min(from + maxDigestSize, alerts.size()));
+            try {
+                BaseEvent event = BaseEvent.builder()
+                        .eventId(UUID.randomUUID().toString())
+                        .eventType(eventType)
+                        .source("catalog-service")
+                        .timestamp(Instant.now())
+                        .data(Map.of("count", chunk.size(), "alerts", List.copyOf(chunk)))
+                        .build();
+
+                snsTemplate.convertAndSend(TopicNames.CATALOG_EVENTS, event);
+                log.warn("{} digest published: skus={}", eventType, chunk.size());
+            } catch (Exception e) {
+                // Lift the dedupe marks so the next flush can raise these again
+                redisTemplate.delete(chunk.stream()
+                        .map(a -> dedupeKey(eventType, (String) a.get("variantId"), (String) a.get("sellerId")))
+                        .toList());
+                log.error("Failed to publish {} digest: skus={}", eventType, chunk.size(), e);
+            }
+        }
+    }
+
+    private String dedupeKey(String eventType, String variantId, String sellerId) {
+        return "inventory:alert:" + eventType + ":" + variantId + ":" + sellerId;
+    }
+}
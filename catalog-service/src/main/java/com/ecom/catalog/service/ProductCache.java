@@ -0,0 +1,169 @@
+package com.ecom.catalog.service;
+
+import com.ecom.catalog.dto.ProductDetail;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * Read-through product detail cache: a bounded in-process W-TinyLFU tier (Caffeine) in front of
+ * a shared Redis tier, in front of MySQL.
+ *
+ * Detail is stored by id; slugs resolve to ids through a small mapping, so one product has one
+ * cached copy whichever key it is read by. Redis is best-effort — if it is down, reads fall
+ * through to the loader.
+ * Keys: catalog:product:{id} (JSON), catalog:product:slug:{slug} (id).
+ */
+@Component
+@Slf4j
+public class ProductCache {
+
+    private static final String ID_KEY = "catalog:product:";
+    private static final String SLUG_KEY = "catalog:product:slug:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, ProductDetail> local;
+    private final Cache<String, String> slugToId;
+    private final Duration redisTtl;
+    private final Counter redisHits;
+    private final Counter redisMisses;
+    private final Timer loadTimer;
+
+    public ProductCache(StringRedisTemplate redisTemplate, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+            @Value("${catalog.cache.local-max-size:10000}") long localMaxSize,
+            @Value("${catalog.cache.local-ttl:60s}") Duration localTtl,
+            @Value("${catalog.cache.redis-ttl:10m}") Duration redisTtl) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.redisTtl = redisTtl;
+        this.local = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(localTtl)
+                .recordStats()
+                .build();
+        this.slugToId = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(localTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, local, "product.detail");
+        CaffeineCacheMetrics.monitor(meterRegistry, slugToId, "product.slug");
+        this.redisHits = Counter.builder("catalog.product.cache.redis")
+                .description("Product detail lookups in the Redis tier")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.redisMisses = Counter.builder("catalog.product.cache.redis")
+                .description("Product detail lookups in the Redis tier")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.loadTimer = Timer.builder("catalog.product.cache.load")
+                .description("Time to load product detail from the database on a full miss")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Concurrent misses for the same id on this instance share one load.
+     */
+    public ProductDetail getById(String id, Function<String, ProductDetail> loader) {
+        return local.get(id, key -> {
+            ProductDetail cached = readRedis(key);
+            if (cached != null) {
+                return cached;
+            }
+            ProductDetail loaded = loadTimer.record(() -> loader.apply(key));
+            writeRedis(loaded);
+            return loaded;
+        });
+    }
+
+    /**
+     * @param bySlug loads the detail when the slug has never been resolved
+     * @param byId   loads the detail when the slug resolves to an id that is no longer cached
+     */
+    public ProductDetail getBySlug(String slug, Function<String, ProductDetail> bySlug,
+            Function<String, ProductDetail> byId) {
+        String id = slugToId.get(slug, this::readRedisSlug);
+        if (id != null) {
+            return getById(id, byId);
+        }
+        ProductDetail loaded = loadTimer.record(() -> bySlug.apply(slug));
+        local.put(loaded.getId(), loaded);
+        slugToId.put(slug, loaded.getId());
+        writeRedis(loaded);
+        return loaded;
+    }
+
+    /**
+     * Drop the product from both tiers. Other instances still hold it locally until they
+     * see the PRODUCT_UPDATED event or their local TTL runs out.
+     */
+    public void evict(String id, String slug) {
+        evictLocal(id, slug);
+        try {
+            redisTemplate.delete(slug == null ? List.of(ID_KEY + id) : List.of(ID_KEY + id, SLUG_KEY + slug));
+        } catch (Exception e) {
+            log.warn("Product cache Redis evict failed, entry expires with its TTL: id={}", id, e);
+        }
+    }
+
+    public void evictLocal(String id, String slug) {
+        local.invalidate(id);
+        if (slug != null) {
+            slugToId.invalidate(slug);
+        }
+    }
+
+    // ── Helpers ──
+
+    private ProductDetail readRedis(String id) {
+        try {
+            String json = redisTemplate.opsForValue().get(ID_KEY + id);
+            if (json == null) {
+                redisMisses.increment();
+                return null;
+            }
+            redisHits.increment();
+            return objectMapper.readValue(json, ProductDetail.class);
+        } catch (Exception e) {
+            log.warn("Product cache Redis read failed: id={}", id, e);
+            return null;
+        }
+    }
+
+    private String readRedisSlug(String slug) {
+        try {
+            return redisTemplate.opsForValue().get(SLUG_KEY + slug);
+        } catch (Exception e) {
+            log.warn("Product cache Redis slug read failed: slug={}", slug, e);
+            return null;
+        }
+    }
+
+    private void writeRedis(ProductDetail detail) {
+        // Jitter the TTL so entries warmed together don't all expire together
+        Duration ttl = redisTtl.plusSeconds(ThreadLocalRandom.current().nextLong(redisTtl.toSeconds() / 10 + 1));
+        try {
+            redisTemplate.opsForValue().set(ID_KEY + detail.getId(), objectMapper.writeValueAsString(detail), ttl);
+            redisTemplate.opsForValue().set(SLUG_KEY + detail.getSlug(), detail.getId(), ttl);
+        } catch (JsonProcessingException e) {
+            log.error("Product detail not serializable: id={}", detail.getId(), e);
+        } catch (Exception e) {
+            log.warn("Product cache Redis write failed: id={}", detail.getId(), e);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.ecom.catalog.service;
+
+import com.ecom.common.event.BaseEvent;
+import com.ecom.common.event.EventTypes;
+import com.ecom.common.event.TopicNames;
+import com.ecom.catalog.search.ProductSearchService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.awspring.cloud.sns.core.SnsTemplate;
+import io.awspring.cloud.sqs.annotation.SqsListener;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import software.amazon.awssdk.services.sns.SnsClient;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.QueueAttributeName;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keeps every catalog instance's local product state — the detail cache tier and the
+ * search index — coherent.
+ *
+ * Each instance listens on its own SQS queue (created by the listener container on startup)
+ * subscribed to catalog-events with raw delivery, so a PRODUCT_UPDATED published by one
+ * instance evicts the entry from all of them. The queue is unsubscribed and deleted on shutdown.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductCacheInvalidator {
+
+    private static final String SOURCE = "catalog-service";
+
+    private final ProductCache productCache;
+    private final ProductSearchService productSearchService;
+    private final SnsTemplate snsTemplate;
+    private final SnsClient snsClient;
+    private final SqsAsyncClient sqsAsyncClient;
+    private final ObjectMapper objectMapper;
+
+    private final String instanceId = UUID.randomUUID().toString().substring(0, 8);
+
+    @Getter
+    private final String queueName = "catalog-cache-" + instanceId;
+
+    private volatile String subscriptionArn;
+
+    /**
+     * Evict and broadcast once the change commits — a rolled-back update leaves the cache alone.
+     */
+    public void productChanged(String productId, String slug) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evictAndPublish(productId, slug);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evictAndPublish(productId, slug);
+            }
+        });
+    }
+
+    @SqsListener("#{@productCacheInvalidator.queueName}")
+    public void onCatalogEvent(String rawMessage) {
+        try {
+            BaseEvent event = objectMapper.readValue(rawMessage, BaseEvent.class);
+            if (!EventTypes.PRODUCT_UPDATED.equals(event.getEventType())
+                    || instanceId.equals(event.getData().get("instanceId"))) {
+                return;
+            }
+            String productId = (String) event.getData().get("productId");
+            productCache.evictLocal(productId, (String) event.getData().get("slug"));
+            productSearchService.productChanged(productId);
+            log.debug("Product cache evicted by peer: productId={}", event.getData().get("productId"));
+        } catch (Exception e) {
+            // Not worth a redelivery — the local TTL bounds the staleness
+            log.warn("Unreadable catalog event on cache queue: {}", e.getMessage());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void subscribe() {
+        try {
+            String queueUrl = sqsAsyncClient.getQueueUrl(r -> r.queueName(queueName)).join().queueUrl();
+            String queueArn = sqsAsyncClient.getQueueAttributes(r -> r.queueUrl(queueUrl)
+                            .attributeNames(QueueAttributeName.QUEUE_ARN))
+                    .join().attributes().get(QueueAttributeName.QUEUE_ARN);
+            String topicArn = snsClient.createTopic(r -> r.name(TopicNames.CATALOG_EVENTS)).topicArn();
+            sqsAsyncClient.setQueueAttributes(r -> r.queueUrl(queueUrl)
+                    .attributes(Map.of(QueueAttributeName.POLICY, allowTopic(queueArn, topicArn)))).join();
+            subscriptionArn = snsClient.subscribe(r -> r.topicArn(topicArn)
+                    .protocol("sqs")
+                    .endpoint(queueArn)
+                    .attributes(Map.of("RawMessageDelivery", "true"))
+                    .returnSubscriptionArn(true)).subscriptionArn();
+            log.info("Product cache invalidation subscribed: queue={}", queueName);
+        } catch (Exception e) {
+            log.error("Product cache invalidation not subscribed, peers rely on local TTL: queue={}", queueName, e);
+        }
+    }
+
+    @PreDestroy
+    public void unsubscribe() {
+        try {
+            if (subscriptionArn != null) {
+                snsClient.unsubscribe(r -> r.subscriptionArn(subscriptionArn));
+            }
+            String queueUrl = sqsAsyncClient.getQueueUrl(r -> r.queueName(queueName)).join().queueUrl();
+            sqsAsyncClient.deleteQueue(r -> r.queueUrl(queueUrl)).join();
+        } catch (Exception e) {
+            log.warn("Product cache queue cleanup failed: queue={}", queueName, e);
+        }
+    }
+
+    // ── Helpers ──
+
+    private String allowTopic(String queueArn, String topicArn) {
+        return """
+                {"Version":"2012-10-17","Statement":[{"Effect":"Allow","Principal":{"Service":"sns.amazonaws.com"},\
+                "Action":"sqs:SendMessage","Resource":"%s","Condition":{"ArnEquals":{"aws:SourceArn":"%s"}}}]}\
+                """.formatted(queueArn, topicArn);
+    }
+
+    private void evictAndPublish(String productId, String slug) {
+        productCache.evict(productId, slug);
+        productSearchService.productChanged(productId);
+        try {
+            Map<String, Object> data = new HashMap<>();
+            data.put("productId", productId);
+            data.put("slug", slug);
+            data.put("instanceId", instanceId);
+
+            BaseEvent event = BaseEvent.builder()
+                    .eventId(UUID.randomUUID().toString())
+                    .eventType(EventTypes.PRODUCT_UPDATED)
+                    .source(SOURCE)
+                    .timestamp(Instant.now())
+                    .data(data)
+                    .build();
+
+            snsTemplate.convertAndSend(TopicNames.CATALOG_EVENTS, event);
+        } catch (Exception e) {
+            log.error("Failed to publish PRODUCT_UPDATED: productId={}", productId, e);
+        }
+    }
+}
@@ -1,13 +1,24 @@
 package com.ecom.catalog.service;
 
+import com.ecom.common.dto.CursorPage;
+import com.ecom.common.dto.KeysetCursor;
+import com.ecom.common.exception.BadRequestException;
 import com.ecom.common.exception.ResourceNotFoundException;
+import com.ecom.catalog.dto.ProductDetail;
+import com.ecom.catalog.dto.ProductSummary;
+import com.ecom.catalog.dto.VariantPrice;
 import com.ecom.catalog.entity.Product;
 import com.ecom.catalog.repository.ProductRepository;
+import com.ecom.catalog.repository.ProductVariantRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.Collection;
 import java.util.List;
 
 @Service
@@ -16,10 +27,22 @@ import java.util.List;
 public class ProductService {
 
     private final ProductRepository productRepository;
+    private final ProductVariantRepository variantRepository;
+    private final ProductCache productCache;
+    private final ProductCacheInvalidator productCacheInvalidator;
+    private final CategoryService categoryService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${catalog.listing.max-page-size:100}")
+    private int maxPageSize;
+
+    @Value("${catalog.variant-prices.max-ids:500}")
+    private int maxVariantIds;
 
     @Transactional
     public Product createProduct(Product product) {
         product = productRepository.save(product);
+        productCacheInvalidator.productChanged(product.getId(), product.getSlug());
         log.info("Product created: id={}, name={}", product.getId(), product.getName());
         return product;
     }
@@ -36,19 +59,74 @@ public class ProductService {
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with slug: " + slug));
     }
 
+    // ── Product detail (cached) ──
+
+    /**
+     * Served from the product cache; only a full miss opens a transaction.
+     */
+    public ProductDetail getProductDetail(String id) {
+        return productCache.getById(id, this::loadDetailById);
+    }
+
+    public ProductDetail getProductDetailBySlug(String slug) {
+        return productCache.getBySlug(slug, this::loadDetailBySlug, this::loadDetailById);
+    }
+
+    // ── Listings (keyset-paginated) ──
+
+    @Transactional(readOnly = true)
+    public CursorPage<ProductSummary> getProductsBySeller(String sellerId, String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int limit = clampPageSize(size);
+        return toPage(productRepository.findPageBySeller(sellerId, after.createdAt(), after.id(),
+                PageRequest.of(0, limit + 1)), limit);
+    }
+
     @Transactional(readOnly = true)
-    public List<Product> getProductsBySeller(String sellerId) {
-        return productRepository.findBySellerId(sellerId);
+    public CursorPage<ProductSummary> getProductsByCategory(String categoryId, String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int limit = clampPageSize(size);
+        return toPage(productRepository.findPageByCategory(categoryId, after.createdAt(), after.id(),
+                PageRequest.of(0, limit + 1)), limit);
     }
 
+    /**
+     * Products anywhere under the category. The subtree comes from the in-memory tree as one
+     * contiguous pre-order slice, so this is a single IN query instead of a recursive walk.
+     */
     @Transactional(readOnly = true)
-    public List<Product> getProductsByCategory(String categoryId) {
-        return productRepository.findByCategoryId(categoryId);
+    public CursorPage<ProductSummary> getProductsInCategoryTree(String categoryId, String cursor, int size) {
+        List<String> categoryIds = categoryService.getSubtreeIds(categoryId);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int limit = clampPageSize(size);
+        return toPage(productRepository.findPageByCategories(categoryIds, after.createdAt(), after.id(),
+                PageRequest.of(0, limit + 1)), limit);
     }
 
     @Transactional(readOnly = true)
-    public List<Product> getActiveProducts() {
-        return productRepository.findByStatus(Product.ProductStatus.ACTIVE);
+    public CursorPage<ProductSummary> getActiveProducts(String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int limit = clampPageSize(size);
+        return toPage(productRepository.findPageByStatus(Product.ProductStatus.ACTIVE, after.createdAt(), after.id(),
+                PageRequest.of(0, limit + 1)), limit);
+    }
+
+    // ── Variant prices (batched) ──
+
+    /**
+     * Current price, availability and stock of many variants in a single query. Unknown ids are
+     * simply absent from the result.
+     */
+    @Transactional(readOnly = true)
+    public List<VariantPrice> getVariantPrices(Collection<String> variantIds) {
+        List<String> ids = variantIds.stream().distinct().toList();
+        if (ids.size() > maxVariantIds) {
+            throw new BadRequestException("At most " + maxVariantIds + " variant ids per lookup");
+        }
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return variantRepository.findPrices(ids, Product.ProductStatus.ACTIVE);
     }
 
     @Transactional
@@ -59,15 +137,34 @@ public class ProductService {
         existing.setBasePrice(updated.getBasePrice());
         existing.setStatus(updated.getStatus());
         existing.setWeightGrams(updated.getWeightGrams());
-        return productRepository.save(existing);
+        existing = productRepository.save(existing);
+        productCacheInvalidator.productChanged(existing.getId(), existing.getSlug());
+        return existing;
     }
 
     @Transactional
     public void deleteProduct(String id) {
-        if (!productRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Product", id);
-        }
-        productRepository.deleteById(id);
+        Product product = getProductById(id);
+        productRepository.delete(product);
+        productCacheInvalidator.productChanged(id, product.getSlug());
         log.info("Product deleted: id={}", id);
     }
+
+    // ── Helpers ──
+
+    private ProductDetail loadDetailById(String id) {
+        return transactionTemplate.execute(status -> ProductDetail.from(getProductById(id)));
+    }
+
+    private ProductDetail loadDetailBySlug(String slug) {
+        return transactionTemplate.execute(status -> ProductDetail.from(getProductBySlug(slug)));
+    }
+
+    private int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, maxPageSize));
+    }
+
+    private CursorPage<ProductSummary> toPage(List<ProductSummary> fetched, int size) {
+        return CursorPage.of(fetched, size, p -> new KeysetCursor(p.getCreatedAt(), p.getId()).encode());
+    }
 }
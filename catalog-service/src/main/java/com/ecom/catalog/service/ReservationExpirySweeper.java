@@ -0,0 +1,76 @@
+package com.ecom.catalog.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Releases stock held by abandoned checkouts once their hold expires.
+ * Each run drains at most maxBatches × batchSize holds so a backlog never
+ * turns into one long transaction.
+ */
+@Component
+@Slf4j
+public class ReservationExpirySweeper {
+
+    private final InventoryService inventoryService;
+    private final Counter expiredCounter;
+    private final Timer sweepTimer;
+    private final AtomicLong lagSeconds = new AtomicLong();
+
+    @Value("${inventory.reservation.sweep-batch-size:200}")
+    private int batchSize;
+
+    @Value("${inventory.reservation.sweep-max-batches:10}")
+    private int maxBatches;
+
+    public ReservationExpirySweeper(InventoryService inventoryService, MeterRegistry meterRegistry) {
+        this.inventoryService = inventoryService;
+        this.expiredCounter = Counter.builder("inventory.reservations.expired")
+                .description("Holds released by the expiry sweeper")
+                .register(meterRegistry);
+        this.sweepTimer = Timer.builder("inventory.reservations.sweep")
+                .description("Duration of one expiry sweep")
+                .register(meterRegistry);
+        Gauge.builder("inventory.reservations.sweep.lag", lagSeconds, AtomicLong::get)
+                .description("Seconds between the oldest expired hold and its release")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.reservation.sweep-interval-ms:30000}")
+    public void sweep() {
+        sweepTimer.record(() -> {
+            long lag = 0;
+            for (int batch = 0; batch < maxBatches; batch++) {
+                InventoryService.HoldSweepResult result;
+                try {
+                    result = inventoryService.expireHolds(batchSize);
+                } catch (Exception e) {
+                    log.error("Reservation expiry sweep failed", e);
+                    break;
+                }
+                if (result.oldestExpiry() == null) {
+                    break;
+                }
+                if (batch == 0) {
+                    lag = Math.max(0, Duration.between(result.oldestExpiry(), LocalDateTime.now()).toSeconds());
+                }
+                expiredCounter.increment(result.released());
+                if (result.scanned() < batchSize) {
+                    break;
+                }
+            }
+            lagSeconds.set(lag);
+        });
+    }
+}
@@ -0,0 +1,117 @@
+package com.ecom.catalog.service;
+
+import com.ecom.catalog.dto.RatingAggregate;
+import com.ecom.catalog.repository.ProductRepository;
+import com.ecom.catalog.repository.ReviewRepository;
+import com.ecom.catalog.repository.SellerRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Recomputes every rating aggregate from the reviews table, to repair drift or backfill.
+ *
+ * Products are walked in id order, one short transaction per batch. Each batch locks its
+ * product rows before reading reviews, so a concurrent approval either lands before the
+ * read or waits and applies its delta on top of the rebuilt value. Sellers are then rolled
+ * up from the product aggregates the same way.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReviewAggregateRebuilder {
+
+    private final ProductRepository productRepository;
+    private final ReviewRepository reviewRepository;
+    private final SellerRepository sellerRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Value("${catalog.reviews.rebuild-batch-size:500}")
+    private int batchSize;
+
+    public record RebuildResult(int products, int sellers) {
+    }
+
+    @Scheduled(cron = "${catalog.reviews.rebuild-cron:-}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    /**
+     * @return null if a rebuild is already running on this instance
+     */
+    public RebuildResult rebuild() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Review aggregate rebuild already running");
+            return null;
+        }
+        try {
+            long started = System.currentTimeMillis();
+            int products = rebuildProducts();
+            int sellers = rebuildSellers();
+            log.info("Review aggregates rebuilt: products={}, sellers={}, tookMs={}",
+                    products, sellers, System.currentTimeMillis() - started);
+            return new RebuildResult(products, sellers);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    // ── Helpers ──
+
+    private int rebuildProducts() {
+        int total = 0;
+        String afterId = "";
+        while (true) {
+            String from = afterId;
+            List<String> batch = transactionTemplate.execute(status -> {
+                List<String> ids = productRepository.lockIdBatch(from, batchSize);
+                if (ids.isEmpty()) {
+                    return ids;
+                }
+                Map<String, RatingAggregate> aggregates = new HashMap<>();
+                reviewRepository.aggregateApproved(ids).forEach(a -> aggregates.put(a.getProductId(), a));
+                for (String id : ids) {
+                    RatingAggregate aggregate = aggregates.get(id);
+                    productRepository.setRating(id,
+                            aggregate == null ? 0 : aggregate.getRatingSum(),
+                            aggregate == null ? 0 : aggregate.getReviewCount());
+                }
+                return ids;
+            });
+            if (batch == null || batch.isEmpty()) {
+                return total;
+            }
+            total += batch.size();
+            afterId = batch.get(batch.size() - 1);
+        }
+    }
+
+    private int rebuildSellers() {
+        int total = 0;
+        String afterId = "";
+        while (true) {
+            List<String> batch = sellerRepository.findIdBatch(afterId, batchSize);
+            if (batch.isEmpty()) {
+                return total;
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                // Product rows first — the lock order moderation uses
+                productRepository.lockIdsBySellers(batch);
+                sellerRepository.rebuildRatings(batch);
+            });
+            total += batch.size();
+            afterId = batch.get(batch.size() - 1);
+        }
+    }
+}
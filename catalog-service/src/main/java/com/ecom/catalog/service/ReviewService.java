@@ -0,0 +1,125 @@
+package com.ecom.catalog.service;
+
+import com.ecom.common.dto.CursorPage;
+import com.ecom.common.dto.KeysetCursor;
+import com.ecom.common.exception.BadRequestException;
+import com.ecom.common.exception.ConflictException;
+import com.ecom.common.exception.DuplicateResourceException;
+import com.ecom.common.exception.ResourceNotFoundException;
+import com.ecom.catalog.dto.RatingSummary;
+import com.ecom.catalog.dto.ReviewRequest;
+import com.ecom.catalog.dto.ReviewResponse;
+import com.ecom.catalog.entity.Product;
+import com.ecom.catalog.entity.Review;
+import com.ecom.catalog.entity.Review.ReviewStatus;
+import com.ecom.catalog.repository.ProductRepository;
+import com.ecom.catalog.repository.ReviewRepository;
+import com.ecom.catalog.repository.SellerRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Reviews and their rating aggregates.
+ *
+ * Only moderation moves the aggregates: approving adds the rating to the product's and the
+ * seller's running sum/count in one atomic UPDATE each (product row first, then seller — the
+ * same order the rebuild job locks in). Reads never aggregate over reviews.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReviewService {
+
+    private final ReviewRepository reviewRepository;
+    private final ProductRepository productRepository;
+    private final SellerRepository sellerRepository;
+    private final ProductCacheInvalidator productCacheInvalidator;
+
+    @Value("${catalog.listing.max-page-size:100}")
+    private int maxPageSize;
+
+    @Transactional
+    public ReviewResponse createReview(ReviewRequest request) {
+        if (reviewRepository.existsByUserIdAndProductId(request.getUserId(), request.getProductId())) {
+            throw new DuplicateResourceException("User has already reviewed this product");
+        }
+        Product product = productRepository.findById(request.getProductId())
+                .orElseThrow(() -> new ResourceNotFoundException("Product", request.getProductId()));
+
+        Review review = reviewRepository.save(Review.builder()
+                .userId(request.getUserId())
+                .product(product)
+                .rating(request.getRating())
+                .title(request.getTitle())
+                .body(request.getBody())
+                .build());
+        log.info("Review submitted: id={}, productId={}", review.getId(), product.getId());
+        return toResponse(review, review.getStatus());
+    }
+
+    /**
+     * Approve or reject a pending review. A review is moderated exactly once; the loser of a
+     * concurrent moderation gets a conflict and applies nothing.
+     */
+    @Transactional
+    public ReviewResponse moderate(String reviewId, ReviewStatus decision) {
+        if (decision == ReviewStatus.PENDING) {
+            throw new BadRequestException("Moderation decision must be APPROVED or REJECTED");
+        }
+        Review review = reviewRepository.findById(reviewId)
+                .orElseThrow(() -> new ResourceNotFoundException("Review", reviewId));
+        if (reviewRepository.transition(reviewId, ReviewStatus.PENDING, decision) == 0) {
+            throw new ConflictException("Review already moderated: " + reviewId);
+        }
+
+        if (decision == ReviewStatus.APPROVED) {
+            String productId = review.getProduct().getId();
+            productRepository.addRating(productId, review.getRating(), 1);
+            productRepository.findSellerId(productId)
+                    .ifPresent(sellerId -> sellerRepository.addRating(sellerId, review.getRating(), 1));
+            productCacheInvalidator.productChanged(productId, null);
+        }
+        log.info("Review moderated: id={}, decision={}", reviewId, decision);
+        return toResponse(review, decision);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<ReviewResponse> getApprovedReviews(String productId, String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int limit = Math.max(1, Math.min(size, maxPageSize));
+        return CursorPage.of(
+                reviewRepository.findApprovedPage(productId, after.createdAt(), after.id(), PageRequest.of(0, limit + 1))
+                        .stream().map(r -> toResponse(r, r.getStatus())).toList(),
+                limit, r -> new KeysetCursor(r.getCreatedAt(), r.getId()).encode());
+    }
+
+    /**
+     * Reads the stored aggregate — O(1) however many reviews the product has.
+     */
+    @Transactional(readOnly = true)
+    public RatingSummary getRatingSummary(String productId) {
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new ResourceNotFoundException("Product", productId));
+        return new RatingSummary(productId, product.getAvgRating(), product.getReviewCount());
+    }
+
+    // ── Helpers ──
+
+    private ReviewResponse toResponse(Review review, ReviewStatus status) {
+        return ReviewResponse.builder()
+                .id(review.getId())
+                .userId(review.getUserId())
+                .productId(review.getProduct().getId())
+                .rating(review.getRating())
+                .title(review.getTitle())
+                .body(review.getBody())
+                .isVerified(review.getIsVerified())
+                .status(status)
+                .createdAt(review.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,16 @@
+-- V2__create_stock_reservations.sql
+-- Reservation holds: every reserve creates HELD rows that are confirmed, released or expired
+
+CREATE TABLE IF NOT EXISTS stock_reservations (
+    id              CHAR(36) PRIMARY KEY,
+    reservation_id  CHAR(36) NOT NULL,
+    variant_id      CHAR(36) NOT NULL,
+    seller_id       CHAR(36) NOT NULL,
+    quantity        INT NOT NULL,
+    status          ENUM('HELD','CONFIRMED','RELEASED','EXPIRED') NOT NULL DEFAULT 'HELD',
+    expires_at      DATETIME NOT NULL,
+    created_at      DATETIME DEFAULT CURRENT_TIMESTAMP,
+    updated_at      DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    INDEX idx_sr_reservation (reservation_id),
+    INDEX idx_sr_expiry (status, expires_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
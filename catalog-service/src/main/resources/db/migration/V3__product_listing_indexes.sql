@@ -0,0 +1,11 @@
+-- V3__product_listing_indexes.sql
+-- Keyset pagination: listings seek on (filter, created_at, id) instead of sorting the whole filter match.
+-- The composite indexes also cover the seller/category foreign keys, so the single-column ones go.
+
+ALTER TABLE products
+    ADD INDEX idx_prod_status_created (status, created_at, id),
+    ADD INDEX idx_prod_seller_created (seller_id, created_at, id),
+    ADD INDEX idx_prod_category_created (category_id, created_at, id),
+    DROP INDEX idx_prod_status,
+    DROP INDEX idx_prod_seller,
+    DROP INDEX idx_prod_category;
@@ -0,0 +1,5 @@
+-- V4__category_updated_at.sql
+-- Lets catalog instances detect category changes (COUNT + MAX(updated_at)) and rebuild the in-memory tree
+
+ALTER TABLE categories
+    ADD COLUMN updated_at DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP AFTER created_at;
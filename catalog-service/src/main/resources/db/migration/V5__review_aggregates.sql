@@ -0,0 +1,24 @@
+-- V5__review_aggregates.sql
+-- Running rating sum/count so approvals update avg_rating incrementally instead of AVG() over reviews
+
+ALTER TABLE products
+    ADD COLUMN rating_sum BIGINT NOT NULL DEFAULT 0 AFTER avg_rating;
+
+ALTER TABLE sellers
+    ADD COLUMN rating_sum   BIGINT NOT NULL DEFAULT 0 AFTER avg_rating,
+    ADD COLUMN review_count INT NOT NULL DEFAULT 0 AFTER rating_sum;
+
+-- Rebuild job: per-product SUM/COUNT of approved reviews straight from the index
+ALTER TABLE reviews
+    ADD INDEX idx_rev_status_product (status, product_id, rating);
+
+-- Seed the running totals from the reviews already approved
+UPDATE products p
+    JOIN (SELECT product_id, SUM(rating) AS s, COUNT(*) AS c
+          FROM reviews WHERE status = 'APPROVED' GROUP BY product_id) r ON r.product_id = p.id
+SET p.rating_sum = r.s, p.review_count = r.c, p.avg_rating = r.s / r.c;
+
+UPDATE sellers s
+    JOIN (SELECT seller_id, SUM(rating_sum) AS s, SUM(review_count) AS c
+          FROM products GROUP BY seller_id) p ON p.seller_id = s.id
+SET s.rating_sum = p.s, s.review_count = p.c, s.avg_rating = IF(p.c = 0, 0, p.s / p.c);
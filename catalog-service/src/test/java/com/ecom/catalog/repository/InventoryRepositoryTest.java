@@ -0,0 +1,196 @@
+package com.ecom.catalog.repository;
+
+import com.ecom.catalog.entity.Category;
+import com.ecom.catalog.entity.Inventory;
+import com.ecom.catalog.entity.Product;
+import com.ecom.catalog.entity.ProductVariant;
+import com.ecom.catalog.entity.Seller;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The guarded stock UPDATEs, against an in-memory database in MySQL mode.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:catalog;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.flyway.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class InventoryRepositoryTest {
+
+    private static final String SELLER = "seller-1";
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private String variantId;
+
+    @Test
+    void reservesWhenEnoughStockIsFree() {
+        stock(10, 3);
+
+        assertThat(inventoryRepository.tryReserve(variantId, SELLER, 7)).isEqualTo(1);
+
+        Inventory inventory = reload();
+        assertThat(inventory.getReserved()).isEqualTo(10);
+        assertThat(inventory.getAvailableStock()).isZero();
+        assertThat(inventory.getVersion()).isEqualTo(1);
+    }
+
+    @Test
+    void refusesAShortfallAndLeavesTheRowAlone() {
+        stock(10, 3);
+
+        assertThat(inventoryRepository.tryReserve(variantId, SELLER, 8)).isZero();
+
+        Inventory inventory = reload();
+        assertThat(inventory.getReserved()).isEqualTo(3);
+        assertThat(inventory.getVersion()).isZero();
+    }
+
+    @Test
+    void refusesAnUnknownSeller() {
+        stock(10, 0);
+
+        assertThat(inventoryRepository.tryReserve(variantId, "someone-else", 1)).isZero();
+    }
+
+    @Test
+    void releaseNeverGoesBelowZero() {
+        stock(10, 2);
+
+        inventoryRepository.release(variantId, SELLER, 5);
+
+        assertThat(reload().getReserved()).isZero();
+    }
+
+    @Test
+    void confirmTakesReservedStockOffTheShelf() {
+        stock(10, 4);
+
+        inventoryRepository.confirm(variantId, SELLER, 4);
+
+        Inventory inventory = reload();
+        assertThat(inventory.getQuantity()).isEqualTo(6);
+        assertThat(inventory.getReserved()).isZero();
+    }
+
+    /**
+     * Buyers race for the last units in their own transactions: the guard is evaluated under the
+     * row lock, so exactly the free stock is reserved.
+     */
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void concurrentReservationsNeverOversell() throws Exception {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> stock(50, 0));
+
+        int buyers = 16;
+        int attemptsEach = 10;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(buyers);
+        List<Future<Integer>> runs = new ArrayList<>();
+        try {
+            for (int b = 0; b < buyers; b++) {
+                runs.add(pool.submit(() -> {
+                    start.await();
+                    int reserved = 0;
+                    for (int i = 0; i < attemptsEach; i++) {
+                        Integer updated = tx.execute(status -> inventoryRepository.tryReserve(variantId, SELLER, 1));
+                        reserved += updated != null ? updated : 0;
+                    }
+                    return reserved;
+                }));
+            }
+            start.countDown();
+            int reserved = 0;
+            for (Future<Integer> run : runs) {
+                reserved += run.get();
+            }
+
+            assertThat(reserved).isEqualTo(50);
+            Integer stored = tx.execute(status -> reload().getReserved());
+            assertThat(stored).isEqualTo(50);
+        } finally {
+            pool.shutdown();
+            tx.executeWithoutResult(status -> {
+                entityManager.getEntityManager().createQuery("DELETE FROM Inventory").executeUpdate();
+                entityManager.getEntityManager().createQuery("DELETE FROM ProductVariant").executeUpdate();
+                entityManager.getEntityManager().createQuery("DELETE FROM Product").executeUpdate();
+                entityManager.getEntityManager().createQuery("DELETE FROM Category").executeUpdate();
+                entityManager.getEntityManager().createQuery("DELETE FROM Seller").executeUpdate();
+            });
+        }
+    }
+
+    // ── Helpers ──
+
+    private void stock(int quantity, int reserved) {
+        String suffix = UUID.randomUUID().toString();
+        Seller seller = entityManager.persist(Seller.builder()
+                .userId(suffix)
+                .storeName("Store")
+                .storeSlug("store-" + suffix)
+                .build());
+        Category category = entityManager.persist(Category.builder()
+                .name("Mugs")
+                .slug("mugs-" + suffix)
+                .build());
+        Product product = entityManager.persist(Product.builder()
+                .seller(seller)
+                .category(category)
+                .name("Mug")
+                .slug("mug-" + suffix)
+                .basePrice(new BigDecimal("9.99"))
+                .build());
+        ProductVariant variant = entityManager.persist(ProductVariant.builder()
+                .product(product)
+                .sku("MUG-" + suffix)
+                .name("Blue")
+                .price(new BigDecimal("9.99"))
+                .build());
+        entityManager.persist(Inventory.builder()
+                .variant(variant)
+                .sellerId(SELLER)
+                .quantity(quantity)
+                .reserved(reserved)
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+        variantId = variant.getId();
+    }
+
+    private Inventory reload() {
+        entityManager.clear();
+        return inventoryRepository.findByVariantIdAndSellerId(variantId, SELLER).orElseThrow();
+    }
+}
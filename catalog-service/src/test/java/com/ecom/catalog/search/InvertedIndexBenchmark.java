@@ -0,0 +1,97 @@
+package com.ecom.catalog.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Search latency at catalog scale: p50 and p99 per query shape over a synthetic catalog whose words
+ * follow a Zipf-like curve, so common terms match a large share of it and rare ones a handful.
+ * Catalog sizes come from {@code -Dbenchmark.products} (comma-separated, default 100000,500000).
+ * Runs under the {@code benchmark} profile only.
+ */
+class InvertedIndexBenchmark {
+
+    private static final int[] SIZES = Arrays.stream(System.getProperty("benchmark.products", "100000,500000")
+            .split(",")).mapToInt(size -> Integer.parseInt(size.trim())).toArray();
+    private static final int VOCABULARY = 5_000;
+    private static final int WORDS_PER_NAME = 8;
+    private static final int CATEGORIES = 200;
+    private static final int QUERIES = 2_000;
+    private static final int PAGE = 20;
+    private static final SearchFilter NO_FILTER = new SearchFilter(null, null, null, null);
+
+    private record Shape(String name, List<String> terms, SearchFilter filter, int offset) {
+    }
+
+    @Test
+    void queryLatencyByCatalogSize() {
+        System.out.printf("%-10s %-24s %10s %10s %10s%n", "products", "query", "matches", "p50 us", "p99 us");
+        for (int size : SIZES) {
+            InvertedIndex index = new InvertedIndex();
+            long started = System.nanoTime();
+            Random random = new Random(size);
+            for (int n = 0; n < size; n++) {
+                String name = name(random);
+                index.add(new IndexedProduct("p-" + n, name, "p-" + n, BigDecimal.valueOf(1 + random.nextInt(5_000)),
+                        "INR", "c-" + random.nextInt(CATEGORIES), random.nextInt(50) / 10.0), Tokenizer.tokenize(name));
+            }
+            System.out.printf("%-10d built in %.1f s, %d terms, %d KiB of postings%n", size,
+                    (System.nanoTime() - started) / 1e9, index.termCount(), index.postingBytes() / 1024);
+
+            for (Shape shape : shapes()) {
+                report(index, size, shape);
+            }
+        }
+    }
+
+    // ── Helpers ──
+
+    private static List<Shape> shapes() {
+        SearchFilter filtered = new SearchFilter(100.0, 1_000.0, List.of("c-1", "c-2", "c-3"), 3.0);
+        return List.of(
+                new Shape("common term", List.of(word(0)), NO_FILTER, 0),
+                new Shape("rare term", List.of(word(2_000)), NO_FILTER, 0),
+                new Shape("three terms", List.of(word(3), word(40), word(400)), NO_FILTER, 0),
+                new Shape("three terms, filtered", List.of(word(3), word(40), word(400)), filtered, 0),
+                new Shape("browse, no terms", List.of(), NO_FILTER, 0),
+                new Shape("common term, deep page", List.of(word(0)), NO_FILTER, 10_000 - PAGE));
+    }
+
+    private static void report(InvertedIndex index, int size, Shape shape) {
+        long[] micros = new long[QUERIES];
+        int total = 0;
+        for (int q = -QUERIES / 4; q < QUERIES; q++) {
+            long started = System.nanoTime();
+            InvertedIndex.Result result = index.search(shape.terms(), shape.filter(), shape.offset(), PAGE);
+            long elapsed = (System.nanoTime() - started) / 1_000;
+            if (q >= 0) {
+                micros[q] = elapsed;
+                total = result.total();
+            }
+        }
+        Arrays.sort(micros);
+        assertThat(micros[0]).isNotNegative();
+        System.out.printf("%-10d %-24s %10d %10d %10d%n", size, shape.name(), total,
+                micros[QUERIES / 2], micros[QUERIES * 99 / 100]);
+    }
+
+    /** Words drawn with probability falling off as 1/rank, so word(0) is the most common. */
+    private static String name(Random random) {
+        List<String> words = new ArrayList<>(WORDS_PER_NAME);
+        for (int w = 0; w < WORDS_PER_NAME; w++) {
+            words.add(word((int) Math.min(VOCABULARY - 1, Math.pow(VOCABULARY, random.nextDouble()) - 1)));
+        }
+        return String.join(" ", words);
+    }
+
+    private static String word(int rank) {
+        return "w" + Integer.toString(rank, 36) + "x";
+    }
+}
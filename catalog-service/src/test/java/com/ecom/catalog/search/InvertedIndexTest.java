@@ -0,0 +1,185 @@
+package com.ecom.catalog.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvertedIndexTest {
+
+    private static final SearchFilter NO_FILTER = new SearchFilter(null, null, null, null);
+
+    private final InvertedIndex index = new InvertedIndex();
+
+    @Test
+    void moreOccurrencesRankHigher() {
+        add("once", "Blue mug with lid and handle", "c1", 300, 4.0);
+        add("thrice", "Blue mug, blue glaze, blue rim", "c1", 300, 4.0);
+
+        assertThat(ids(index.search(terms("blue"), NO_FILTER, 0, 10))).containsExactly("thrice", "once");
+    }
+
+    @Test
+    void shorterTextRanksHigherForTheSameMatch() {
+        add("long", "Mug ceramic stoneware handmade glazed kiln fired dishwasher safe", "c1", 300, 4.0);
+        add("short", "Mug ceramic", "c1", 300, 4.0);
+
+        assertThat(ids(index.search(terms("mug"), NO_FILTER, 0, 10))).containsExactly("short", "long");
+    }
+
+    @Test
+    void rareTermsOutweighCommonOnes() {
+        add("common", "Cotton shirt", "c1", 300, 4.0);
+        add("rare", "Linen shirt", "c1", 300, 4.0);
+        add("other1", "Cotton socks", "c1", 300, 4.0);
+        add("other2", "Cotton towel", "c1", 300, 4.0);
+
+        assertThat(ids(index.search(terms("cotton linen"), NO_FILTER, 0, 10))).first().isEqualTo("rare");
+    }
+
+    @Test
+    void anyQueryTermMatches() {
+        add("mug", "Blue mug", "c1", 300, 4.0);
+        add("plate", "Red plate", "c1", 300, 4.0);
+        add("bowl", "Green bowl", "c1", 300, 4.0);
+
+        InvertedIndex.Result result = index.search(terms("mug plate"), NO_FILTER, 0, 10);
+
+        assertThat(result.total()).isEqualTo(2);
+        assertThat(ids(result)).containsExactlyInAnyOrder("mug", "plate");
+    }
+
+    @Test
+    void withoutTermsNewestComeFirst() {
+        add("first", "Mug", "c1", 300, 4.0);
+        add("second", "Plate", "c1", 300, 4.0);
+        add("third", "Bowl", "c1", 300, 4.0);
+
+        assertThat(ids(index.search(List.of(), NO_FILTER, 0, 10))).containsExactly("third", "second", "first");
+    }
+
+    @Test
+    void pagesFollowTheRanking() {
+        add("a", "tea tea tea tea", "c1", 300, 4.0);
+        add("b", "tea tea tea", "c1", 300, 4.0);
+        add("c", "tea tea", "c1", 300, 4.0);
+        add("d", "tea", "c1", 300, 4.0);
+
+        InvertedIndex.Result page = index.search(terms("tea"), NO_FILTER, 1, 2);
+
+        assertThat(page.total()).isEqualTo(4);
+        assertThat(ids(page)).containsExactly("b", "c");
+    }
+
+    @Test
+    void pageFarPastTheMatchesIsEmptyWithoutSizingForIt() {
+        add("a", "tea", "c1", 300, 4.0);
+        add("b", "green tea", "c1", 300, 4.0);
+
+        // offset + limit would overflow an int; ranking must size by the two matches instead
+        InvertedIndex.Result ranked = index.search(terms("tea"), NO_FILTER, Integer.MAX_VALUE - 10, 100);
+        InvertedIndex.Result newest = index.search(List.of(), NO_FILTER, 1_000_000_000, 100);
+
+        assertThat(ranked.total()).isEqualTo(2);
+        assertThat(ranked.hits()).isEmpty();
+        assertThat(newest.hits()).isEmpty();
+        assertThat(ids(index.search(terms("tea"), NO_FILTER, 1, 100))).hasSize(1);
+    }
+
+    @Test
+    void reindexedProductMatchesOnlyItsNewText() {
+        add("p1", "Blue mug", "c1", 300, 4.0);
+        add("p1", "Red plate", "c1", 300, 4.0);
+
+        assertThat(index.search(terms("mug"), NO_FILTER, 0, 10).total()).isZero();
+        assertThat(ids(index.search(terms("plate"), NO_FILTER, 0, 10))).containsExactly("p1");
+        assertThat(index.liveCount()).isEqualTo(1);
+        assertThat(index.deletedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void removedProductsNeitherMatchNorCount() {
+        add("kept", "Blue mug", "c1", 300, 4.0);
+        add("gone", "Blue mug", "c2", 300, 4.0);
+
+        assertThat(index.remove("gone")).isTrue();
+        assertThat(index.remove("gone")).isFalse();
+
+        InvertedIndex.Result result = index.search(terms("mug"), NO_FILTER, 0, 10);
+        assertThat(ids(result)).containsExactly("kept");
+        assertThat(result.facets().get("category")).containsOnlyKeys("c1");
+    }
+
+    @Test
+    void filtersNarrowTheCandidates() {
+        add("cheap", "Mug", "c1", 100, 3.0);
+        add("mid", "Mug", "c2", 800, 4.5);
+        add("dear", "Mug", "c1", 6_000, 4.8);
+
+        assertThat(ids(index.search(terms("mug"), new SearchFilter(500.0, 1_000.0, null, null), 0, 10)))
+                .containsExactly("mid");
+        assertThat(ids(index.search(terms("mug"), new SearchFilter(null, null, List.of("c1"), null), 0, 10)))
+                .containsExactlyInAnyOrder("cheap", "dear");
+        assertThat(ids(index.search(terms("mug"), new SearchFilter(null, null, null, 4.0), 0, 10)))
+                .containsExactlyInAnyOrder("mid", "dear");
+        assertThat(index.search(terms("mug"), new SearchFilter(null, null, List.of("unknown"), null), 0, 10).total())
+                .isZero();
+    }
+
+    @Test
+    void facetsCountEveryMatchNotJustThePage() {
+        add("p1", "Mug", "c1", 100, 4.2);
+        add("p2", "Mug", "c1", 500, 3.1);
+        add("p3", "Mug", "c2", 999.99, 2.0);
+        add("p4", "Mug", "c2", 25_000, 0.0);
+        add("p5", "Plate", "c3", 100, 5.0);
+
+        InvertedIndex.Result result = index.search(terms("mug"), NO_FILTER, 0, 1);
+        Map<String, Map<String, Integer>> facets = result.facets();
+
+        assertThat(result.hits()).hasSize(1);
+        assertThat(facets.get("category")).containsExactly(Map.entry("c1", 2), Map.entry("c2", 2));
+        // Buckets include their lower bound: 500 counts as 500-1000
+        assertThat(facets.get("price")).containsExactly(
+                Map.entry("0-500", 1),
+                Map.entry("500-1000", 2),
+                Map.entry("1000-5000", 0),
+                Map.entry("5000-20000", 0),
+                Map.entry("20000+", 1));
+        // Rating floors are cumulative
+        assertThat(facets.get("rating")).containsExactly(
+                Map.entry("4+", 1),
+                Map.entry("3+", 2),
+                Map.entry("2+", 3),
+                Map.entry("1+", 3));
+    }
+
+    @Test
+    void facetsFollowTheFilter() {
+        add("p1", "Mug", "c1", 100, 4.0);
+        add("p2", "Mug", "c2", 700, 4.0);
+
+        InvertedIndex.Result result = index.search(terms("mug"), new SearchFilter(null, 500.0, null, null), 0, 10);
+
+        assertThat(result.facets().get("category")).containsExactly(Map.entry("c1", 1));
+        assertThat(result.facets().get("price")).containsEntry("500-1000", 0);
+    }
+
+    // ── Helpers ──
+
+    private void add(String id, String text, String categoryId, double price, double rating) {
+        index.add(new IndexedProduct(id, text, id, BigDecimal.valueOf(price), "INR", categoryId, rating),
+                Tokenizer.tokenize(text));
+    }
+
+    private static List<String> terms(String query) {
+        return Tokenizer.tokenize(query);
+    }
+
+    private static List<String> ids(InvertedIndex.Result result) {
+        return result.hits().stream().map(hit -> hit.product().productId()).toList();
+    }
+}
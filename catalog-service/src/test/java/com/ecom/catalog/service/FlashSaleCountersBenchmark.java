@@ -0,0 +1,103 @@
+package com.ecom.catalog.service;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Flash-sale take throughput by shard count, 32 buyers taking one unit at a time from one SKU.
+ * Runs under the {@code benchmark} profile only.
+ *
+ * A single embedded redis-server executes every script on one thread, so this measures the cost
+ * of a take and of stealing, not the spread of shards over cluster nodes.
+ */
+class FlashSaleCountersBenchmark {
+
+    private static final int PORT = 16380;
+    private static final String SELLER = "seller-1";
+    private static final int BUYERS = 32;
+    private static final int[] SHARD_COUNTS = { 1, 8, 32 };
+    private static final Duration WARMUP = Duration.ofSeconds(2);
+    private static final Duration MEASURE = Duration.ofSeconds(5);
+
+    private static RedisServer redisServer;
+    private static LettuceConnectionFactory connectionFactory;
+    private static FlashSaleCounters counters;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        redisServer = new RedisServer(PORT);
+        redisServer.start();
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", PORT));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        counters = new FlashSaleCounters(new StringRedisTemplate(connectionFactory), 3);
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @Test
+    void takesPerSecondByShardCount() throws Exception {
+        takesPerSecond(SHARD_COUNTS[0], WARMUP);
+
+        System.out.printf("%-8s %12s%n", "shards", "takes/s");
+        for (int shards : SHARD_COUNTS) {
+            double rate = takesPerSecond(shards, MEASURE);
+            System.out.printf("%-8d %12.0f%n", shards, rate);
+            assertThat(rate).isPositive();
+        }
+    }
+
+    // ── Helpers ──
+
+    private static double takesPerSecond(int shards, Duration duration) throws Exception {
+        String variantId = UUID.randomUUID().toString();
+        // Enough stock that no buyer runs dry within the run
+        counters.open(variantId, SELLER, shards, Integer.MAX_VALUE);
+
+        AtomicLong takes = new AtomicLong();
+        ExecutorService pool = Executors.newFixedThreadPool(BUYERS);
+        long started = System.nanoTime();
+        long deadline = started + duration.toNanos();
+        try {
+            List<Future<?>> runs = new ArrayList<>();
+            for (int b = 0; b < BUYERS; b++) {
+                String buyer = "buyer-" + b;
+                runs.add(pool.submit(() -> {
+                    for (int n = 0; System.nanoTime() < deadline; n++) {
+                        if (counters.tryTake(variantId, SELLER, shards, buyer + "-" + n, 1).taken()) {
+                            takes.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> run : runs) {
+                run.get();
+            }
+        } finally {
+            pool.shutdown();
+            counters.close(variantId, SELLER);
+        }
+        return takes.get() / ((System.nanoTime() - started) / 1e9);
+    }
+}
@@ -0,0 +1,223 @@
+package com.ecom.catalog.service;
+
+import io.lettuce.core.cluster.SlotHash;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the flash-sale scripts against a real redis-server.
+ */
+class FlashSaleCountersTest {
+
+    private static final int PORT = 16379;
+    private static final String SELLER = "seller-1";
+    private static final int MAX_STEAL_SHARDS = 3;
+
+    private static RedisServer redisServer;
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+    private static FlashSaleCounters counters;
+
+    private String variantId;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        redisServer = new RedisServer(PORT);
+        redisServer.start();
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", PORT));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        counters = new FlashSaleCounters(redisTemplate, MAX_STEAL_SHARDS);
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void newSku() {
+        variantId = UUID.randomUUID().toString();
+    }
+
+    @Test
+    void openSplitsStockEvenly() {
+        assertThat(counters.open(variantId, SELLER, 4, 10)).isPresent();
+
+        assertThat(counters.activeShards(variantId, SELLER)).isEqualTo(4);
+        assertThat(counters.remaining(variantId, SELLER)).isEqualTo(10);
+    }
+
+    @Test
+    void secondOpenLeavesRunningSaleAlone() {
+        counters.open(variantId, SELLER, 4, 10);
+        counters.tryTake(variantId, SELLER, 4, "buyer", 3);
+
+        assertThat(counters.open(variantId, SELLER, 8, 100)).isEmpty();
+        assertThat(counters.activeShards(variantId, SELLER)).isEqualTo(4);
+        assertThat(counters.remaining(variantId, SELLER)).isEqualTo(7);
+    }
+
+    @Test
+    void closingAnEarlierSaleByIdLeavesTheCurrentOneAlone() {
+        String first = counters.open(variantId, SELLER, 2, 10).orElseThrow();
+        assertThat(counters.close(variantId, SELLER)).hasValue(10);
+        counters.open(variantId, SELLER, 4, 20);
+
+        assertThat(counters.close(variantId, SELLER, first, 2)).isEmpty();
+        assertThat(counters.remaining(variantId, SELLER)).isEqualTo(20);
+    }
+
+    @Test
+    void takeStealsAcrossShardsWhenNoSingleShardCoversIt() {
+        counters.open(variantId, SELLER, 4, 8);
+
+        FlashSaleCounters.Take take = counters.tryTake(variantId, SELLER, 4, "buyer", 7);
+
+        assertThat(take.taken()).isTrue();
+        assertThat(counters.remaining(variantId, SELLER)).isEqualTo(1);
+    }
+
+    @Test
+    void stealingStopsAfterTheBoundedNeighbours() {
+        counters.open(variantId, SELLER, 8, 8);
+
+        // One unit per shard: the caller's shard plus three neighbours cover four, not five
+        FlashSaleCounters.Take tooMuch = counters.tryTake(variantId, SELLER, 8, "buyer", 5);
+        FlashSaleCounters.Take enough = counters.tryTake(variantId, SELLER, 8, "buyer", 4);
+
+        assertThat(tooMuch).isEqualTo(new FlashSaleCounters.Take(false, 0));
+        assertThat(enough.taken()).isTrue();
+        assertThat(counters.remaining(variantId, SELLER)).isEqualTo(4);
+    }
+
+    @Test
+    void shardsSpreadOverClusterSlots() {
+        counters.open(variantId, SELLER, 8, 8);
+
+        Set<String> keys = redisTemplate.keys("inventory:flash:" + variantId + ":*");
+        Set<Integer> slots = keys.stream().map(SlotHash::getSlot).collect(Collectors.toSet());
+
+        assertThat(keys).hasSize(8);
+        assertThat(slots).hasSizeGreaterThan(1);
+    }
+
+    @Test
+    void closeRemovesEveryKey() {
+        String saleId = counters.open(variantId, SELLER, 4, 8).orElseThrow();
+        counters.close(variantId, SELLER, saleId, 4);
+
+        assertThat(counters.activeShards(variantId, SELLER)).isZero();
+        assertThat(counters.remaining(variantId, SELLER)).isZero();
+        assertThat(redisTemplate.keys("inventory:flash:*" + variantId + "*")).isEmpty();
+    }
+
+    @Test
+    void refusedTakeReturnsWhatItGathered() {
+        counters.open(variantId, SELLER, 4, 8);
+
+        FlashSaleCounters.Take take = counters.tryTake(variantId, SELLER, 4, "buyer", 9);
+
+        assertThat(take.taken()).isFalse();
+        assertThat(take.stranded()).isZero();
+        assertThat(counters.remaining(variantId, SELLER)).isEqualTo(8);
+    }
+
+    @Test
+    void takeAfterCloseStrandsNothingAndFails() {
+        counters.open(variantId, SELLER, 2, 4);
+        counters.close(variantId, SELLER);
+
+        assertThat(counters.tryTake(variantId, SELLER, 2, "buyer", 1)).isEqualTo(new FlashSaleCounters.Take(false, 0));
+    }
+
+    /**
+     * Load check: many buyers take random quantities concurrently until the stock runs out. Whatever
+     * the shard count, exactly the opening stock is sold — never more, and none is lost to shards
+     * that refused a take.
+     */
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 8, 32 })
+    void concurrentBuyersNeverOversell(int shards) throws Exception {
+        int stock = 5_000;
+        int buyers = 32;
+        counters.open(variantId, SELLER, shards, stock);
+
+        AtomicInteger sold = new AtomicInteger();
+        AtomicInteger stranded = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(buyers);
+        try {
+            List<Future<?>> runs = new ArrayList<>();
+            for (int b = 0; b < buyers; b++) {
+                String buyer = "buyer-" + b;
+                runs.add(pool.submit(() -> {
+                    int refusedInARow = 0;
+                    for (int n = 0; refusedInARow < 5; n++) {
+                        int quantity = 1 + ThreadLocalRandom.current().nextInt(5);
+                        FlashSaleCounters.Take take = counters.tryTake(variantId, SELLER, shards, buyer + "-" + n, quantity);
+                        stranded.addAndGet(take.stranded());
+                        if (take.taken()) {
+                            sold.addAndGet(quantity);
+                            refusedInARow = 0;
+                        } else {
+                            refusedInARow++;
+                        }
+                    }
+                }));
+            }
+            for (Future<?> run : runs) {
+                run.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        // Steals are bounded, so sweep every shard in turn with single units
+        for (int shard = 0; shard < shards; shard++) {
+            String caller = callerFor(shard, shards);
+            while (counters.tryTake(variantId, SELLER, shards, caller, 1).taken()) {
+                sold.incrementAndGet();
+            }
+        }
+
+        assertThat(stranded.get()).isZero();
+        assertThat(counters.remaining(variantId, SELLER)).isZero();
+        assertThat(sold.get()).isEqualTo(stock);
+    }
+
+    // ── Helpers ──
+
+    /** A caller id whose take starts at the given shard. */
+    private static String callerFor(int shard, int shards) {
+        for (int n = 0; ; n++) {
+            String caller = "sweeper-" + n;
+            if (Math.floorMod(caller.hashCode(), shards) == shard) {
+                return caller;
+            }
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.ecom.catalog.service;
+
+import com.ecom.catalog.entity.Category;
+import com.ecom.catalog.entity.Inventory;
+import com.ecom.catalog.entity.Product;
+import com.ecom.catalog.entity.ProductVariant;
+import com.ecom.catalog.entity.Seller;
+import com.ecom.catalog.service.InventoryService.ReservationMode;
+import com.ecom.common.exception.ConflictException;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManager;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Reservations per second on one hot SKU for 1, 16 and 256 concurrent callers, through
+ * {@link InventoryService#reserveStock} in ATOMIC and LOCK mode, against an in-memory database in
+ * MySQL mode and an embedded redis-server. Runs under the {@code benchmark} profile only.
+ *
+ * LOCK refuses a caller that finds the SKU locked rather than making it wait, and a caller that
+ * took the lock before the previous holder committed fails its version check; both are reported
+ * as refusals next to the reservations.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:catalog-bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.flyway.enabled=false",
+        "logging.level.com.ecom.catalog=WARN"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ InventoryService.class, FlashSaleCounters.class, InventoryReservationBenchmark.Redis.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class InventoryReservationBenchmark {
+
+    private static final int PORT = 16382;
+    private static final String SELLER = "seller-1";
+    private static final int[] CALLERS = { 1, 16, 256 };
+    private static final Duration WARMUP = Duration.ofSeconds(2);
+    private static final Duration MEASURE = Duration.ofSeconds(5);
+
+    private static RedisServer redisServer;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockitoBean
+    private LowStockAlertPublisher lowStockAlerts;
+
+    @TestConfiguration
+    static class Redis {
+        @Bean
+        LettuceConnectionFactory redisConnectionFactory() {
+            return new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", PORT));
+        }
+
+        @Bean
+        StringRedisTemplate stringRedisTemplate(LettuceConnectionFactory connectionFactory) {
+            return new StringRedisTemplate(connectionFactory);
+        }
+    }
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        redisServer = new RedisServer(PORT);
+        redisServer.start();
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        redisServer.stop();
+    }
+
+    @Test
+    void reservationsPerSecondOnOneSku() throws Exception {
+        System.out.printf("%-8s %8s %14s %12s%n", "mode", "callers", "reserved/s", "refused/s");
+        InventoryService target = AopTestUtils.getTargetObject(inventoryService);
+        for (ReservationMode mode : ReservationMode.values()) {
+            ReflectionTestUtils.setField(target, "reservationMode", mode);
+            run(CALLERS[CALLERS.length - 1], WARMUP);
+            for (int callers : CALLERS) {
+                Rates rates = run(callers, MEASURE);
+                System.out.printf("%-8s %8d %14.0f %12.0f%n", mode, callers, rates.reserved(), rates.refused());
+                assertThat(rates.reserved()).isPositive();
+            }
+        }
+    }
+
+    // ── Helpers ──
+
+    private record Rates(double reserved, double refused) {
+    }
+
+    private Rates run(int callers, Duration duration) throws Exception {
+        // Far more stock than a run can reserve, so only contention refuses a caller
+        String variantId = stock(Integer.MAX_VALUE);
+        AtomicLong reserved = new AtomicLong();
+        AtomicLong refused = new AtomicLong();
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        long started = System.nanoTime();
+        long deadline = started + duration.toNanos();
+        try {
+            List<Future<?>> runs = new ArrayList<>();
+            for (int c = 0; c < callers; c++) {
+                String caller = "caller-" + c;
+                runs.add(pool.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        try {
+                            inventoryService.reserveStock(variantId, SELLER, 1, caller);
+                            reserved.incrementAndGet();
+                        } catch (ConflictException | OptimisticLockingFailureException e) {
+                            refused.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> run : runs) {
+                run.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        return new Rates(reserved.get() / seconds, refused.get() / seconds);
+    }
+
+    private String stock(int quantity) {
+        String suffix = UUID.randomUUID().toString();
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            Seller seller = Seller.builder().userId(suffix).storeName("Store").storeSlug("store-" + suffix).build();
+            Category category = Category.builder().name("Mugs").slug("mugs-" + suffix).build();
+            Product product = Product.builder()
+                    .seller(seller)
+                    .category(category)
+                    .name("Mug")
+                    .slug("mug-" + suffix)
+                    .basePrice(new BigDecimal("9.99"))
+                    .build();
+            ProductVariant variant = ProductVariant.builder()
+                    .product(product)
+                    .sku("MUG-" + suffix)
+                    .name("Blue")
+                    .price(new BigDecimal("9.99"))
+                    .build();
+            entityManager.persist(seller);
+            entityManager.persist(category);
+            entityManager.persist(product);
+            entityManager.persist(variant);
+            entityManager.persist(Inventory.builder()
+                    .variant(variant)
+                    .sellerId(SELLER)
+                    .quantity(quantity)
+                    .reserved(0)
+                    .build());
+            return variant.getId();
+        });
+    }
+}
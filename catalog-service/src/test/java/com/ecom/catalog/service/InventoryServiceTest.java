@@ -0,0 +1,152 @@
+package com.ecom.catalog.service;
+
+import com.ecom.catalog.dto.BatchStockResponse;
+import com.ecom.catalog.dto.StockLineRequest;
+import com.ecom.catalog.dto.StockLineResult;
+import com.ecom.catalog.entity.Category;
+import com.ecom.catalog.entity.Inventory;
+import com.ecom.catalog.entity.Product;
+import com.ecom.catalog.entity.ProductVariant;
+import com.ecom.catalog.entity.Seller;
+import com.ecom.catalog.repository.InventoryRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Whole-order reservation, against an in-memory database in MySQL mode.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:catalog-service;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.flyway.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(InventoryService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class InventoryServiceTest {
+
+    private static final String SELLER = "seller-1";
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockitoBean
+    private FlashSaleCounters flashSaleCounters;
+
+    @MockitoBean
+    private LowStockAlertPublisher lowStockAlerts;
+
+    @MockitoBean
+    private StringRedisTemplate redisTemplate;
+
+    @Test
+    void reservesEveryLineWhenAllHaveStock() {
+        List<String> variants = stock(5, 5, 5);
+
+        BatchStockResponse response = inventoryService.reserveBatch(lines(variants, 2), "caller-1");
+
+        assertThat(response.isSuccess()).isTrue();
+        assertThat(response.getLines()).allMatch(StockLineResult::isSuccess);
+        assertThat(variants).allSatisfy(variant -> assertThat(reserved(variant)).isEqualTo(2));
+    }
+
+    @Test
+    void stopsAtTheFirstShortLineAndLeavesTheRestUntouched() {
+        List<String> variants = stock(5, 1, 5);
+
+        BatchStockResponse response = inventoryService.reserveBatch(lines(variants, 2), "caller-1");
+
+        assertThat(response.isSuccess()).isFalse();
+        assertThat(response.getLines()).extracting(StockLineResult::getVariantId).containsExactlyElementsOf(variants);
+        assertThat(response.getLines()).extracting(StockLineResult::isSuccess).containsExactly(true, false, false);
+        assertThat(response.getLines()).extracting(StockLineResult::getMessage)
+                .containsExactly(null, "Insufficient stock", "Not attempted");
+        assertThat(response.getLines()).extracting(StockLineResult::getAvailableStock)
+                .containsExactly(null, 1, 5);
+        // The first line's reservation rolled back with the batch; the third was never tried
+        assertThat(variants).allSatisfy(variant -> assertThat(reserved(variant)).isZero());
+        assertThat(inventory(variants.get(2)).getVersion()).isZero();
+    }
+
+    // ── Helpers ──
+
+    /** One SKU per quantity, in the (variantId, sellerId) order a batch reserves them. */
+    private List<String> stock(int... quantities) {
+        String suffix = UUID.randomUUID().toString();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        List<String> variants = transaction.execute(status -> {
+            Seller seller = entityManager.persist(
+                    Seller.builder().userId(suffix).storeName("Store").storeSlug("store-" + suffix).build());
+            Category category = entityManager.persist(Category.builder().name("Mugs").slug("mugs-" + suffix).build());
+            Product product = entityManager.persist(Product.builder()
+                    .seller(seller)
+                    .category(category)
+                    .name("Mug")
+                    .slug("mug-" + suffix)
+                    .basePrice(new BigDecimal("9.99"))
+                    .build());
+            return IntStream.range(0, quantities.length)
+                    .mapToObj(n -> entityManager.persist(ProductVariant.builder()
+                            .product(product)
+                            .sku("MUG-" + n + "-" + suffix)
+                            .name("Blue")
+                            .price(new BigDecimal("9.99"))
+                            .build()).getId())
+                    .sorted()
+                    .toList();
+        });
+        transaction.executeWithoutResult(status -> {
+            for (int n = 0; n < variants.size(); n++) {
+                entityManager.persist(Inventory.builder()
+                        .variant(entityManager.find(ProductVariant.class, variants.get(n)))
+                        .sellerId(SELLER)
+                        .quantity(quantities[n])
+                        .reserved(0)
+                        .build());
+            }
+        });
+        return variants;
+    }
+
+    private static List<StockLineRequest> lines(List<String> variants, int quantity) {
+        return variants.stream().map(variant -> new StockLineRequest(variant, SELLER, quantity)).toList();
+    }
+
+    private Inventory inventory(String variantId) {
+        return inventoryRepository.findByVariantIdAndSellerId(variantId, SELLER).orElseThrow();
+    }
+
+    private int reserved(String variantId) {
+        return inventory(variantId).getReserved();
+    }
+}
@@ -0,0 +1,37 @@
+package com.ecom.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated listing. Pass {@code nextCursor} back to fetch the next page;
+ * it is null on the last page.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasMore;
+
+    /**
+     * Build a page from a query that fetched {@code size + 1} rows — the extra row only signals
+     * that another page exists and is dropped.
+     */
+    public static <T> CursorPage<T> of(List<T> fetched, int size, Function<T, String> cursorOf) {
+        boolean hasMore = fetched.size() > size;
+        List<T> items = hasMore ? List.copyOf(fetched.subList(0, size)) : fetched;
+        return CursorPage.<T>builder()
+                .items(items)
+                .hasMore(hasMore)
+                .nextCursor(hasMore ? cursorOf.apply(items.get(items.size() - 1)) : null)
+                .build();
+    }
+}
@@ -0,0 +1,45 @@
+package com.ecom.common.dto;
+
+import com.ecom.common.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque (createdAt, id) position for newest-first listings.
+ * Encoded as base64url so clients treat it as a token rather than something to build by hand.
+ */
+public record KeysetCursor(LocalDateTime createdAt, String id) {
+
+    /** Sorts before every real row in descending order — used for the first page. */
+    public static final KeysetCursor FIRST = new KeysetCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), "");
+
+    private static final char SEPARATOR = '|';
+
+    public String encode() {
+        String raw = createdAt + String.valueOf(SEPARATOR) + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return {@link #FIRST} for a null or blank cursor
+     * @throws BadRequestException if the cursor was not produced by {@link #encode()}
+     */
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf(SEPARATOR);
+            if (sep < 0) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            return new KeysetCursor(LocalDateTime.parse(raw.substring(0, sep)), raw.substring(sep + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
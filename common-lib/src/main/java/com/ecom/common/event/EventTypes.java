@@ -20,6 +20,9 @@ public final class EventTypes {
     public static final String REFUND_INITIATED = "REFUND_INITIATED";
     public static final String REFUND_COMPLETED = "REFUND_COMPLETED";
 
+    // Cart events
+    public static final String CART_ABANDONED = "CART_ABANDONED";
+
     // User events
     public static final String USER_REGISTERED = "USER_REGISTERED";
     public static final String USER_VERIFIED = "USER_VERIFIED";
@@ -0,0 +1,18 @@
+package com.ecom.common.id;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+
+/**
+ * Hands the configured {@code ids.node-id} to {@link SnowflakeId} at startup. Each running
+ * instance must get its own value (e.g. the pod ordinal), so there is no default: a service that
+ * issues Snowflake ids imports this class and does not start without the property.
+ */
+@Slf4j
+public class IdGeneratorConfigurer {
+
+    public IdGeneratorConfigurer(@Value("${ids.node-id}") int nodeId) {
+        SnowflakeId.setNodeId(nodeId);
+        log.info("Snowflake id generator node id: {}", nodeId);
+    }
+}
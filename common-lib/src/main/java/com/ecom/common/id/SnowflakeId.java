@@ -0,0 +1,133 @@
+package com.ecom.common.id;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Snowflake-style 63-bit ids: 41 bits of milliseconds since 2024-01-01, a 10-bit node id and a
+ * 12-bit per-millisecond sequence — up to 4096 ids per millisecond per node with no coordination.
+ *
+ * Ids from one node are strictly increasing; ids from different nodes cannot collide as long as
+ * every running instance has a distinct node id (see {@link IdGeneratorConfigurer}).
+ */
+public final class SnowflakeId {
+
+    public static final int MAX_NODE_ID = (1 << 10) - 1;
+
+    private static final long EPOCH_MILLIS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    private static final int SEQUENCE_BITS = 12;
+    private static final int NODE_BITS = 10;
+    private static final long MAX_SEQUENCE = (1L << SEQUENCE_BITS) - 1;
+    /** Clock steps back further than this fail fast rather than stall the caller. */
+    private static final long MAX_BACKWARD_MILLIS = 5_000;
+
+    /** Crockford base32: no I, L, O or U, so order numbers survive being read aloud or retyped. */
+    private static final String BASE32_ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ";
+    private static final char[] BASE32 = BASE32_ALPHABET.toCharArray();
+    private static final int BASE32_LENGTH = 13;
+    private static final String ORDER_PREFIX = "ORD-";
+
+    private static volatile int nodeId = -1;
+    private static long lastMillis = -1;
+    private static long sequence;
+
+    private SnowflakeId() {
+    }
+
+    static void setNodeId(int id) {
+        if (id < 0 || id > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID + ": " + id);
+        }
+        nodeId = id;
+    }
+
+    public static int nodeId() {
+        return nodeId;
+    }
+
+    /**
+     * @throws IllegalStateException if no node id was configured
+     */
+    public static long next() {
+        int node = nodeId;
+        if (node < 0) {
+            throw new IllegalStateException("SnowflakeId node id not set; import IdGeneratorConfigurer and set ids.node-id");
+        }
+        long millis;
+        long seq;
+        synchronized (SnowflakeId.class) {
+            long now = System.currentTimeMillis();
+            if (now < lastMillis) {
+                if (lastMillis - now > MAX_BACKWARD_MILLIS) {
+                    throw new IllegalStateException("Clock moved back " + (lastMillis - now) + "ms");
+                }
+                // Small step back (NTP slew): keep issuing from the last timestamp
+                now = lastMillis;
+            }
+            if (now == lastMillis) {
+                sequence = (sequence + 1) & MAX_SEQUENCE;
+                if (sequence == 0) {
+                    now = waitUntilAfter(lastMillis);
+                }
+            } else {
+                sequence = 0;
+            }
+            lastMillis = now;
+            millis = now;
+            seq = sequence;
+        }
+        return ((millis - EPOCH_MILLIS) << (NODE_BITS + SEQUENCE_BITS)) | ((long) node << SEQUENCE_BITS) | seq;
+    }
+
+    /**
+     * Human-readable order number, e.g. {@code ORD-0BZ4K8Q2M1A7F}. Fixed width, so order numbers
+     * sort in creation order as strings too.
+     */
+    public static String nextOrderNumber() {
+        return ORDER_PREFIX + toBase32(next());
+    }
+
+    public static Instant timestampOf(long id) {
+        return Instant.ofEpochMilli((id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS);
+    }
+
+    /**
+     * @return the creation time embedded in an order number from {@link #nextOrderNumber()}, or
+     *         empty if the number is not in that format
+     */
+    public static Optional<Instant> timestampOfOrderNumber(String orderNumber) {
+        if (orderNumber == null || orderNumber.length() != ORDER_PREFIX.length() + BASE32_LENGTH
+                || !orderNumber.startsWith(ORDER_PREFIX)) {
+            return Optional.empty();
+        }
+        long value = 0;
+        for (int i = ORDER_PREFIX.length(); i < orderNumber.length(); i++) {
+            int digit = BASE32_ALPHABET.indexOf(orderNumber.charAt(i));
+            if (digit < 0) {
+                return Optional.empty();
+            }
+            value = (value << 5) | digit;
+        }
+        return Optional.of(timestampOf(value));
+    }
+
+    // ── Helpers ──
+
+    private static long waitUntilAfter(long millis) {
+        long now = System.currentTimeMillis();
+        while (now <= millis) {
+            Thread.onSpinWait();
+            now = System.currentTimeMillis();
+        }
+        return now;
+    }
+
+    private static String toBase32(long value) {
+        char[] out = new char[BASE32_LENGTH];
+        for (int i = BASE32_LENGTH - 1; i >= 0; i--) {
+            out[i] = BASE32[(int) (value & 31)];
+            value >>>= 5;
+        }
+        return new String(out);
+    }
+}
@@ -0,0 +1,126 @@
+package com.ecom.common.idempotency;
+
+import com.ecom.common.id.UuidV7;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Redis record of idempotency keys: {@code idem:{scope}:{key}} holds either an in-flight marker
+ * owned by the request processing it, or the completed response as JSON.
+ *
+ * Redis errors never fail a request — they surface as {@link State#UNAVAILABLE} so the caller
+ * can fall back to the database's unique key.
+ */
+@Component
+@ConditionalOnClass(name = "org.springframework.data.redis.core.StringRedisTemplate")
+@Slf4j
+public class IdempotencyStore {
+
+    private static final String KEY_PREFIX = "idem:";
+    private static final String IN_FLIGHT = "P:";
+    private static final String COMPLETED = "C:";
+
+    /** Delete the in-flight marker only if it is still ours. */
+    private static final RedisScript<Long> RELEASE = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end return 0",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration inFlightTtl;
+    private final Duration completedTtl;
+
+    public enum State {
+        /** The caller owns the key and must {@link #complete} or {@link #release} it. */
+        ACQUIRED,
+        /** Another request holds the key and has not finished. */
+        IN_FLIGHT,
+        /** A previous request finished; {@link Claim#response()} holds its result. */
+        COMPLETED,
+        UNAVAILABLE
+    }
+
+    public record Claim(State state, String token, String response) {
+    }
+
+    public IdempotencyStore(StringRedisTemplate redisTemplate,
+            @Value("${idempotency.in-flight-ttl:30s}") Duration inFlightTtl,
+            @Value("${idempotency.completed-ttl:24h}") Duration completedTtl) {
+        this.redisTemplate = redisTemplate;
+        this.inFlightTtl = inFlightTtl;
+        this.completedTtl = completedTtl;
+    }
+
+    public Claim claim(String scope, String key) {
+        String redisKey = redisKey(scope, key);
+        String token = IN_FLIGHT + UuidV7.next();
+        try {
+            // Two rounds cover a marker that expires between the SET NX and the GET
+            for (int attempt = 0; attempt < 2; attempt++) {
+                if (Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(redisKey, token, inFlightTtl))) {
+                    return new Claim(State.ACQUIRED, token, null);
+                }
+                String value = redisTemplate.opsForValue().get(redisKey);
+                if (value != null) {
+                    return value.startsWith(COMPLETED)
+                            ? new Claim(State.COMPLETED, null, value.substring(COMPLETED.length()))
+                            : new Claim(State.IN_FLIGHT, null, null);
+                }
+            }
+            return new Claim(State.IN_FLIGHT, null, null);
+        } catch (DataAccessException e) {
+            log.warn("Idempotency store unavailable: scope={}, error={}", scope, e.getMessage());
+            return new Claim(State.UNAVAILABLE, null, null);
+        }
+    }
+
+    /**
+     * @return the completed response, if the key has one
+     */
+    public Optional<String> findCompleted(String scope, String key) {
+        try {
+            String value = redisTemplate.opsForValue().get(redisKey(scope, key));
+            return value != null && value.startsWith(COMPLETED)
+                    ? Optional.of(value.substring(COMPLETED.length()))
+                    : Optional.empty();
+        } catch (DataAccessException e) {
+            log.warn("Idempotency store unavailable: scope={}, error={}", scope, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public void complete(String scope, String key, String responseJson) {
+        try {
+            redisTemplate.opsForValue().set(redisKey(scope, key), COMPLETED + responseJson, completedTtl);
+        } catch (DataAccessException e) {
+            log.warn("Failed to record idempotent response: scope={}, error={}", scope, e.getMessage());
+        }
+    }
+
+    /**
+     * Give the key up after a failed attempt so a retry can run it again.
+     */
+    public void release(String scope, String key, String token) {
+        try {
+            redisTemplate.execute(RELEASE, List.of(redisKey(scope, key)), token);
+        } catch (DataAccessException e) {
+            // The marker expires on its own after the in-flight TTL
+            log.warn("Failed to release idempotency key: scope={}, error={}", scope, e.getMessage());
+        }
+    }
+
+    // ── Helpers ──
+
+    private static String redisKey(String scope, String key) {
+        return KEY_PREFIX + scope + ":" + key;
+    }
+}
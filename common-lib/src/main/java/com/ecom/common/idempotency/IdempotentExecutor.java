@@ -0,0 +1,160 @@
+package com.ecom.common.idempotency;
+
+import com.ecom.common.exception.ConflictException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Runs an operation at most once per idempotency key.
+ *
+ * The first request claims the key in {@link IdempotencyStore} and runs the operation; its
+ * result is cached, so retries are answered from Redis without touching the database.
+ * Duplicates that arrive while the first is still running wait for its result rather than
+ * racing it. The database unique key stays the last line of defence: when Redis is unavailable,
+ * or a marker expired mid-flight, the losing insert's constraint violation is answered with
+ * the row that won.
+ */
+@Component
+@ConditionalOnClass(name = "org.springframework.data.redis.core.StringRedisTemplate")
+@Slf4j
+public class IdempotentExecutor {
+
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${idempotency.wait-timeout:5s}")
+    private Duration waitTimeout;
+
+    @Value("${idempotency.poll-interval:50ms}")
+    private Duration pollInterval;
+
+    public IdempotentExecutor(IdempotencyStore store, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * @param action   performs and commits the operation; must not be called inside the caller's transaction,
+     *                 so the cached result is only ever a committed one
+     * @param existing reads the result a previous attempt committed, by the database unique key
+     */
+    public <T> T execute(String scope, String key, Class<T> type, Supplier<T> action, Supplier<Optional<T>> existing) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        IdempotencyStore.Claim claim = store.claim(scope, key);
+        switch (claim.state()) {
+            case COMPLETED -> {
+                count(scope, "replayed");
+                return read(claim.response(), type);
+            }
+            case IN_FLIGHT -> {
+                return awaitCompletion(scope, key, type, existing);
+            }
+            case UNAVAILABLE -> {
+                Optional<T> previous = existing.get();
+                if (previous.isPresent()) {
+                    count(scope, "db_fallback");
+                    return previous.get();
+                }
+                return runGuardedByUniqueKey(scope, action, existing);
+            }
+            default -> {
+                T result;
+                try {
+                    result = runGuardedByUniqueKey(scope, action, existing);
+                } catch (RuntimeException e) {
+                    store.release(scope, key, claim.token());
+                    throw e;
+                }
+                String json = write(result);
+                if (json == null) {
+                    store.release(scope, key, claim.token());
+                } else {
+                    store.complete(scope, key, json);
+                }
+                return result;
+            }
+        }
+    }
+
+    // ── Helpers ──
+
+    private <T> T runGuardedByUniqueKey(String scope, Supplier<T> action, Supplier<Optional<T>> existing) {
+        try {
+            T result = action.get();
+            count(scope, "executed");
+            return result;
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent attempt committed first (or the violation is unrelated, and rethrown)
+            Optional<T> winner = existing.get();
+            if (winner.isEmpty()) {
+                throw e;
+            }
+            count(scope, "db_fallback");
+            return winner.get();
+        }
+    }
+
+    private <T> T awaitCompletion(String scope, String key, Class<T> type, Supplier<Optional<T>> existing) {
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(pollInterval.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            Optional<String> response = store.findCompleted(scope, key);
+            if (response.isPresent()) {
+                count(scope, "waited");
+                return read(response.get(), type);
+            }
+        }
+        // The holder may have committed without caching (Redis hiccup) — the database knows
+        Optional<T> previous = existing.get();
+        if (previous.isPresent()) {
+            count(scope, "db_fallback");
+            return previous.get();
+        }
+        count(scope, "in_flight_conflict");
+        throw new ConflictException("A request with this idempotency key is still being processed");
+    }
+
+    private <T> T read(String json, Class<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable idempotent response for " + type.getSimpleName(), e);
+        }
+    }
+
+    /**
+     * @return null if the value cannot be cached — the operation already committed, so this must not fail it
+     */
+    private String write(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            log.warn("Idempotent response not cacheable: type={}, error={}", value.getClass().getSimpleName(),
+                    e.getMessage());
+            return null;
+        }
+    }
+
+    private void count(String scope, String outcome) {
+        meterRegistry.counter("idempotency.requests", "scope", scope, "outcome", outcome).increment();
+    }
+}
@@ -0,0 +1,115 @@
+package com.ecom.common.id;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SnowflakeIdTest {
+
+    private static final int NODE = 37;
+
+    @BeforeAll
+    static void configureNode() {
+        SnowflakeId.setNodeId(NODE);
+    }
+
+    @Test
+    void idsFromOneNodeStrictlyIncrease() {
+        // Far more than 4096 per millisecond, so the sequence wraps and waits for the next one
+        long previous = SnowflakeId.next();
+        for (int i = 0; i < 200_000; i++) {
+            long id = SnowflakeId.next();
+            assertThat(id).isGreaterThan(previous);
+            previous = id;
+        }
+    }
+
+    @Test
+    void concurrentCallersNeverShareAnId() throws Exception {
+        Set<Long> seen = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> runs = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                runs.add(pool.submit(() -> {
+                    for (int i = 0; i < 20_000; i++) {
+                        assertThat(seen.add(SnowflakeId.next())).isTrue();
+                    }
+                }));
+            }
+            for (Future<?> run : runs) {
+                run.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        assertThat(seen).hasSize(8 * 20_000);
+    }
+
+    @Test
+    void idCarriesItsTimestampAndNode() {
+        Instant before = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        long id = SnowflakeId.next();
+        Instant after = Instant.now();
+
+        assertThat(SnowflakeId.timestampOf(id)).isBetween(before, after);
+        assertThat((id >>> 12) & SnowflakeId.MAX_NODE_ID).isEqualTo(NODE);
+        assertThat(id).isPositive();
+    }
+
+    @Test
+    void orderNumbersAreFixedWidthCrockfordBase32() {
+        String number = SnowflakeId.nextOrderNumber();
+
+        assertThat(number).matches("ORD-[0-9A-HJKMNP-TV-Z]{13}");
+    }
+
+    @Test
+    void orderNumbersSortInCreationOrder() {
+        String previous = SnowflakeId.nextOrderNumber();
+        for (int i = 0; i < 10_000; i++) {
+            String number = SnowflakeId.nextOrderNumber();
+            assertThat(number).isGreaterThan(previous);
+            previous = number;
+        }
+    }
+
+    @Test
+    void orderNumberDecodesToItsCreationTime() {
+        Instant before = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        String number = SnowflakeId.nextOrderNumber();
+        Instant after = Instant.now();
+
+        assertThat(SnowflakeId.timestampOfOrderNumber(number)).hasValueSatisfying(
+                created -> assertThat(created).isBetween(before, after));
+    }
+
+    @Test
+    void foreignOrderNumbersHaveNoTimestamp() {
+        assertThat(SnowflakeId.timestampOfOrderNumber(null)).isEmpty();
+        assertThat(SnowflakeId.timestampOfOrderNumber("ORD-123")).isEmpty();
+        assertThat(SnowflakeId.timestampOfOrderNumber("INV-0BZ4K8Q2M1A7F")).isEmpty();
+        // U is not a Crockford digit
+        assertThat(SnowflakeId.timestampOfOrderNumber("ORD-0BZ4K8Q2M1A7U")).isEmpty();
+    }
+
+    @Test
+    void nodeIdOutsideTenBitsIsRejected() {
+        assertThatThrownBy(() -> SnowflakeId.setNodeId(-1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SnowflakeId.setNodeId(SnowflakeId.MAX_NODE_ID + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(SnowflakeId.nodeId()).isEqualTo(NODE);
+    }
+}
@@ -0,0 +1,60 @@
+package com.ecom.common.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UuidV7Test {
+
+    @Test
+    void idsStrictlyIncreaseAsStrings() {
+        // Enough ids to exhaust the per-millisecond counter and borrow ahead
+        String previous = UuidV7.next();
+        for (int i = 0; i < 200_000; i++) {
+            String id = UuidV7.next();
+            assertThat(id).isGreaterThan(previous);
+            previous = id;
+        }
+    }
+
+    @Test
+    void idIsACanonicalVersion7Uuid() {
+        String id = UuidV7.next();
+        UUID uuid = UUID.fromString(id);
+
+        assertThat(id).hasSize(36).isEqualTo(uuid.toString());
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+    }
+
+    @Test
+    void idCarriesItsCreationTime() {
+        Instant before = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        String id = UuidV7.next();
+        Instant after = Instant.now();
+
+        // Ids borrowed ahead after a burst may run a few milliseconds fast
+        assertThat(UuidV7.timestampOf(id)).hasValueSatisfying(
+                created -> assertThat(created).isBetween(before, after.plusSeconds(1)));
+    }
+
+    @Test
+    void timestampMatchesTheUuidBits() {
+        UUID uuid = UUID.fromString(UuidV7.next());
+
+        assertThat(UuidV7.timestampOf(uuid.toString()))
+                .hasValue(Instant.ofEpochMilli(uuid.getMostSignificantBits() >>> 16));
+    }
+
+    @Test
+    void otherIdsHaveNoTimestamp() {
+        assertThat(UuidV7.timestampOf(null)).isEmpty();
+        assertThat(UuidV7.timestampOf("not-a-uuid")).isEmpty();
+        assertThat(UuidV7.timestampOf(UUID.randomUUID().toString())).isEmpty();
+        assertThat(UuidV7.timestampOf("zzzzzzzz-zzzz-7zzz-8zzz-zzzzzzzzzzzz")).isEmpty();
+    }
+}
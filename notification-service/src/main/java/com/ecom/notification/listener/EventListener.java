@@ -12,6 +12,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -30,6 +31,8 @@ public class EventListener {
     private final NotificationLogRepository notificationLogRepo;
     private final ObjectMapper objectMapper;
 
+    private static final String OPS_EMAIL = "ops@ecommerce.com";
+
     @SqsListener("notification-queue")
     public void handleMessage(String rawMessage) {
         try {
@@ -62,8 +65,12 @@ public class EventListener {
             case EventTypes.ORDER_CANCELLED -> sendCancellationNotification(event, data, rawPayload);
             case EventTypes.PAYMENT_SUCCESS -> sendPaymentReceipt(event, data, rawPayload);
             case EventTypes.PAYMENT_FAILED -> sendPaymentFailedNotification(event, data, rawPayload);
+            case EventTypes.CART_ABANDONED -> sendCartReminder(event, data, rawPayload);
             case EventTypes.USER_REGISTERED -> sendWelcomeEmail(event, data, rawPayload);
             case EventTypes.LOW_STOCK_ALERT -> sendLowStockAlert(event, data, rawPayload);
+            case EventTypes.OUT_OF_STOCK -> sendOutOfStockAlert(event, data, rawPayload);
+            case EventTypes.PRODUCT_CREATED, EventTypes.PRODUCT_UPDATED ->
+                log.debug("Catalog event needs no notification: type={}", event.getEventType());
             default -> log.warn("Unhandled event type: {}", event.getEventType());
         }
     }
@@ -156,6 +163,20 @@ public class EventListener {
                 rawPayload);
     }
 
+    // ── Cart Notifications ──
+
+    private void sendCartReminder(BaseEvent event, Map<String, Object> data, String rawPayload) {
+        String email = (String) data.getOrDefault("email", "");
+        Object itemCount = data.getOrDefault("itemCount", "");
+
+        sendAndLog(event, email,
+                "You left something in your cart 🛒",
+                buildHtml("Still thinking it over?",
+                        "You have <strong>" + itemCount + "</strong> item(s) waiting in your cart.",
+                        "", "Complete your order before they sell out!"),
+                rawPayload);
+    }
+
     // ── User Notifications ──
 
     private void sendWelcomeEmail(BaseEvent event, Map<String, Object> data, String rawPayload) {
@@ -173,19 +194,46 @@ public class EventListener {
     // ── Ops Notifications ──
 
     private void sendLowStockAlert(BaseEvent event, Map<String, Object> data, String rawPayload) {
-        String opsEmail = "ops@ecommerce.com";
-        String variantId = (String) data.getOrDefault("variantId", "?");
-        Object stock = data.getOrDefault("availableStock", "?");
+        List<Map<String, Object>> alerts = digestAlerts(data);
 
-        sendAndLog(event, opsEmail,
-                "⚠️ Low Stock Alert — Variant " + variantId,
+        sendAndLog(event, OPS_EMAIL,
+                "⚠️ Low Stock Alert — " + alerts.size() + " SKU(s)",
                 buildHtml("Low Stock Alert",
-                        "Variant <strong>" + variantId + "</strong> has only <strong>" + stock
-                                + "</strong> units left.",
-                        "", "Please restock immediately."),
+                        "The following SKUs have dropped to their reorder level:",
+                        stockLines(alerts), "Please restock immediately."),
                 rawPayload);
     }
 
+    private void sendOutOfStockAlert(BaseEvent event, Map<String, Object> data, String rawPayload) {
+        List<Map<String, Object>> alerts = digestAlerts(data);
+
+        sendAndLog(event, OPS_EMAIL,
+                "⛔ Out of Stock — " + alerts.size() + " SKU(s)",
+                buildHtml("Out of Stock",
+                        "The following SKUs can no longer be reserved:",
+                        stockLines(alerts), "Restock to re-enable sales."),
+                rawPayload);
+    }
+
+    /**
+     * Stock alerts arrive as digests ({@code data.alerts}); single-SKU payloads are treated as a digest of one.
+     */
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> digestAlerts(Map<String, Object> data) {
+        Object alerts = data.get("alerts");
+        return alerts instanceof List<?> list ? (List<Map<String, Object>>) list : List.of(data);
+    }
+
+    private String stockLines(List<Map<String, Object>> alerts) {
+        StringBuilder lines = new StringBuilder();
+        for (Map<String, Object> alert : alerts) {
+            lines.append("Variant ").append(alert.getOrDefault("variantId", "?"))
+                    .append(" (seller ").append(alert.getOrDefault("sellerId", "?")).append("): ")
+                    .append(alert.getOrDefault("availableStock", "?")).append(" left<br>");
+        }
+        return lines.toString();
+    }
+
     // ── Helpers ──
 
     private void sendAndLog(BaseEvent event, String to, String subject, String body, String rawPayload) {
@@ -1,9 +1,14 @@
 package com.ecom.order;
 
+import com.ecom.common.id.IdGeneratorConfigurer;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication(scanBasePackages = { "com.ecom.order", "com.ecom.common" })
+@EnableScheduling
+@Import(IdGeneratorConfigurer.class)
 public class OrderServiceApplication {
     public static void main(String[] args) {
         SpringApplication.run(OrderServiceApplication.class, args);
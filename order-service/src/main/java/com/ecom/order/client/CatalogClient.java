@@ -0,0 +1,128 @@
+package com.ecom.order.client;
+
+import com.ecom.common.dto.ApiResponse;
+import com.ecom.common.exception.ServiceUnavailableException;
+import com.ecom.order.dto.CartItem;
+import com.ecom.order.dto.CatalogProduct;
+import com.ecom.order.dto.CatalogVariantPrice;
+import com.ecom.order.dto.StockReservation;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Calls to catalog-service. Transport failures and timeouts surface as
+ * {@link org.springframework.web.client.RestClientException}.
+ *
+ * Inventory calls run inside a bulkhead and a circuit breaker: when too many are in flight or the
+ * inventory endpoints keep failing, calls are refused at once with a {@link ServiceUnavailableException}
+ * rather than tying up pooled connections and request threads.
+ */
+@Component
+public class CatalogClient {
+
+    private static final ParameterizedTypeReference<ApiResponse<CatalogProduct>> PRODUCT =
+            new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<ApiResponse<List<CatalogVariantPrice>>> VARIANT_PRICES =
+            new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<ApiResponse<StockReservation>> RESERVATION =
+            new ParameterizedTypeReference<>() {};
+
+    private final RestClient catalogRestClient;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+
+    public CatalogClient(RestClient catalogRestClient, CircuitBreaker catalogInventoryCircuitBreaker,
+            Bulkhead catalogInventoryBulkhead) {
+        this.catalogRestClient = catalogRestClient;
+        this.circuitBreaker = catalogInventoryCircuitBreaker;
+        this.bulkhead = catalogInventoryBulkhead;
+    }
+
+    /**
+     * @return the product, or empty if the catalog has no such product
+     */
+    public Optional<CatalogProduct> getProduct(String productId) {
+        ApiResponse<CatalogProduct> response = catalogRestClient.get()
+                .uri("/api/products/{id}", productId)
+                .retrieve()
+                .onStatus(status -> status.value() == HttpStatus.NOT_FOUND.value(), (request, res) -> {})
+                .body(PRODUCT);
+        return Optional.ofNullable(response).map(ApiResponse::getData);
+    }
+
+    /**
+     * Current price, availability and stock of each variant, in one request. Variants the catalog
+     * doesn't know are absent from the result.
+     */
+    public List<CatalogVariantPrice> getVariantPrices(Collection<String> variantIds) {
+        if (variantIds.isEmpty()) {
+            return List.of();
+        }
+        ApiResponse<List<CatalogVariantPrice>> response = catalogRestClient.post()
+                .uri("/api/products/variants/lookup")
+                .body(Map.of("ids", variantIds))
+                .retrieve()
+                .body(VARIANT_PRICES);
+        return Optional.ofNullable(response).map(ApiResponse::getData).orElse(List.of());
+    }
+
+    /**
+     * Hold stock for every line, or for none. A shortfall is an unsuccessful reservation, not an error.
+     */
+    public StockReservation reserveBatch(List<CartItem> lines, String callerId) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("lines", lines.stream()
+                .map(line -> Map.of("variantId", line.getVariantId(), "quantity", line.getQuantity()))
+                .toList());
+        body.put("callerId", callerId);
+        ApiResponse<StockReservation> response = inventoryCall(() -> catalogRestClient.post()
+                .uri("/internal/inventory/reserve-batch")
+                .body(body)
+                .retrieve()
+                .onStatus(status -> status.value() == HttpStatus.CONFLICT.value(), (request, res) -> {})
+                .body(RESERVATION));
+        if (response == null || response.getData() == null) {
+            throw new IllegalStateException("Empty reservation response from catalog-service");
+        }
+        return response.getData();
+    }
+
+    public void confirmReservation(String reservationId) {
+        inventoryCall(() -> catalogRestClient.post()
+                .uri("/internal/inventory/reservations/{id}/confirm", reservationId)
+                .retrieve()
+                .toBodilessEntity());
+    }
+
+    public void releaseReservation(String reservationId) {
+        inventoryCall(() -> catalogRestClient.post()
+                .uri("/internal/inventory/reservations/{id}/release", reservationId)
+                .retrieve()
+                .toBodilessEntity());
+    }
+
+    // ── Helpers ──
+
+    private <T> T inventoryCall(Supplier<T> call) {
+        try {
+            return Bulkhead.decorateSupplier(bulkhead, CircuitBreaker.decorateSupplier(circuitBreaker, call)).get();
+        } catch (BulkheadFullException e) {
+            throw new ServiceUnavailableException("Too many concurrent catalog inventory calls", e);
+        } catch (CallNotPermittedException e) {
+            throw new ServiceUnavailableException("catalog-service inventory is unavailable", e);
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.ecom.order.client;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * HTTP client for order-service → catalog-service calls.
+ *
+ * Connections come from a keep-alive pool sized for checkout's fan-out; waiting for a pooled
+ * connection is capped so a saturated pool fails fast instead of stacking up requests. Each
+ * {@link CatalogEndpoint} has its own response timeout. Calls to the inventory endpoints also pass
+ * a bulkhead and a circuit breaker (see {@link CatalogClient}).
+ *
+ * Metrics: http.client.requests (latency histogram, per uri), catalog.client.pool.* (pool
+ * saturation), resilience4j.circuitbreaker.* and resilience4j.bulkhead.*.
+ */
+@Configuration
+public class CatalogClientConfig {
+
+    private static final String INVENTORY = "catalog-inventory";
+
+    @Value("${services.catalog-url}")
+    private String catalogUrl;
+
+    @Value("${services.catalog.pool.max-total:100}")
+    private int maxTotal;
+
+    @Value("${services.catalog.pool.max-per-route:64}")
+    private int maxPerRoute;
+
+    /** Idle pooled connections are closed after this — keep it below catalog-service's own keep-alive timeout. */
+    @Value("${services.catalog.pool.keep-alive:15s}")
+    private Duration keepAlive;
+
+    @Value("${services.catalog.pool.acquire-timeout:200ms}")
+    private Duration acquireTimeout;
+
+    @Value("${services.catalog.connect-timeout:500ms}")
+    private Duration connectTimeout;
+
+    @Value("${services.catalog.timeouts.product:800ms}")
+    private Duration productTimeout;
+
+    @Value("${services.catalog.timeouts.variants:500ms}")
+    private Duration variantsTimeout;
+
+    @Value("${services.catalog.timeouts.reserve:1500ms}")
+    private Duration reserveTimeout;
+
+    @Value("${services.catalog.timeouts.settle:2s}")
+    private Duration settleTimeout;
+
+    @Value("${services.catalog.circuit-breaker.failure-rate-threshold:50}")
+    private float failureRateThreshold;
+
+    @Value("${services.catalog.circuit-breaker.slow-call-duration:1s}")
+    private Duration slowCallDuration;
+
+    @Value("${services.catalog.circuit-breaker.slow-call-rate-threshold:80}")
+    private float slowCallRateThreshold;
+
+    @Value("${services.catalog.circuit-breaker.sliding-window-size:50}")
+    private int slidingWindowSize;
+
+    @Value("${services.catalog.circuit-breaker.minimum-calls:20}")
+    private int minimumCalls;
+
+    @Value("${services.catalog.circuit-breaker.open-duration:10s}")
+    private Duration openDuration;
+
+    @Value("${services.catalog.bulkhead.max-concurrent-calls:32}")
+    private int bulkheadMaxConcurrent;
+
+    @Value("${services.catalog.bulkhead.max-wait:50ms}")
+    private Duration bulkheadMaxWait;
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager catalogConnectionManager() {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient catalogHttpClient(PoolingHttpClientConnectionManager catalogConnectionManager) {
+        return HttpClients.custom()
+                .setConnectionManager(catalogConnectionManager)
+                .setKeepAliveStrategy((response, context) -> TimeValue.of(keepAlive))
+                .evictIdleConnections(TimeValue.of(keepAlive))
+                .evictExpiredConnections()
+                .build();
+    }
+
+    @Bean
+    public RestClient catalogRestClient(RestClient.Builder builder, CloseableHttpClient catalogHttpClient) {
+        Map<CatalogEndpoint, RequestConfig> requestConfigs = new EnumMap<>(CatalogEndpoint.class);
+        requestConfigs.put(CatalogEndpoint.VARIANTS, requestConfig(variantsTimeout));
+        requestConfigs.put(CatalogEndpoint.PRODUCT, requestConfig(productTimeout));
+        requestConfigs.put(CatalogEndpoint.RESERVE, requestConfig(reserveTimeout));
+        requestConfigs.put(CatalogEndpoint.SETTLE, requestConfig(settleTimeout));
+        RequestConfig fallback = requestConfig(settleTimeout);
+
+        HttpComponentsClientHttpRequestFactory requestFactory =
+                new HttpComponentsClientHttpRequestFactory(catalogHttpClient);
+        requestFactory.setHttpContextFactory((method, uri) -> {
+            HttpClientContext context = HttpClientContext.create();
+            context.setRequestConfig(CatalogEndpoint.forPath(uri.getPath()).map(requestConfigs::get).orElse(fallback));
+            return context;
+        });
+        // The auto-configured builder records http.client.requests for every call
+        return builder
+                .baseUrl(catalogUrl)
+                .requestFactory(requestFactory)
+                .build();
+    }
+
+    @Bean
+    public CircuitBreaker catalogInventoryCircuitBreaker(MeterRegistry meterRegistry) {
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(slowCallDuration)
+                .slowCallRateThreshold(slowCallRateThreshold)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumCalls)
+                .waitDurationInOpenState(openDuration)
+                .permittedNumberOfCallsInHalfOpenState(5)
+                // A 4xx is the catalog answering, not the catalog failing
+                .recordException(e -> !(e instanceof HttpClientErrorException))
+                .build());
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        return registry.circuitBreaker(INVENTORY);
+    }
+
+    @Bean
+    public Bulkhead catalogInventoryBulkhead(MeterRegistry meterRegistry) {
+        BulkheadRegistry registry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(bulkheadMaxConcurrent)
+                .maxWaitDuration(bulkheadMaxWait)
+                .build());
+        TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+        return registry.bulkhead(INVENTORY);
+    }
+
+    @Bean
+    public MeterBinder catalogConnectionPoolMetrics(PoolingHttpClientConnectionManager catalogConnectionManager) {
+        return registry -> {
+            poolGauge(registry, catalogConnectionManager, "leased", PoolStats::getLeased);
+            poolGauge(registry, catalogConnectionManager, "available", PoolStats::getAvailable);
+            poolGauge(registry, catalogConnectionManager, "pending", PoolStats::getPending);
+            Gauge.builder("catalog.client.pool.max", catalogConnectionManager, cm -> cm.getTotalStats().getMax())
+                    .description("Maximum connections in the catalog-service pool")
+                    .register(registry);
+        };
+    }
+
+    // ── Helpers ──
+
+    private RequestConfig requestConfig(Duration responseTimeout) {
+        return RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.of(acquireTimeout))
+                .setResponseTimeout(Timeout.of(responseTimeout))
+                .build();
+    }
+
+    private static void poolGauge(MeterRegistry registry, PoolingHttpClientConnectionManager connectionManager,
+            String state, ToDoubleFunction<PoolStats> stat) {
+        Gauge.builder("catalog.client.pool.connections", connectionManager,
+                        cm -> stat.applyAsDouble(cm.getTotalStats()))
+                .description("catalog-service pool connections by state; pending = requests waiting for one")
+                .tag("state", state)
+                .register(registry);
+    }
+}
@@ -0,0 +1,29 @@
+package com.ecom.order.client;
+
+import java.util.Optional;
+
+/**
+ * The catalog-service endpoints order-service calls, each with its own response timeout.
+ * Requests are matched by path prefix, most specific first.
+ */
+enum CatalogEndpoint {
+    VARIANTS("/api/products/variants"),
+    PRODUCT("/api/products/"),
+    RESERVE("/internal/inventory/reserve-batch"),
+    SETTLE("/internal/inventory/reservations/");
+
+    private final String pathPrefix;
+
+    CatalogEndpoint(String pathPrefix) {
+        this.pathPrefix = pathPrefix;
+    }
+
+    static Optional<CatalogEndpoint> forPath(String path) {
+        for (CatalogEndpoint endpoint : values()) {
+            if (path.startsWith(endpoint.pathPrefix)) {
+                return Optional.of(endpoint);
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,58 @@
+package com.ecom.order.client;
+
+import com.ecom.common.dto.ApiResponse;
+import com.ecom.order.dto.UserContact;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Calls to user-service. Only background jobs use it, so it has a plain client with fixed
+ * timeouts rather than a connection pool. Transport failures and timeouts surface as
+ * {@link org.springframework.web.client.RestClientException}.
+ */
+@Component
+public class UserClient {
+
+    private static final ParameterizedTypeReference<ApiResponse<List<UserContact>>> CONTACTS =
+            new ParameterizedTypeReference<>() {};
+
+    private final RestClient userRestClient;
+
+    public UserClient(RestClient.Builder builder,
+            @Value("${services.user-url}") String userUrl,
+            @Value("${services.user.connect-timeout:500ms}") Duration connectTimeout,
+            @Value("${services.user.read-timeout:2s}") Duration readTimeout) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(connectTimeout);
+        requestFactory.setReadTimeout(readTimeout);
+        this.userRestClient = builder
+                .baseUrl(userUrl)
+                .requestFactory(requestFactory)
+                .build();
+    }
+
+    /**
+     * Email and name of each active user among {@code userIds}, in one request. Ids user-service
+     * doesn't know (guests) and inactive users are absent from the result.
+     */
+    public List<UserContact> getContacts(Collection<String> userIds) {
+        if (userIds.isEmpty()) {
+            return List.of();
+        }
+        ApiResponse<List<UserContact>> response = userRestClient.post()
+                .uri("/internal/users/contacts")
+                .body(Map.of("ids", userIds))
+                .retrieve()
+                .body(CONTACTS);
+        return Optional.ofNullable(response).map(ApiResponse::getData).orElse(List.of());
+    }
+}
@@ -0,0 +1,34 @@
+package com.ecom.order.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class CheckoutConfig {
+
+    @Value("${checkout.fanout.threads:64}")
+    private int fanoutThreads;
+
+    @Value("${checkout.fanout.queue-capacity:256}")
+    private int fanoutQueueCapacity;
+
+    /**
+     * Runs checkout's downstream calls side by side. Bounded, so a slow catalog-service backs
+     * checkouts up into rejections rather than into an unbounded pile of blocked threads.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService checkoutExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(fanoutThreads, fanoutThreads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(fanoutQueueCapacity), new CustomizableThreadFactory("checkout-fanout-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
@@ -1,12 +1,18 @@
 package com.ecom.order.controller;
 
 import com.ecom.common.dto.ApiResponse;
+import com.ecom.order.dto.CartBatchRequest;
+import com.ecom.order.dto.CartItem;
+import com.ecom.order.dto.CartOperationResult;
+import com.ecom.order.dto.CartView;
 import com.ecom.order.service.CartService;
+import com.ecom.order.service.CartViewService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.Map;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/cart")
@@ -14,25 +20,48 @@ import java.util.Map;
 public class CartController {
 
     private final CartService cartService;
+    private final CartViewService cartViewService;
 
     @PostMapping("/{userId}")
     public ResponseEntity<ApiResponse<Void>> addItem(
-            @PathVariable String userId, @RequestBody Map<String, Object> item) {
-        cartService.addItem(
-                userId,
-                (String) item.get("productId"),
-                (String) item.get("variantId"),
-                (String) item.get("productName"),
-                ((Number) item.get("price")).doubleValue(),
-                ((Number) item.get("quantity")).intValue());
+            @PathVariable String userId, @Valid @RequestBody CartItem item) {
+        cartService.addItem(userId, item);
         return ResponseEntity.ok(ApiResponse.ok("Item added to cart", null));
     }
 
+    /**
+     * Apply a list of add / set-quantity / remove operations in one round trip.
+     */
+    @PostMapping("/{userId}/batch")
+    public ResponseEntity<ApiResponse<List<CartOperationResult>>> applyBatch(
+            @PathVariable String userId, @Valid @RequestBody CartBatchRequest request) {
+        return ResponseEntity.ok(ApiResponse.ok(cartService.applyBatch(userId, request.getOperations())));
+    }
+
+    /**
+     * Fold a guest cart into the user's cart after login; the guest cart is deleted.
+     */
+    @PostMapping("/{userId}/merge/{guestId}")
+    public ResponseEntity<ApiResponse<Long>> mergeGuestCart(
+            @PathVariable String userId, @PathVariable String guestId,
+            @RequestParam(required = false) CartService.MergeStrategy strategy) {
+        return ResponseEntity.ok(ApiResponse.ok("Guest cart merged", cartService.merge(userId, guestId, strategy)));
+    }
+
     @GetMapping("/{userId}")
-    public ResponseEntity<ApiResponse<Map<Object, Object>>> getCart(@PathVariable String userId) {
+    public ResponseEntity<ApiResponse<List<CartItem>>> getCart(@PathVariable String userId) {
         return ResponseEntity.ok(ApiResponse.ok(cartService.getCart(userId)));
     }
 
+    /**
+     * The cart revalidated against the catalog: current prices, with stale-price, inactive and
+     * out-of-stock lines flagged.
+     */
+    @GetMapping("/{userId}/view")
+    public ResponseEntity<ApiResponse<CartView>> getCartView(@PathVariable String userId) {
+        return ResponseEntity.ok(ApiResponse.ok(cartViewService.getView(userId)));
+    }
+
     @DeleteMapping("/{userId}/{productId}")
     public ResponseEntity<ApiResponse<Void>> removeItem(
             @PathVariable String userId, @PathVariable String productId,
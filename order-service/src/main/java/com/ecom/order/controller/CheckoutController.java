@@ -0,0 +1,29 @@
+package com.ecom.order.controller;
+
+import com.ecom.common.dto.ApiResponse;
+import com.ecom.order.dto.CheckoutRequest;
+import com.ecom.order.entity.Order;
+import com.ecom.order.service.CheckoutService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/checkout")
+@RequiredArgsConstructor
+public class CheckoutController {
+
+    private final CheckoutService checkoutService;
+
+    /**
+     * Place an order for everything in the user's cart.
+     */
+    @PostMapping("/{userId}")
+    public ResponseEntity<ApiResponse<Order>> checkout(@PathVariable String userId,
+            @Valid @RequestBody CheckoutRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.ok("Order placed", checkoutService.checkout(userId, request)));
+    }
+}
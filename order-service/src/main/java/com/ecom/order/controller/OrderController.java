@@ -1,14 +1,28 @@
 package com.ecom.order.controller;
 
 import com.ecom.common.dto.ApiResponse;
+import com.ecom.common.dto.CursorPage;
+import com.ecom.order.dto.BulkStatusRequest;
+import com.ecom.order.dto.OrderSummary;
+import com.ecom.order.dto.StatusTransitionResult;
 import com.ecom.order.entity.Order;
 import com.ecom.order.entity.OrderStatusHistory;
 import com.ecom.order.service.OrderService;
+import com.ecom.order.service.OrderStatusBatchService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @RestController
@@ -17,6 +31,8 @@ import java.util.List;
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderStatusBatchService orderStatusBatchService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public ResponseEntity<ApiResponse<Order>> createOrder(@RequestBody Order order) {
@@ -35,8 +51,11 @@ public class OrderController {
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<ApiResponse<List<Order>>> getUserOrders(@PathVariable String userId) {
-        return ResponseEntity.ok(ApiResponse.ok(orderService.getOrdersByUser(userId)));
+    public ResponseEntity<ApiResponse<CursorPage<OrderSummary>>> getUserOrders(
+            @PathVariable String userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(ApiResponse.ok(orderService.getOrderHistory(userId, cursor, size)));
     }
 
     @PatchMapping("/{id}/status")
@@ -49,6 +68,29 @@ public class OrderController {
                 ApiResponse.ok("Status updated", orderService.updateStatus(id, status, changedBy, note)));
     }
 
+    /**
+     * Move many orders to one status. Streams one JSON result per order (NDJSON) as each chunk commits.
+     */
+    @PostMapping(value = "/status/bulk", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> bulkUpdateStatus(@Valid @RequestBody BulkStatusRequest request) {
+        orderStatusBatchService.validate(request);
+        StreamingResponseBody body = out -> {
+            Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            orderStatusBatchService.transition(request, results -> {
+                try {
+                    for (StatusTransitionResult result : results) {
+                        writer.write(objectMapper.writeValueAsString(result));
+                        writer.write('\n');
+                    }
+                    writer.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType("application/x-ndjson")).body(body);
+    }
+
     @GetMapping("/{id}/timeline")
     public ResponseEntity<ApiResponse<List<OrderStatusHistory>>> getTimeline(@PathVariable String id) {
         return ResponseEntity.ok(ApiResponse.ok(orderService.getOrderTimeline(id)));
@@ -0,0 +1,35 @@
+package com.ecom.order.controller;
+
+import com.ecom.common.dto.ApiResponse;
+import com.ecom.order.entity.Payment;
+import com.ecom.order.service.PaymentService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/payments")
+@RequiredArgsConstructor
+public class PaymentController {
+
+    private final PaymentService paymentService;
+
+    @PostMapping
+    public ResponseEntity<ApiResponse<Payment>> createPayment(@RequestBody Payment payment) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.ok("Payment created", paymentService.createPayment(payment)));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponse<Payment>> getPayment(@PathVariable String id) {
+        return ResponseEntity.ok(ApiResponse.ok(paymentService.getPaymentById(id)));
+    }
+
+    @GetMapping("/order/{orderId}")
+    public ResponseEntity<ApiResponse<List<Payment>>> getOrderPayments(@PathVariable String orderId) {
+        return ResponseEntity.ok(ApiResponse.ok(paymentService.getPaymentsByOrder(orderId)));
+    }
+}
@@ -0,0 +1,20 @@
+package com.ecom.order.dto;
+
+import com.ecom.order.entity.Order.OrderStatus;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkStatusRequest {
+    @NotEmpty(message = "At least one order ID is required")
+    private List<String> orderIds;
+
+    @NotNull(message = "Target status is required")
+    private OrderStatus status;
+
+    private String changedBy;
+    private String note;
+}
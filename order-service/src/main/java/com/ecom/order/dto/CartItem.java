@@ -0,0 +1,46 @@
+package com.ecom.order.dto;
+
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * One line of a Redis cart. Stored with {@link com.ecom.order.service.CartItemCodec}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartItem {
+
+    /** Most of one item a cart holds; the cart scripts refuse an add that would go past it. */
+    public static final int MAX_QUANTITY = 999;
+
+    @NotBlank(message = "Product ID is required")
+    private String productId;
+
+    private String variantId;
+    private String productName;
+
+    @NotNull(message = "Price is required")
+    @PositiveOrZero
+    @Digits(integer = 10, fraction = 2, message = "Price must have at most 10 digits before and 2 after the point")
+    private BigDecimal price;
+
+    @Positive(message = "Quantity must be at least 1")
+    @Max(value = MAX_QUANTITY, message = "Quantity must be at most " + MAX_QUANTITY)
+    private int quantity;
+
+    /** Last time the line was added to or changed, to the second; null for lines stored before it was tracked. */
+    private Instant updatedAt;
+}
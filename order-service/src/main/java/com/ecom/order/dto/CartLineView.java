@@ -0,0 +1,31 @@
+package com.ecom.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * A cart line as rendered: the stored item next to the catalog's current view of it.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartLineView {
+    private CartItem item;
+
+    /** The catalog's price now; null if the line could not be checked. */
+    private BigDecimal currentPrice;
+    private String variantName;
+    private Integer availableStock;
+
+    /** The price stored with the line is no longer the catalog's price. */
+    private boolean priceChanged;
+    /** The variant or its product is no longer on sale, or no longer exists. */
+    private boolean inactive;
+    /** Less stock is available than the line's quantity. */
+    private boolean outOfStock;
+}
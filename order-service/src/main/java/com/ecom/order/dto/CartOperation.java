@@ -0,0 +1,39 @@
+package com.ecom.order.dto;
+
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+/**
+ * One operation of a bulk cart request. ADD needs price and quantity; SET_QUANTITY needs quantity.
+ */
+@Data
+public class CartOperation {
+
+    public enum Type {
+        ADD, SET_QUANTITY, REMOVE
+    }
+
+    @NotNull(message = "Operation type is required")
+    private Type type;
+
+    @NotBlank(message = "Product ID is required")
+    private String productId;
+
+    private String variantId;
+    private String productName;
+
+    @PositiveOrZero
+    @Digits(integer = 10, fraction = 2, message = "Price must have at most 10 digits before and 2 after the point")
+    private BigDecimal price;
+
+    @Positive(message = "Quantity must be at least 1")
+    @Max(value = CartItem.MAX_QUANTITY, message = "Quantity must be at most " + CartItem.MAX_QUANTITY)
+    private Integer quantity;
+}
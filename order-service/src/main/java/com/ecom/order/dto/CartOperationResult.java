@@ -0,0 +1,23 @@
+package com.ecom.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one bulk cart operation, in request order. {@code quantity} is the item's quantity
+ * after an ADD; an ADD is not applied when it would take the item past {@link CartItem#MAX_QUANTITY},
+ * SET_QUANTITY and REMOVE are not applied when the item is not in the cart.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartOperationResult {
+    private CartOperation.Type type;
+    private String productId;
+    private String variantId;
+    private boolean applied;
+    private Long quantity;
+}
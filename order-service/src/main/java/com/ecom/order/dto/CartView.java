@@ -0,0 +1,25 @@
+package com.ecom.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * A cart revalidated against the catalog. If the catalog could not be reached, {@code validated}
+ * is false and lines carry only what was stored with them.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartView {
+    private List<CartLineView> lines;
+
+    /** Sum over the lines still on sale, at current prices where known. */
+    private BigDecimal subtotal;
+    private boolean validated;
+}
@@ -0,0 +1,31 @@
+package com.ecom.order.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * The fields of catalog-service's product detail that checkout prices and validates against.
+ */
+@Data
+public class CatalogProduct {
+    private String id;
+    private String sellerId;
+    private String name;
+    private BigDecimal basePrice;
+    private String status;
+    private List<Variant> variants;
+
+    public boolean isActive() {
+        return "ACTIVE".equals(status);
+    }
+
+    @Data
+    public static class Variant {
+        private String id;
+        private String name;
+        private BigDecimal price;
+        private Boolean isActive;
+    }
+}
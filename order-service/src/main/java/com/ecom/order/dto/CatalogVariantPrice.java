@@ -0,0 +1,29 @@
+package com.ecom.order.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+/**
+ * A variant's current price, availability and seller stock, as catalog-service's batch variant
+ * lookup reports it.
+ */
+@Data
+public class CatalogVariantPrice {
+    private String variantId;
+    private String productId;
+    private String productName;
+    private String variantName;
+    private BigDecimal price;
+    private Boolean active;
+    private String sellerId;
+    private Integer availableStock;
+
+    public boolean isOnSale() {
+        return Boolean.TRUE.equals(active);
+    }
+
+    public int availableStock() {
+        return availableStock != null ? availableStock : 0;
+    }
+}
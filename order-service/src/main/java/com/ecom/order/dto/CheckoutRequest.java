@@ -0,0 +1,19 @@
+package com.ecom.order.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+public class CheckoutRequest {
+    @NotEmpty(message = "Shipping address is required")
+    private Map<String, Object> shippingAddress;
+
+    @NotBlank(message = "Idempotency key is required")
+    private String idempotencyKey;
+
+    private String couponCode;
+    private String notes;
+}
@@ -0,0 +1,16 @@
+package com.ecom.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One item of an order history page, for its item count and first item name.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderItemName {
+    private String orderId;
+    private String productName;
+}
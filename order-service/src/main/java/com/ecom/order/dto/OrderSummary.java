@@ -0,0 +1,31 @@
+package com.ecom.order.dto;
+
+import com.ecom.order.entity.Order.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Order history projection — scalar columns plus item count and first item name. The page query
+ * reads the columns and a second, partition-bounded query the items, so no lazy relation is ever touched.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderSummary {
+    private String id;
+    private String orderNumber;
+    private OrderStatus status;
+    private BigDecimal totalAmount;
+    private Long itemCount;
+    private String firstItemName;
+    private LocalDateTime createdAt;
+
+    public OrderSummary(String id, String orderNumber, OrderStatus status, BigDecimal totalAmount,
+            LocalDateTime createdAt) {
+        this(id, orderNumber, status, totalAmount, null, null, createdAt);
+    }
+}
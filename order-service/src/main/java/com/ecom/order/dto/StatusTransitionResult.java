@@ -0,0 +1,27 @@
+package com.ecom.order.dto;
+
+import com.ecom.order.entity.Order.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome for one order of a bulk status transition.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatusTransitionResult {
+
+    public enum Outcome {
+        UPDATED, NOT_FOUND, INVALID_TRANSITION, FAILED
+    }
+
+    private String orderId;
+    private Outcome outcome;
+    private OrderStatus fromStatus;
+    private OrderStatus toStatus;
+    private String message;
+}
@@ -0,0 +1,27 @@
+package com.ecom.order.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * catalog-service's answer to a batch reservation — all lines were held, or none were.
+ */
+@Data
+public class StockReservation {
+    private boolean success;
+    private String reservationId;
+    private LocalDateTime expiresAt;
+    private List<Line> lines;
+
+    @Data
+    public static class Line {
+        private String variantId;
+        private String sellerId;
+        private int quantity;
+        private boolean success;
+        private Integer availableStock;
+        private String message;
+    }
+}
@@ -0,0 +1,13 @@
+package com.ecom.order.dto;
+
+import lombok.Data;
+
+/**
+ * A registered user's email and name, as user-service's batch contact lookup reports it.
+ */
+@Data
+public class UserContact {
+    private String id;
+    private String email;
+    private String fullName;
+}
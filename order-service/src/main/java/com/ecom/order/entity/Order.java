@@ -1,5 +1,7 @@
 package com.ecom.order.entity;
 
+import com.ecom.common.id.SnowflakeId;
+import com.ecom.common.id.UuidV7;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
@@ -12,9 +14,11 @@ import java.util.List;
 
 @Entity
 @Table(name = "orders", indexes = {
-        @Index(name = "idx_orders_user", columnList = "user_id"),
+        @Index(name = "idx_orders_user_created", columnList = "user_id, created_at, id"),
         @Index(name = "idx_orders_status", columnList = "status"),
-        @Index(name = "idx_orders_number", columnList = "order_number")
+        @Index(name = "idx_orders_coupon_user", columnList = "coupon_id, user_id")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_orders_number", columnNames = {"order_number", "created_at"})
 })
 @Data
 @Builder
@@ -29,7 +33,7 @@ public class Order {
     @Column(name = "user_id", nullable = false, length = 36)
     private String userId;
 
-    @Column(name = "order_number", nullable = false, unique = true, length = 50)
+    @Column(name = "order_number", nullable = false, length = 50)
     private String orderNumber;
 
     @Enumerated(EnumType.STRING)
@@ -57,10 +61,15 @@ public class Order {
     @Column(name = "coupon_id", length = 36)
     private String couponId;
 
+    /** catalog-service stock hold taken at checkout — confirmed or released with the order. */
+    @Column(name = "reservation_id", length = 36)
+    private String reservationId;
+
     @Column(name = "shipping_address_snapshot", columnDefinition = "JSON", nullable = false)
     private String shippingAddressSnapshot;
 
-    @Column(name = "idempotency_key", unique = true, length = 36)
+    /** Uniqueness lives in {@link OrderIdempotencyKey} — see V4. */
+    @Column(name = "idempotency_key", length = 36)
     private String idempotencyKey;
 
     @Column(columnDefinition = "TEXT")
@@ -79,14 +88,29 @@ public class Order {
     private LocalDateTime updatedAt;
 
     public enum OrderStatus {
-        PENDING, CONFIRMED, PROCESSING, SHIPPED, DELIVERED, CANCELLED, REFUNDED
+        PENDING, CONFIRMED, PROCESSING, SHIPPED, DELIVERED, CANCELLED, REFUNDED;
+
+        /**
+         * The order lifecycle. Orders can be cancelled until they ship; CONFIRMED → SHIPPED lets a
+         * warehouse skip PROCESSING; only delivered or cancelled orders are refunded.
+         */
+        public boolean canTransitionTo(OrderStatus next) {
+            return switch (this) {
+                case PENDING -> next == CONFIRMED || next == CANCELLED;
+                case CONFIRMED -> next == PROCESSING || next == SHIPPED || next == CANCELLED;
+                case PROCESSING -> next == SHIPPED || next == CANCELLED;
+                case SHIPPED -> next == DELIVERED;
+                case DELIVERED, CANCELLED -> next == REFUNDED;
+                case REFUNDED -> false;
+            };
+        }
     }
 
     @PrePersist
     public void prePersist() {
         if (id == null)
-            id = java.util.UUID.randomUUID().toString();
+            id = UuidV7.next();
         if (orderNumber == null)
-            orderNumber = "ORD-" + System.currentTimeMillis();
+            orderNumber = SnowflakeId.nextOrderNumber();
     }
 }
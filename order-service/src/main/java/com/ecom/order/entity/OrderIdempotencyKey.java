@@ -0,0 +1,32 @@
+package com.ecom.order.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Global uniqueness for order idempotency keys. {@code orders} is partitioned by month, and a
+ * partitioned table can only enforce keys that include {@code created_at}, so this small
+ * unpartitioned table holds the constraint instead.
+ */
+@Entity
+@Table(name = "order_idempotency_keys", indexes = {
+        @Index(name = "idx_oik_created", columnList = "created_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderIdempotencyKey {
+
+    @Id
+    @Column(name = "idempotency_key", length = 36)
+    private String idempotencyKey;
+
+    @Column(name = "order_id", nullable = false, length = 36)
+    private String orderId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
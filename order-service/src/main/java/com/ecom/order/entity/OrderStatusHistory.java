@@ -1,5 +1,6 @@
 package com.ecom.order.entity;
 
+import com.ecom.common.id.UuidV7;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
@@ -8,7 +9,7 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "order_status_history", indexes = {
-        @Index(name = "idx_osh_order", columnList = "order_id")
+        @Index(name = "idx_osh_order_created", columnList = "order_id, created_at")
 })
 @Data
 @Builder
@@ -42,6 +43,6 @@ public class OrderStatusHistory {
     @PrePersist
     public void prePersist() {
         if (id == null)
-            id = java.util.UUID.randomUUID().toString();
+            id = UuidV7.next();
     }
 }
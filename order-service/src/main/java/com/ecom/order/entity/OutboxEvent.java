@@ -0,0 +1,74 @@
+package com.ecom.order.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * An event waiting to be relayed to SNS. Written in the same transaction as the change it
+ * describes, so the event exists if and only if the change committed.
+ */
+@Entity
+@Table(name = "outbox", indexes = {
+        @Index(name = "idx_outbox_status_id", columnList = "status, id"),
+        @Index(name = "idx_outbox_status_sent", columnList = "status, sent_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_id", nullable = false, unique = true, length = 36)
+    private String eventId;
+
+    @Column(nullable = false, length = 100)
+    private String topic;
+
+    @Column(name = "event_type", nullable = false, length = 50)
+    private String eventType;
+
+    @Column(name = "aggregate_id", nullable = false, length = 36)
+    private String aggregateId;
+
+    @Column(nullable = false, columnDefinition = "JSON")
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @Builder.Default
+    private OutboxStatus status = OutboxStatus.PENDING;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "available_at", nullable = false)
+    private LocalDateTime availableAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    @PrePersist
+    public void prePersist() {
+        if (createdAt == null)
+            createdAt = LocalDateTime.now();
+        if (availableAt == null)
+            availableAt = createdAt;
+    }
+
+    public enum OutboxStatus {
+        PENDING, SENT, FAILED
+    }
+}
@@ -0,0 +1,210 @@
+package com.ecom.order.partition;
+
+import com.ecom.order.repository.OrderIdempotencyKeyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the monthly partitions of {@code orders}, {@code order_items} and
+ * {@code order_status_history} (see V4) rolling forward.
+ *
+ * Upcoming months are split out of the empty catch-all {@code p_max} ahead of time, so the
+ * split never has rows to move. Months past retention are archived to NDJSON by
+ * {@link PartitionArchiver} and only then dropped — a month is dropped from all three tables
+ * together or not at all. A MySQL named lock keeps the job to one instance at a time.
+ *
+ * Status history is partitioned by when the status changed, not by when its order was placed, so
+ * an order's later history can sit in later months. A month's history is archived and removed by
+ * its orders: the history partition of that month plus the orders' rows in later partitions,
+ * which are deleted before the orders partition goes.
+ */
+@Component
+@Slf4j
+public class OrderPartitionMaintainer {
+
+    /** Children first, so a crash between drops never leaves items whose order is gone. */
+    private static final List<String> TABLES = List.of("order_items", "order_status_history", "orders");
+    private static final String HISTORY = "order_status_history";
+    private static final String ORDERS = "orders";
+    private static final String CATCH_ALL = "p_max";
+    private static final String LOCK_NAME = "orders_partition_maintenance";
+    private static final Pattern PARTITION_NAME = Pattern.compile("p\\w+");
+    private static final DateTimeFormatter MONTH_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PartitionArchiver archiver;
+    private final OrderIdempotencyKeyRepository idempotencyKeyRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${orders.partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    @Value("${orders.partitions.retention-months:24}")
+    private int retentionMonths;
+
+    @Value("${orders.partitions.purge-batch-size:1000}")
+    private int purgeBatchSize;
+
+    public OrderPartitionMaintainer(JdbcTemplate jdbcTemplate, PartitionArchiver archiver,
+            OrderIdempotencyKeyRepository idempotencyKeyRepository, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.archiver = archiver;
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    record Partition(String name, LocalDate upperBound) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintain();
+    }
+
+    @Scheduled(cron = "${orders.partitions.cron:0 30 2 * * *}")
+    public void maintain() {
+        Boolean locked = jdbcTemplate.execute((Connection con) -> {
+            try (PreparedStatement ps = con.prepareStatement("SELECT GET_LOCK(?, 0)")) {
+                ps.setString(1, LOCK_NAME);
+                try (ResultSet rs = ps.executeQuery()) {
+                    if (!rs.next() || rs.getInt(1) != 1) {
+                        return false;
+                    }
+                }
+            }
+            try {
+                for (String table : TABLES) {
+                    createUpcoming(table);
+                }
+                archiveExpired();
+            } catch (Exception e) {
+                log.error("Order partition maintenance failed", e);
+            } finally {
+                try (PreparedStatement ps = con.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+                    ps.setString(1, LOCK_NAME);
+                    ps.execute();
+                }
+            }
+            return true;
+        });
+        if (!Boolean.TRUE.equals(locked)) {
+            log.info("Order partition maintenance running elsewhere, skipped");
+        }
+    }
+
+    // ── Helpers ──
+
+    private void createUpcoming(String table) {
+        List<Partition> partitions = partitions(table);
+        LocalDate lastBound = partitions.stream()
+                .map(Partition::upperBound)
+                .filter(Objects::nonNull)
+                .max(LocalDate::compareTo)
+                .orElse(LocalDate.MIN);
+
+        List<String> definitions = new ArrayList<>();
+        YearMonth last = YearMonth.now().plusMonths(monthsAhead);
+        for (YearMonth month = YearMonth.now(); !month.isAfter(last); month = month.plusMonths(1)) {
+            LocalDate bound = month.plusMonths(1).atDay(1);
+            if (bound.isAfter(lastBound)) {
+                definitions.add("PARTITION " + month.format(MONTH_NAME) + " VALUES LESS THAN ('" + bound + "')");
+            }
+        }
+        if (definitions.isEmpty()) {
+            return;
+        }
+        definitions.add("PARTITION " + CATCH_ALL + " VALUES LESS THAN (MAXVALUE)");
+        jdbcTemplate.execute("ALTER TABLE " + table + " REORGANIZE PARTITION " + CATCH_ALL + " INTO ("
+                + String.join(", ", definitions) + ")");
+        log.info("Partitions created: table={}, partitions={}", table, definitions.size() - 1);
+    }
+
+    private void archiveExpired() throws Exception {
+        LocalDate cutoff = YearMonth.now().minusMonths(retentionMonths).atDay(1);
+        for (Partition partition : partitions("orders")) {
+            if (partition.upperBound() == null || partition.upperBound().isAfter(cutoff)) {
+                continue;
+            }
+            String name = partition.name();
+            List<String> holding = new ArrayList<>();
+            for (String table : TABLES) {
+                if (partitions(table).stream().anyMatch(p -> p.name().equals(name))) {
+                    if (table.equals(HISTORY)) {
+                        archiver.archiveStatusHistory(name, partition.upperBound());
+                    } else {
+                        archiver.archive(table, name);
+                    }
+                    holding.add(table);
+                }
+            }
+            // Once the history partition is gone its archive is final: a rerun after a crash
+            // below skips it and only finishes the deletes and the orders drop
+            for (String table : holding) {
+                if (!table.equals(ORDERS)) {
+                    jdbcTemplate.execute("ALTER TABLE " + table + " DROP PARTITION " + name);
+                }
+            }
+            purgeLaterHistory(name, partition.upperBound());
+            jdbcTemplate.execute("ALTER TABLE " + ORDERS + " DROP PARTITION " + name);
+            purgeIdempotencyKeys(partition.upperBound().atStartOfDay());
+            log.info("Partition archived and dropped: partition={}, tables={}", name, holding);
+        }
+    }
+
+    /**
+     * Deletes the history rows of the partition's orders that were written after its month.
+     */
+    private void purgeLaterHistory(String partition, LocalDate upperBound) {
+        String delete = "DELETE FROM " + HISTORY + " WHERE created_at >= ? "
+                + "AND order_id IN (SELECT id FROM " + ORDERS + " PARTITION (" + partition + ")) LIMIT ?";
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(
+                    status -> jdbcTemplate.update(delete, upperBound.atStartOfDay(), purgeBatchSize));
+        } while (deleted == purgeBatchSize);
+    }
+
+    private void purgeIdempotencyKeys(LocalDateTime before) {
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(
+                    status -> idempotencyKeyRepository.deleteOlderThan(before, purgeBatchSize));
+        } while (deleted == purgeBatchSize);
+    }
+
+    /**
+     * @return partitions in range order; {@code upperBound} is null for the MAXVALUE catch-all
+     */
+    private List<Partition> partitions(String table) {
+        return jdbcTemplate.query("SELECT PARTITION_NAME, PARTITION_DESCRIPTION FROM information_schema.PARTITIONS "
+                + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL "
+                + "ORDER BY PARTITION_ORDINAL_POSITION",
+                (rs, i) -> {
+                    String name = rs.getString(1);
+                    if (!PARTITION_NAME.matcher(name).matches()) {
+                        throw new IllegalStateException("Unexpected partition name: " + table + "." + name);
+                    }
+                    String description = rs.getString(2).replace("'", "");
+                    return new Partition(name,
+                            description.equals("MAXVALUE") ? null : LocalDate.parse(description.substring(0, 10)));
+                }, table);
+    }
+}
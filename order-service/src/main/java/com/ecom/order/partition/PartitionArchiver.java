@@ -0,0 +1,149 @@
+package com.ecom.order.partition;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Copies one partition to {@code {archive-dir}/{table}/{partition}.ndjson.gz}, one JSON object
+ * per row. Rows are streamed from MySQL, never held in memory, and the file only appears under
+ * its final name once it is complete and its row count matches the partition's.
+ *
+ * The archive directory is a local stand-in for object storage; shipping the finished files to
+ * a bucket is a sync of that directory.
+ */
+@Component
+@Slf4j
+public class PartitionArchiver {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final Path archiveDir;
+
+    public PartitionArchiver(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+            @Value("${orders.partitions.archive-dir:./data/orders-archive}") String archiveDir) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.archiveDir = Paths.get(archiveDir);
+    }
+
+    /**
+     * @return the archive file
+     * @throws IllegalStateException if the partition changed while it was being copied
+     */
+    public Path archive(String table, String partition) throws IOException {
+        return archive(table, partition, "SELECT * FROM " + table + " PARTITION (" + partition + ")");
+    }
+
+    /**
+     * Archives the status history of the orders in one {@code orders} partition: the history
+     * partition of the same month plus the rows for those orders that landed in later months
+     * (status changes after the month ended). Together with {@link #archive} on {@code orders},
+     * that is every history row whose order is in the month.
+     *
+     * @param upperBound the month partition's exclusive upper bound
+     * @return the archive file
+     * @throws IllegalStateException if the history changed while it was being copied
+     */
+    public Path archiveStatusHistory(String partition, LocalDate upperBound) throws IOException {
+        return archive("order_status_history", partition,
+                "SELECT * FROM order_status_history PARTITION (" + partition + ") "
+                        + "UNION ALL "
+                        + "SELECT h.* FROM order_status_history h JOIN orders PARTITION (" + partition + ") o "
+                        + "ON o.id = h.order_id WHERE h.created_at >= '" + upperBound + "'");
+    }
+
+    // ── Helpers ──
+
+    private Path archive(String table, String partition, String select) throws IOException {
+        Path target = archiveDir.resolve(table).resolve(partition + ".ndjson.gz");
+        Path temp = target.resolveSibling(partition + ".ndjson.gz.part");
+        Files.createDirectories(target.getParent());
+
+        NdjsonWriter rows;
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(Files.newOutputStream(temp), BUFFER_SIZE), StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            rows = new NdjsonWriter(out);
+            jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(select, ResultSet.TYPE_FORWARD_ONLY,
+                        ResultSet.CONCUR_READ_ONLY);
+                // Connector/J streams row by row only with this fetch size
+                ps.setFetchSize(Integer.MIN_VALUE);
+                return ps;
+            }, rows);
+        } catch (UncheckedIOException e) {
+            Files.deleteIfExists(temp);
+            throw e.getCause();
+        } catch (RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM (" + select + ") archived", Long.class);
+        if (count == null || count != rows.written) {
+            Files.deleteIfExists(temp);
+            throw new IllegalStateException("Partition " + table + "." + partition + " changed while archiving: wrote "
+                    + rows.written + " rows, now has " + count);
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        log.info("Partition archived: table={}, partition={}, rows={}, file={}", table, partition, rows.written,
+                target);
+        return target;
+    }
+
+    private final class NdjsonWriter implements RowCallbackHandler {
+
+        private final Writer out;
+        private String[] columns;
+        private long written;
+
+        NdjsonWriter(Writer out) {
+            this.out = out;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            if (columns == null) {
+                ResultSetMetaData meta = rs.getMetaData();
+                columns = new String[meta.getColumnCount()];
+                for (int i = 0; i < columns.length; i++) {
+                    columns[i] = meta.getColumnLabel(i + 1);
+                }
+            }
+            ObjectNode row = objectMapper.createObjectNode();
+            for (int i = 0; i < columns.length; i++) {
+                row.putPOJO(columns[i], rs.getObject(i + 1));
+            }
+            try {
+                out.write(objectMapper.writeValueAsString(row));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            written++;
+        }
+    }
+}
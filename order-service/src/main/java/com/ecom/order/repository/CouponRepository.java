@@ -0,0 +1,29 @@
+package com.ecom.order.repository;
+
+import com.ecom.order.entity.Coupon;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface CouponRepository extends JpaRepository<Coupon, String> {
+    /** Active coupons that have not expired before {@code since} — including ones that start later. */
+    @Query("SELECT c FROM Coupon c WHERE c.isActive = true AND c.validUntil > :since")
+    List<Coupon> findLive(@Param("since") LocalDateTime since);
+
+    /**
+     * Redemptions of a coupon as the database knows them: the reconciled counter or the orders
+     * placed with it, whichever is higher.
+     */
+    @Query(value = "SELECT GREATEST(c.used_count, (SELECT COUNT(*) FROM orders o WHERE o.coupon_id = c.id)) "
+            + "FROM coupons c WHERE c.id = :couponId", nativeQuery = true)
+    long countRedemptions(@Param("couponId") String couponId);
+
+    @Query(value = "SELECT COUNT(*) FROM orders WHERE coupon_id = :couponId AND user_id = :userId",
+            nativeQuery = true)
+    long countRedemptionsByUser(@Param("couponId") String couponId, @Param("userId") String userId);
+}
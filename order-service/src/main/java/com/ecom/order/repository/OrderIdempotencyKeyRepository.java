@@ -0,0 +1,27 @@
+package com.ecom.order.repository;
+
+import com.ecom.order.entity.OrderIdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface OrderIdempotencyKeyRepository extends JpaRepository<OrderIdempotencyKey, String> {
+
+    /**
+     * Plain INSERT, so a concurrent duplicate fails right here on the primary key.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO order_idempotency_keys (idempotency_key, order_id, created_at) "
+            + "VALUES (:key, :orderId, :createdAt)", nativeQuery = true)
+    void insert(@Param("key") String key, @Param("orderId") String orderId,
+            @Param("createdAt") LocalDateTime createdAt);
+
+    @Modifying
+    @Query(value = "DELETE FROM order_idempotency_keys WHERE created_at < :cutoff LIMIT :limit", nativeQuery = true)
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+}
@@ -1,19 +1,74 @@
 package com.ecom.order.repository;
 
+import com.ecom.order.dto.OrderItemName;
+import com.ecom.order.dto.OrderSummary;
 import com.ecom.order.entity.Order;
+import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, String> {
-    List<Order> findByUserId(String userId);
+
+    /**
+     * Newest-first page of a user's orders, without item count and first item: those come from
+     * {@link #findItemNames} for the whole page.
+     */
+    @Query("SELECT new com.ecom.order.dto.OrderSummary(o.id, o.orderNumber, o.status, o.totalAmount, o.createdAt) "
+            + "FROM Order o "
+            + "WHERE o.userId = :userId AND o.createdAt <= :createdAt "
+            + "AND (o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id)) "
+            + "ORDER BY o.createdAt DESC, o.id DESC")
+    List<OrderSummary> findHistoryPage(@Param("userId") String userId,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") String id, Pageable pageable);
+
+    /**
+     * Items of the given orders, lowest id (insertion order, ids being time-ordered) first. Items
+     * are written with their order, so bounding created_at to the orders' window prunes the lookup
+     * to the partitions they can be in.
+     */
+    @Query("SELECT new com.ecom.order.dto.OrderItemName(i.order.id, i.productName) FROM OrderItem i "
+            + "WHERE i.order.id IN :orderIds AND i.createdAt BETWEEN :from AND :to ORDER BY i.id")
+    List<OrderItemName> findItemNames(@Param("orderIds") Collection<String> orderIds,
+            @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 
     Optional<Order> findByOrderNumber(String orderNumber);
 
-    Optional<Order> findByIdempotencyKey(String idempotencyKey);
+    // Bounding created_at lets MySQL prune to the one or two monthly partitions the row can be in
+
+    Optional<Order> findByIdAndCreatedAtBetween(String id, LocalDateTime from, LocalDateTime to);
+
+    Optional<Order> findByOrderNumberAndCreatedAtBetween(String orderNumber, LocalDateTime from, LocalDateTime to);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM Order o WHERE o.id = :id AND o.createdAt BETWEEN :from AND :to")
+    Optional<Order> lockByIdAndCreatedAtBetween(@Param("id") String id, @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
 
     List<Order> findByStatus(Order.OrderStatus status);
+
+    // ── Bulk status transitions ──
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM Order o WHERE o.id IN :ids")
+    List<Order> lockAllById(@Param("ids") Collection<String> ids);
+
+    /**
+     * One UPDATE for a whole chunk. Clears the persistence context so the locked entities are
+     * detached and never flushed a second time.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Order o SET o.status = :status, o.updatedAt = :updatedAt WHERE o.id IN :ids")
+    int updateStatuses(@Param("ids") Collection<String> ids, @Param("status") Order.OrderStatus status,
+            @Param("updatedAt") LocalDateTime updatedAt);
 }
@@ -4,9 +4,14 @@ import com.ecom.order.entity.OrderStatusHistory;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface OrderStatusHistoryRepository extends JpaRepository<OrderStatusHistory, String> {
     List<OrderStatusHistory> findByOrderIdOrderByCreatedAtAsc(String orderId);
+
+    // History is written from the order's creation on, so a lower bound skips every older partition
+    List<OrderStatusHistory> findByOrderIdAndCreatedAtGreaterThanEqualOrderByCreatedAtAsc(String orderId,
+            LocalDateTime from);
 }
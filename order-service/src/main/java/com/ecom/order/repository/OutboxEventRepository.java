@@ -0,0 +1,47 @@
+package com.ecom.order.repository;
+
+import com.ecom.order.entity.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Lock the oldest due PENDING rows. Rows another relay already holds are skipped rather
+     * than waited on, so relays on several instances drain disjoint batches.
+     */
+    @Query(value = "SELECT * FROM outbox WHERE status = 'PENDING' AND available_at <= :now "
+            + "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxEvent> claimBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent o SET o.status = 'SENT', o.sentAt = :sentAt, o.attempts = o.attempts + 1 "
+            + "WHERE o.id IN :ids")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("sentAt") LocalDateTime sentAt);
+
+    /**
+     * Push a failed row back with a retry time, or park it as FAILED once it has used its attempts.
+     */
+    @Modifying
+    @Query(value = "UPDATE outbox SET attempts = attempts + 1, last_error = :error, available_at = :retryAt, "
+            + "status = IF(attempts >= :maxAttempts, 'FAILED', 'PENDING') WHERE id IN :ids", nativeQuery = true)
+    int markFailed(@Param("ids") Collection<Long> ids, @Param("error") String error,
+            @Param("retryAt") LocalDateTime retryAt, @Param("maxAttempts") int maxAttempts);
+
+    /** Creation times of PENDING rows, oldest first — page 0 of size 1 reads the relay's backlog age. */
+    @Query("SELECT o.createdAt FROM OutboxEvent o WHERE o.status = 'PENDING' ORDER BY o.id")
+    List<LocalDateTime> findPendingCreatedAt(Pageable pageable);
+
+    @Modifying
+    @Query(value = "DELETE FROM outbox WHERE status = 'SENT' AND sent_at < :cutoff LIMIT :limit", nativeQuery = true)
+    int purgeSent(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+}
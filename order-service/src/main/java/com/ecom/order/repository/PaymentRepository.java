@@ -4,11 +4,14 @@ import com.ecom.order.entity.Payment;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface PaymentRepository extends JpaRepository<Payment, String> {
     Optional<Payment> findByOrderId(String orderId);
 
+    List<Payment> findAllByOrderId(String orderId);
+
     Optional<Payment> findByIdempotencyKey(String idempotencyKey);
 }
@@ -0,0 +1,236 @@
+package com.ecom.order.service;
+
+import com.ecom.common.event.BaseEvent;
+import com.ecom.common.event.EventTypes;
+import com.ecom.common.event.TopicNames;
+import com.ecom.order.client.UserClient;
+import com.ecom.order.dto.UserContact;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Finds carts left untouched for {@code cart.abandoned.idle-after} and announces each one once with
+ * a CART_ABANDONED event, for re-engagement emails.
+ *
+ * Carts are found through the activity index the cart scripts maintain, never by scanning the
+ * keyspace: each run claims bounded batches of the least recently touched owners (see
+ * {@link CartScripts#CLAIM_IDLE}), so its Redis cost depends on the batch size, not on how many
+ * carts exist. A claimed owner leaves the index until their cart is touched again; owners whose
+ * events SNS did not accept are put back for the next run.
+ *
+ * Each batch's owners are looked up in user-service in one request, and the event carries the
+ * owner's email and name. Owners user-service doesn't know — guests — get no event. If the lookup
+ * fails, the batch goes back into the index and the run stops.
+ */
+@Component
+@Slf4j
+public class AbandonedCartScanner {
+
+    private final StringRedisTemplate redisTemplate;
+    private final SnsBatchPublisher snsBatchPublisher;
+    private final UserClient userClient;
+    private final ObjectMapper objectMapper;
+    private final Counter published;
+    private final Counter failed;
+    private final Counter skipped;
+
+    @Value("${cart.abandoned.idle-after:2h}")
+    private Duration idleAfter;
+
+    @Value("${cart.abandoned.batch-size:200}")
+    private int batchSize;
+
+    @Value("${cart.abandoned.max-batches-per-run:10}")
+    private int maxBatchesPerRun;
+
+    private record IdleCart(String userId, long lastTouched, int items) {
+    }
+
+    private record Reminder(IdleCart cart, UserContact contact) {
+    }
+
+    public AbandonedCartScanner(StringRedisTemplate redisTemplate, SnsBatchPublisher snsBatchPublisher,
+            UserClient userClient, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.snsBatchPublisher = snsBatchPublisher;
+        this.userClient = userClient;
+        this.objectMapper = objectMapper;
+        this.published = Counter.builder("cart.abandoned.events")
+                .tag("result", "published")
+                .description("CART_ABANDONED events sent to SNS")
+                .register(meterRegistry);
+        this.failed = Counter.builder("cart.abandoned.events")
+                .tag("result", "failed")
+                .description("CART_ABANDONED events sent to SNS")
+                .register(meterRegistry);
+        this.skipped = Counter.builder("cart.abandoned.events")
+                .tag("result", "skipped")
+                .description("CART_ABANDONED events sent to SNS")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${cart.abandoned.scan-interval-ms:300000}")
+    public void scan() {
+        try {
+            long cutoff = Instant.now().minus(idleAfter).getEpochSecond();
+            int announced = 0;
+            for (int i = 0; i < maxBatchesPerRun; i++) {
+                List<?> claimed = redisTemplate.execute(CartScripts.CLAIM_IDLE,
+                        List.of(CartService.ACTIVITY_KEY), String.valueOf(cutoff), String.valueOf(batchSize));
+                if (claimed == null || claimed.isEmpty()) {
+                    break;
+                }
+                List<IdleCart> carts = stillInCart(claimed);
+                List<Reminder> reminders;
+                try {
+                    reminders = withContacts(carts);
+                } catch (RestClientException e) {
+                    putBack(carts);
+                    log.warn("Abandoned cart scan stopped, user lookup failed: carts={}", carts.size(), e);
+                    break;
+                }
+                announced += publish(reminders);
+                if (claimed.size() / 2 < batchSize) {
+                    break;
+                }
+            }
+            if (announced > 0) {
+                log.info("Abandoned carts announced: carts={}", announced);
+            }
+        } catch (Exception e) {
+            log.error("Abandoned cart scan failed", e);
+        }
+    }
+
+    // ── Helpers ──
+
+    /**
+     * @param claimed (owner, last touched) pairs, as CLAIM_IDLE returns them
+     * @return the owners whose cart still exists — the others' carts expired on their own
+     */
+    private List<IdleCart> stillInCart(List<?> claimed) {
+        List<String> owners = new ArrayList<>(claimed.size() / 2);
+        for (int i = 0; i + 1 < claimed.size(); i += 2) {
+            owners.add(String.valueOf(claimed.get(i)));
+        }
+        // One round trip; each HLEN names its own key, so it is routed like any other cart read
+        List<Object> sizes = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            owners.forEach(owner -> connection.hashCommands()
+                    .hLen((CartService.CART_KEY_PREFIX + owner).getBytes(StandardCharsets.UTF_8)));
+            return null;
+        });
+        List<IdleCart> carts = new ArrayList<>(owners.size());
+        for (int i = 0; i < owners.size(); i++) {
+            int items = ((Number) sizes.get(i)).intValue();
+            if (items > 0) {
+                carts.add(new IdleCart(owners.get(i),
+                        (long) Double.parseDouble(String.valueOf(claimed.get(2 * i + 1))), items));
+            }
+        }
+        return carts;
+    }
+
+    /**
+     * @return the carts whose owner is a registered, active user, with that user's contact
+     */
+    private List<Reminder> withContacts(List<IdleCart> carts) {
+        if (carts.isEmpty()) {
+            return List.of();
+        }
+        Map<String, UserContact> contacts = userClient.getContacts(carts.stream().map(IdleCart::userId).toList())
+                .stream()
+                .filter(contact -> contact.getEmail() != null)
+                .collect(Collectors.toMap(UserContact::getId, Function.identity(), (a, b) -> a));
+        List<Reminder> reminders = new ArrayList<>(contacts.size());
+        for (IdleCart cart : carts) {
+            UserContact contact = contacts.get(cart.userId());
+            if (contact != null) {
+                reminders.add(new Reminder(cart, contact));
+            }
+        }
+        skipped.increment(carts.size() - reminders.size());
+        return reminders;
+    }
+
+    /**
+     * @return how many events SNS accepted
+     */
+    private int publish(List<Reminder> reminders) {
+        if (reminders.isEmpty()) {
+            return 0;
+        }
+        List<SnsBatchPublisher.Entry> entries = new ArrayList<>(reminders.size());
+        for (int i = 0; i < reminders.size(); i++) {
+            entries.add(new SnsBatchPublisher.Entry(String.valueOf(i), serialize(abandonedEvent(reminders.get(i)))));
+        }
+        Map<String, String> rejected = snsBatchPublisher.publish(TopicNames.ORDER_EVENTS, entries);
+        if (!rejected.isEmpty()) {
+            putBack(rejected.keySet().stream().map(id -> reminders.get(Integer.parseInt(id)).cart()).toList());
+            log.warn("CART_ABANDONED events not accepted, retrying next run: carts={}, reasons={}",
+                    rejected.size(), new HashSet<>(rejected.values()));
+        }
+        failed.increment(rejected.size());
+        published.increment(reminders.size() - rejected.size());
+        return reminders.size() - rejected.size();
+    }
+
+    private void putBack(List<IdleCart> carts) {
+        if (carts.isEmpty()) {
+            return;
+        }
+        Set<ZSetOperations.TypedTuple<String>> retry = new HashSet<>();
+        carts.forEach(cart -> retry.add(new DefaultTypedTuple<>(cart.userId(), (double) cart.lastTouched())));
+        // NX: a cart touched since it was claimed is already back in the index, with its newer time
+        redisTemplate.opsForZSet().addIfAbsent(CartService.ACTIVITY_KEY, retry);
+    }
+
+    private static BaseEvent abandonedEvent(Reminder reminder) {
+        IdleCart cart = reminder.cart();
+        return BaseEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .eventType(EventTypes.CART_ABANDONED)
+                .source("order-service")
+                .timestamp(Instant.now())
+                // One reminder per period of inactivity, however often the event is redelivered
+                .idempotencyKey("cart-abandoned:" + cart.userId() + ":" + cart.lastTouched())
+                .data(Map.of(
+                        "userId", cart.userId(),
+                        "email", reminder.contact().getEmail(),
+                        "fullName", Objects.requireNonNullElse(reminder.contact().getFullName(), ""),
+                        "itemCount", cart.items(),
+                        "lastActivity", Instant.ofEpochSecond(cart.lastTouched()).toString()))
+                .build();
+    }
+
+    private String serialize(BaseEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize " + event.getEventType() + " event", e);
+        }
+    }
+}
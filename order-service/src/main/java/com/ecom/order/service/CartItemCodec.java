@@ -0,0 +1,207 @@
+package com.ecom.order.service;
+
+import com.ecom.common.exception.BadRequestException;
+import com.ecom.order.dto.CartItem;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Compact binary encoding of a {@link CartItem} for the cart hash.
+ *
+ * Version 1 layout, big-endian:
+ * <pre>
+ *   version        1 byte  (1)
+ *   quantity       int32
+ *   updatedAt      uint32  epoch seconds, 0 = unknown
+ *   productId      id
+ *   variantId      id
+ *   productName    varint (length + 1, 0 = none) + UTF-8
+ *   price          varint scale + zigzag varint unscaled value
+ * </pre>
+ * The unscaled price must fit in a long. Cart requests allow at most 10 integer and 2 fraction
+ * digits, well inside that; a price outside it is refused as a bad request.
+ * An id is a varint tag — 0 = none, 1 = a canonical UUID as 16 raw bytes, otherwise (UTF-8 length + 2)
+ * followed by the bytes. Catalog ids are UUIDs, so they take 17 bytes instead of 37.
+ * Quantity and updatedAt sit at fixed offsets so the cart's Lua scripts can rewrite them in place
+ * without decoding the rest. Entries written before this codec are JSON objects, recognisable by
+ * their first byte; {@link #decode} reads both, so old carts stay readable until they expire.
+ */
+@Component
+@RequiredArgsConstructor
+public class CartItemCodec {
+
+    static final byte V1 = 1;
+    private static final byte LEGACY_JSON = '{';
+    private static final int ID_NONE = 0;
+    private static final int ID_UUID = 1;
+
+    private final ObjectMapper objectMapper;
+
+    public byte[] encode(CartItem item) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64);
+        out.write(V1);
+        ByteBuffer header = ByteBuffer.allocate(8)
+                .putInt(item.getQuantity())
+                .putInt((int) (item.getUpdatedAt() != null ? item.getUpdatedAt().getEpochSecond() : 0));
+        out.writeBytes(header.array());
+        writeId(out, item.getProductId());
+        writeId(out, item.getVariantId());
+        writeOptionalString(out, item.getProductName());
+        BigDecimal price = item.getPrice().scale() < 0 ? item.getPrice().setScale(0) : item.getPrice();
+        if (price.unscaledValue().bitLength() > 63) {
+            throw new BadRequestException("Price out of range for " + item.getProductId() + ": " + item.getPrice());
+        }
+        writeVarint(out, price.scale());
+        writeVarint(out, zigzag(price.unscaledValue().longValue()));
+        return out.toByteArray();
+    }
+
+    public CartItem decode(byte[] value) {
+        if (value.length > 0 && value[0] == LEGACY_JSON) {
+            return decodeLegacy(value);
+        }
+        ByteBuffer in = ByteBuffer.wrap(value);
+        byte version = in.get();
+        if (version != V1) {
+            throw new IllegalStateException("Unknown cart item version: " + version);
+        }
+        int quantity = in.getInt();
+        long updatedAt = Integer.toUnsignedLong(in.getInt());
+        String productId = readId(in);
+        String variantId = readId(in);
+        String productName = readOptionalString(in);
+        int scale = (int) readVarint(in);
+        long unscaled = unzigzag(readVarint(in));
+        return CartItem.builder()
+                .productId(productId)
+                .variantId(variantId)
+                .productName(productName)
+                .price(BigDecimal.valueOf(unscaled, scale))
+                .quantity(quantity)
+                .updatedAt(updatedAt == 0 ? null : Instant.ofEpochSecond(updatedAt))
+                .build();
+    }
+
+    // ── Helpers ──
+
+    private CartItem decodeLegacy(byte[] value) {
+        try {
+            JsonNode json = objectMapper.readTree(value);
+            return CartItem.builder()
+                    .productId(json.path("productId").asText(null))
+                    .variantId(json.path("variantId").asText(null))
+                    .productName(json.path("productName").asText(null))
+                    // Legacy prices are JSON doubles; decimalValue() converts through BigDecimal.valueOf,
+                    // which keeps their shortest decimal form (19.99, not 19.989999999999998436805981327779591083526611328125)
+                    .price(json.hasNonNull("price") ? json.get("price").decimalValue() : BigDecimal.ZERO)
+                    .quantity(json.path("quantity").asInt())
+                    .build();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unreadable legacy cart item", e);
+        }
+    }
+
+    private static void writeId(ByteArrayOutputStream out, String id) {
+        if (id == null) {
+            writeVarint(out, ID_NONE);
+            return;
+        }
+        UUID uuid = canonicalUuid(id);
+        if (uuid != null) {
+            writeVarint(out, ID_UUID);
+            out.writeBytes(ByteBuffer.allocate(16)
+                    .putLong(uuid.getMostSignificantBits())
+                    .putLong(uuid.getLeastSignificantBits())
+                    .array());
+            return;
+        }
+        byte[] bytes = id.getBytes(StandardCharsets.UTF_8);
+        writeVarint(out, bytes.length + 2L);
+        out.writeBytes(bytes);
+    }
+
+    private static String readId(ByteBuffer in) {
+        long tag = readVarint(in);
+        if (tag == ID_NONE) {
+            return null;
+        }
+        if (tag == ID_UUID) {
+            return new UUID(in.getLong(), in.getLong()).toString();
+        }
+        return readString(in, (int) tag - 2);
+    }
+
+    /** The UUID, if {@code id} is exactly how {@link UUID#toString} would print it — so it decodes unchanged. */
+    private static UUID canonicalUuid(String id) {
+        if (id.length() != 36) {
+            return null;
+        }
+        try {
+            UUID uuid = UUID.fromString(id);
+            return uuid.toString().equals(id) ? uuid : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static void writeOptionalString(ByteArrayOutputStream out, String value) {
+        if (value == null) {
+            writeVarint(out, 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(out, bytes.length + 1L);
+        out.writeBytes(bytes);
+    }
+
+    private static String readString(ByteBuffer in, int length) {
+        String value = new String(in.array(), in.position(), length, StandardCharsets.UTF_8);
+        in.position(in.position() + length);
+        return value;
+    }
+
+    private static String readOptionalString(ByteBuffer in) {
+        long length = readVarint(in);
+        return length == 0 ? null : readString(in, (int) length - 1);
+    }
+
+    /** Unsigned LEB128: 7 bits per byte, high bit set on all but the last. */
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarint(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Malformed varint in cart item");
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,184 @@
+package com.ecom.order.service;
+
+import com.ecom.order.dto.CartItem;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+
+/**
+ * The Lua scripts behind every cart mutation. Each runs atomically and, in the same round trip,
+ * refreshes the cart's TTL and its entry in the activity index (see {@link CartService#ACTIVITY_KEY}):
+ * a cart that still has items is scored with the time it was touched, an emptied one is dropped.
+ *
+ * Stored items are {@link CartItemCodec} binary values, or legacy JSON (first byte '{'); the shared
+ * functions read and rewrite quantity and updatedAt in either format. Arguments named "item" are
+ * encoded items whose quantity is the amount to add. No item goes past {@link CartItem#MAX_QUANTITY}:
+ * an add that would is refused, a merge is capped at it.
+ *
+ * Mutations touch the cart and the activity index, and MERGE two carts, in one script: the cart
+ * store must be a single Redis node (standalone or Sentinel), which {@link CartService} checks at
+ * startup.
+ */
+final class CartScripts {
+
+    private static final String LIBRARY = "local MAX_QUANTITY = " + CartItem.MAX_QUANTITY + "\n" + """
+            local function isJson(value)
+              return string.byte(value, 1) == 123
+            end
+            local function quantityOf(value)
+              if isJson(value) then return cjson.decode(value).quantity end
+              return (struct.unpack('>i4', value, 2))
+            end
+            local function updatedAtOf(value)
+              if isJson(value) then return 0 end
+              return (struct.unpack('>I4', value, 6))
+            end
+            local function withQuantity(value, quantity, updatedAt)
+              if isJson(value) then
+                local item = cjson.decode(value)
+                item.quantity = quantity
+                return cjson.encode(item)
+              end
+              return string.sub(value, 1, 1) .. struct.pack('>i4I4', quantity, updatedAt) .. string.sub(value, 10)
+            end
+            local function add(key, field, item)
+              local quantity = quantityOf(item)
+              local current = redis.call('HGET', key, field)
+              if current then quantity = quantity + quantityOf(current) end
+              if quantity > MAX_QUANTITY then return -1 end
+              redis.call('HSET', key, field, withQuantity(item, quantity, updatedAtOf(item)))
+              return quantity
+            end
+            local function setQuantity(key, field, quantity, now)
+              local current = redis.call('HGET', key, field)
+              if not current then return 0 end
+              redis.call('HSET', key, field, withQuantity(current, math.min(quantity, MAX_QUANTITY), now))
+              return 1
+            end
+            local function touch(key, activity, owner, now)
+              if redis.call('EXISTS', key) == 1 then
+                redis.call('ZADD', activity, now, owner)
+              else
+                redis.call('ZREM', activity, owner)
+              end
+            end
+            """;
+
+    /**
+     * KEYS: cart, activity. ARGV: field, item, ttl seconds, owner, now (epoch s).
+     * Returns the item's new quantity, or -1 if the add would exceed the maximum (nothing changes).
+     */
+    static final RedisScript<Long> ADD = new DefaultRedisScript<>(LIBRARY + """
+            local quantity = add(KEYS[1], ARGV[1], ARGV[2])
+            redis.call('EXPIRE', KEYS[1], ARGV[3])
+            touch(KEYS[1], KEYS[2], ARGV[4], ARGV[5])
+            return quantity
+            """, Long.class);
+
+    /**
+     * KEYS: cart, activity. ARGV: field, quantity, now (epoch s), ttl seconds, owner.
+     * Returns 0 if the item is not in the cart.
+     */
+    static final RedisScript<Long> SET_QUANTITY = new DefaultRedisScript<>(LIBRARY + """
+            local updated = setQuantity(KEYS[1], ARGV[1], tonumber(ARGV[2]), tonumber(ARGV[3]))
+            redis.call('EXPIRE', KEYS[1], ARGV[4])
+            if updated == 1 then touch(KEYS[1], KEYS[2], ARGV[5], ARGV[3]) end
+            return updated
+            """, Long.class);
+
+    /** KEYS: cart, activity. ARGV: ttl seconds, owner, now (epoch s), fields... Returns the number of items removed. */
+    static final RedisScript<Long> REMOVE = new DefaultRedisScript<>(LIBRARY + """
+            local removed = redis.call('HDEL', KEYS[1], unpack(ARGV, 4))
+            redis.call('EXPIRE', KEYS[1], ARGV[1])
+            touch(KEYS[1], KEYS[2], ARGV[2], ARGV[3])
+            return removed
+            """, Long.class);
+
+    /** KEYS: cart, activity. ARGV: owner. */
+    static final RedisScript<Long> CLEAR = new DefaultRedisScript<>("""
+            redis.call('ZREM', KEYS[2], ARGV[1])
+            return redis.call('DEL', KEYS[1])
+            """, Long.class);
+
+    /**
+     * KEYS: cart, activity. ARGV: ttl seconds, now (epoch s), owner, then one (op, field, arg) triple per operation:
+     * A = add (arg: item), S = set quantity (arg: quantity), R = remove (arg unused).
+     * Returns one integer per operation: the new quantity for A (-1 if refused), 1 or 0 (applied or not)
+     * for S and R.
+     */
+    @SuppressWarnings("rawtypes")
+    static final RedisScript<List> BATCH = new DefaultRedisScript<>(LIBRARY + """
+            local results = {}
+            for i = 4, #ARGV, 3 do
+              local op, field, arg = ARGV[i], ARGV[i + 1], ARGV[i + 2]
+              if op == 'A' then
+                results[#results + 1] = add(KEYS[1], field, arg)
+              elseif op == 'S' then
+                results[#results + 1] = setQuantity(KEYS[1], field, tonumber(arg), tonumber(ARGV[2]))
+              else
+                results[#results + 1] = redis.call('HDEL', KEYS[1], field)
+              end
+            end
+            redis.call('EXPIRE', KEYS[1], ARGV[1])
+            touch(KEYS[1], KEYS[2], ARGV[3], ARGV[2])
+            return results
+            """, List.class);
+
+    /**
+     * KEYS: guest cart, user cart, activity. ARGV: strategy, ttl seconds, guest id, user id, now (epoch s).
+     * Moves every guest item into the user
+     * cart and deletes the guest cart. An item in both is resolved by the strategy: SUM adds the
+     * quantities, MAX keeps the larger, LATEST keeps the more recently updated item whole; SUM and MAX
+     * keep the details (name, price) of the more recent one, and SUM stops at the maximum. Ties go to
+     * the user's item.
+     * Returns the number of guest items merged.
+     */
+    static final RedisScript<Long> MERGE = new DefaultRedisScript<>(LIBRARY + """
+            local guest = redis.call('HGETALL', KEYS[1])
+            for i = 1, #guest, 2 do
+              local field, incoming = guest[i], guest[i + 1]
+              local current = redis.call('HGET', KEYS[2], field)
+              local merged = incoming
+              if current then
+                local newer, older = incoming, current
+                if updatedAtOf(current) >= updatedAtOf(incoming) then newer, older = current, incoming end
+                if ARGV[1] == 'SUM' then
+                  local sum = math.min(quantityOf(newer) + quantityOf(older), MAX_QUANTITY)
+                  merged = withQuantity(newer, sum, updatedAtOf(newer))
+                elseif ARGV[1] == 'MAX' then
+                  merged = withQuantity(newer, math.max(quantityOf(newer), quantityOf(older)), updatedAtOf(newer))
+                else
+                  merged = newer
+                end
+              end
+              redis.call('HSET', KEYS[2], field, merged)
+            end
+            redis.call('DEL', KEYS[1])
+            redis.call('ZREM', KEYS[3], ARGV[3])
+            redis.call('EXPIRE', KEYS[2], ARGV[2])
+            touch(KEYS[2], KEYS[3], ARGV[4], ARGV[5])
+            return #guest / 2
+            """, Long.class);
+
+    /**
+     * KEYS: activity. ARGV: cutoff (epoch s), limit.
+     * Takes up to {@code limit} of the least recently touched owners at or before the cutoff out of
+     * the index and returns them with their scores (owner, last touched, ...). Every call does
+     * O(log N + limit) work whatever the index size, and concurrent scanners never claim the same
+     * owner.
+     */
+    @SuppressWarnings("rawtypes")
+    static final RedisScript<List> CLAIM_IDLE = new DefaultRedisScript<>("""
+            local idle = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'WITHSCORES', 'LIMIT', 0, tonumber(ARGV[2]))
+            for i = 1, #idle, 2 do
+              redis.call('ZREM', KEYS[1], idle[i])
+            end
+            return idle
+            """, List.class);
+
+    static final List<RedisScript<?>> ALL = List.of(ADD, SET_QUANTITY, REMOVE, CLEAR, BATCH, MERGE, CLAIM_IDLE);
+
+    private CartScripts() {
+    }
+}
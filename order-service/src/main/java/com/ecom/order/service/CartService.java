@@ -1,22 +1,44 @@
 package com.ecom.order.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ecom.common.exception.BadRequestException;
+import com.ecom.common.exception.ResourceNotFoundException;
+import com.ecom.order.dto.CartItem;
+import com.ecom.order.dto.CartOperation;
+import com.ecom.order.dto.CartOperationResult;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.HashOperations;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Service;
 
+import jakarta.annotation.PostConstruct;
+
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
-import java.util.HashMap;
-import java.util.Map;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Cart backed by Redis — no MySQL table needed.
  * Key format: cart:{userId}
  * Hash field: productId:variantId
- * Hash value: JSON with quantity, productName, price
+ * Hash value: a {@link CartItem} in {@link CartItemCodec}'s binary format (legacy entries: JSON)
+ *
+ * Every mutation is one Lua script ({@link CartScripts}): it changes the item and refreshes the
+ * cart's TTL and activity entry in a single round trip, atomically, so concurrent updates from
+ * several clients cannot overwrite each other. The scripts are loaded at startup and invoked by SHA.
  */
 @Service
 @RequiredArgsConstructor
@@ -24,63 +46,177 @@ import java.util.Map;
 public class CartService {
 
     private final StringRedisTemplate redisTemplate;
-    private final ObjectMapper objectMapper;
+    private final CartItemCodec codec;
 
-    private static final Duration CART_TTL = Duration.ofHours(24);
+    @Value("${cart.batch.max-operations:100}")
+    private int maxBatchOperations;
+
+    @Value("${cart.merge.default-strategy:SUM}")
+    private MergeStrategy defaultMergeStrategy;
 
-    public void addItem(String userId, String productId, String variantId,
-            String productName, double price, int quantity) {
-        String cartKey = getCartKey(userId);
-        String itemKey = productId + ":" + (variantId != null ? variantId : "default");
+    /** How a guest cart item is combined with the same item already in the user's cart. */
+    public enum MergeStrategy {
+        SUM, MAX, LATEST
+    }
 
-        Map<String, Object> item = new HashMap<>();
-        item.put("productId", productId);
-        item.put("variantId", variantId);
-        item.put("productName", productName);
-        item.put("price", price);
-        item.put("quantity", quantity);
+    static final String CART_KEY_PREFIX = "cart:";
 
-        try {
-            redisTemplate.opsForHash().put(cartKey, itemKey, objectMapper.writeValueAsString(item));
-            redisTemplate.expire(cartKey, CART_TTL);
-            log.info("Cart item added: userId={}, product={}, qty={}", userId, productId, quantity);
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException("Failed to serialize cart item", e);
+    /**
+     * Sorted set of cart owner → last mutation (epoch s), kept by the cart scripts: the index
+     * {@link AbandonedCartScanner} pages through instead of scanning the keyspace.
+     */
+    static final String ACTIVITY_KEY = "carts:activity";
+
+    private static final Duration CART_TTL = Duration.ofHours(24);
+    private static final RedisSerializer<Long> LONG = new GenericToStringSerializer<>(Long.class);
+
+    /**
+     * The cart scripts span several keys of different slots (see {@link CartScripts}).
+     */
+    @PostConstruct
+    void requireSingleNode() {
+        if (redisTemplate.getConnectionFactory() instanceof LettuceConnectionFactory factory && factory.isClusterAware()) {
+            throw new IllegalStateException("Carts need a standalone or Sentinel Redis, not a cluster");
         }
     }
 
-    public void updateQuantity(String userId, String productId, String variantId, int quantity) {
-        String cartKey = getCartKey(userId);
-        String itemKey = productId + ":" + (variantId != null ? variantId : "default");
+    /**
+     * Load the scripts so the first mutation after a Redis restart or failover is already an
+     * EVALSHA. A script Redis has lost is re-sent with EVAL once and cached again.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadScripts() {
+        try {
+            redisTemplate.execute((RedisCallback<Void>) connection -> {
+                CartScripts.ALL.forEach(script -> load(connection, script));
+                return null;
+            });
+        } catch (DataAccessException e) {
+            log.warn("Cart scripts not preloaded, they will load on first use", e);
+        }
+    }
 
-        String itemJson = (String) redisTemplate.opsForHash().get(cartKey, itemKey);
-        if (itemJson == null) {
-            throw new RuntimeException("Item not found in cart");
+    /**
+     * Add {@code item.quantity} of an item; adding an item that is already in the cart sums the quantities.
+     *
+     * @return the item's quantity in the cart afterwards
+     * @throws BadRequestException if the sum would exceed {@link CartItem#MAX_QUANTITY}
+     */
+    public long addItem(String userId, CartItem item) {
+        Instant now = Instant.now();
+        item.setUpdatedAt(now);
+        Long total = redisTemplate.execute(CartScripts.ADD, RedisSerializer.byteArray(), LONG, cartKeys(userId),
+                bytes(itemKey(item.getProductId(), item.getVariantId())), codec.encode(item), bytes(ttlSeconds()),
+                bytes(userId), bytes(String.valueOf(now.getEpochSecond())));
+        if (total != null && total < 0) {
+            throw new BadRequestException("At most " + CartItem.MAX_QUANTITY + " of " + item.getProductId()
+                    + " per cart");
         }
+        log.info("Cart item added: userId={}, product={}, qty={}, total={}",
+                userId, item.getProductId(), item.getQuantity(), total);
+        return total != null ? total : item.getQuantity();
+    }
 
-        try {
-            Map<String, Object> item = objectMapper.readValue(itemJson, Map.class);
-            item.put("quantity", quantity);
-            redisTemplate.opsForHash().put(cartKey, itemKey, objectMapper.writeValueAsString(item));
-            log.info("Cart item updated: userId={}, product={}, qty={}", userId, productId, quantity);
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException("Failed to update cart item", e);
+    public void updateQuantity(String userId, String productId, String variantId, int quantity) {
+        requireQuantity(productId, quantity);
+        Long updated = redisTemplate.execute(CartScripts.SET_QUANTITY, cartKeys(userId),
+                itemKey(productId, variantId), String.valueOf(quantity),
+                String.valueOf(Instant.now().getEpochSecond()), ttlSeconds(), userId);
+        if (updated == null || updated == 0) {
+            throw new ResourceNotFoundException("Item not found in cart");
         }
+        log.info("Cart item updated: userId={}, product={}, qty={}", userId, productId, quantity);
     }
 
     public void removeItem(String userId, String productId, String variantId) {
-        String cartKey = getCartKey(userId);
-        String itemKey = productId + ":" + (variantId != null ? variantId : "default");
-        redisTemplate.opsForHash().delete(cartKey, itemKey);
+        redisTemplate.execute(CartScripts.REMOVE, cartKeys(userId), ttlSeconds(), userId, nowSeconds(),
+                itemKey(productId, variantId));
         log.info("Cart item removed: userId={}, product={}", userId, productId);
     }
 
-    public Map<Object, Object> getCart(String userId) {
-        return redisTemplate.opsForHash().entries(getCartKey(userId));
+    public List<CartItem> getCart(String userId) {
+        byte[] cartKey = bytes(getCartKey(userId));
+        List<byte[]> values = redisTemplate.execute(
+                (RedisCallback<List<byte[]>>) connection -> connection.hashCommands().hVals(cartKey));
+        return values == null ? List.of() : values.stream().map(codec::decode).toList();
+    }
+
+    /**
+     * Apply many operations in one atomic round trip, in order — e.g. a client replaying offline edits.
+     */
+    public List<CartOperationResult> applyBatch(String userId, List<CartOperation> operations) {
+        if (operations.size() > maxBatchOperations) {
+            throw new BadRequestException("At most " + maxBatchOperations + " operations per cart batch");
+        }
+        Instant now = Instant.now();
+        List<byte[]> args = new ArrayList<>(3 + operations.size() * 3);
+        args.add(bytes(ttlSeconds()));
+        args.add(bytes(String.valueOf(now.getEpochSecond())));
+        args.add(bytes(userId));
+        for (CartOperation operation : operations) {
+            args.add(bytes(switch (operation.getType()) {
+                case ADD -> "A";
+                case SET_QUANTITY -> "S";
+                case REMOVE -> "R";
+            }));
+            args.add(bytes(itemKey(operation.getProductId(), operation.getVariantId())));
+            args.add(switch (operation.getType()) {
+                case ADD -> codec.encode(toItem(operation, now));
+                case SET_QUANTITY -> bytes(String.valueOf(requireQuantity(operation)));
+                case REMOVE -> new byte[0];
+            });
+        }
+        List<?> results = redisTemplate.execute(CartScripts.BATCH, RedisSerializer.byteArray(), null,
+                cartKeys(userId), args.toArray());
+        List<CartOperationResult> outcomes = new ArrayList<>(operations.size());
+        for (int i = 0; i < operations.size(); i++) {
+            CartOperation operation = operations.get(i);
+            long result = results != null ? ((Number) results.get(i)).longValue() : 0;
+            outcomes.add(CartOperationResult.builder()
+                    .type(operation.getType())
+                    .productId(operation.getProductId())
+                    .variantId(operation.getVariantId())
+                    .applied(result > 0)
+                    .quantity(operation.getType() == CartOperation.Type.ADD && result > 0 ? result : null)
+                    .build());
+        }
+        log.info("Cart batch applied: userId={}, operations={}", userId, operations.size());
+        return outcomes;
+    }
+
+    /**
+     * Fold a guest cart into the user's cart and delete the guest cart, atomically. Items in both
+     * carts are resolved by {@code strategy}, or the configured default when it is null.
+     *
+     * @return the number of guest items merged
+     */
+    public long merge(String userId, String guestId, MergeStrategy strategy) {
+        if (userId.equals(guestId)) {
+            throw new BadRequestException("Cannot merge a cart into itself");
+        }
+        MergeStrategy rule = strategy != null ? strategy : defaultMergeStrategy;
+        Long merged = redisTemplate.execute(CartScripts.MERGE,
+                List.of(getCartKey(guestId), getCartKey(userId), ACTIVITY_KEY),
+                rule.name(), ttlSeconds(), guestId, userId, nowSeconds());
+        log.info("Guest cart merged: guestId={}, userId={}, items={}, strategy={}", guestId, userId, merged, rule);
+        return merged != null ? merged : 0;
+    }
+
+    /**
+     * Remove the lines a checkout ordered, keeping anything added to the cart meanwhile.
+     */
+    public void removeLines(String userId, Collection<CartItem> lines) {
+        if (lines.isEmpty()) {
+            return;
+        }
+        Object[] args = Stream.concat(Stream.of(ttlSeconds(), userId, nowSeconds()),
+                lines.stream().map(line -> itemKey(line.getProductId(), line.getVariantId()))).toArray();
+        redisTemplate.execute(CartScripts.REMOVE, cartKeys(userId), args);
+        log.info("Cart lines removed: userId={}, lines={}", userId, lines.size());
     }
 
     public void clearCart(String userId) {
-        redisTemplate.delete(getCartKey(userId));
+        redisTemplate.execute(CartScripts.CLEAR, cartKeys(userId), userId);
         log.info("Cart cleared: userId={}", userId);
     }
 
@@ -88,7 +224,63 @@ public class CartService {
         return redisTemplate.opsForHash().size(getCartKey(userId));
     }
 
-    private String getCartKey(String userId) {
-        return "cart:" + userId;
+    // ── Helpers ──
+
+    private static CartItem toItem(CartOperation operation, Instant now) {
+        if (operation.getPrice() == null) {
+            throw new BadRequestException("Price is required to add " + operation.getProductId());
+        }
+        return CartItem.builder()
+                .productId(operation.getProductId())
+                .variantId(operation.getVariantId())
+                .productName(operation.getProductName())
+                .price(operation.getPrice())
+                .quantity(requireQuantity(operation))
+                .updatedAt(now)
+                .build();
+    }
+
+    private static int requireQuantity(CartOperation operation) {
+        if (operation.getQuantity() == null) {
+            throw new BadRequestException("Quantity must be at least 1 for " + operation.getProductId());
+        }
+        return requireQuantity(operation.getProductId(), operation.getQuantity());
+    }
+
+    private static int requireQuantity(String productId, int quantity) {
+        if (quantity < 1 || quantity > CartItem.MAX_QUANTITY) {
+            throw new BadRequestException("Quantity must be between 1 and " + CartItem.MAX_QUANTITY + " for "
+                    + productId);
+        }
+        return quantity;
+    }
+
+    private static String getCartKey(String userId) {
+        return CART_KEY_PREFIX + userId;
+    }
+
+    private static List<String> cartKeys(String userId) {
+        return List.of(getCartKey(userId), ACTIVITY_KEY);
+    }
+
+    private static String itemKey(String productId, String variantId) {
+        return productId + ":" + (variantId != null ? variantId : "default");
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String ttlSeconds() {
+        return String.valueOf(CART_TTL.toSeconds());
+    }
+
+    private static String nowSeconds() {
+        return String.valueOf(Instant.now().getEpochSecond());
+    }
+
+    private static void load(RedisConnection connection, RedisScript<?> script) {
+        String sha = connection.scriptingCommands().scriptLoad(script.getScriptAsString().getBytes(StandardCharsets.UTF_8));
+        log.debug("Cart script loaded: sha={}", sha);
     }
 }
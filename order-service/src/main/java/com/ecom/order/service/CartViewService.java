@@ -0,0 +1,133 @@
+package com.ecom.order.service;
+
+import com.ecom.common.exception.ServiceUnavailableException;
+import com.ecom.order.client.CatalogClient;
+import com.ecom.order.dto.CartItem;
+import com.ecom.order.dto.CartLineView;
+import com.ecom.order.dto.CartView;
+import com.ecom.order.dto.CatalogVariantPrice;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Renders a cart with every line checked against the catalog. The price stored with a line is
+ * whatever the client sent when adding it, so each line is flagged when its price has changed, its
+ * variant is no longer on sale, or there is not enough stock for it.
+ *
+ * Variants are looked up in a short-lived local cache first; all misses go to catalog-service in
+ * a single batch request, so a render costs at most one catalog call however many lines it has.
+ * The flags are advisory — checkout re-prices and reserves stock authoritatively.
+ */
+@Service
+@Slf4j
+public class CartViewService {
+
+    private final CartService cartService;
+    private final CatalogClient catalogClient;
+    private final Cache<String, CatalogVariantPrice> prices;
+
+    public CartViewService(CartService cartService, CatalogClient catalogClient, MeterRegistry meterRegistry,
+            @Value("${cart.view.price-ttl:15s}") Duration priceTtl,
+            @Value("${cart.view.price-cache-size:20000}") long priceCacheSize) {
+        this.cartService = cartService;
+        this.catalogClient = catalogClient;
+        this.prices = Caffeine.newBuilder()
+                .maximumSize(priceCacheSize)
+                .expireAfterWrite(priceTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, prices, "cart.variant.prices");
+    }
+
+    public CartView getView(String userId) {
+        List<CartItem> items = cartService.getCart(userId);
+        Map<String, CatalogVariantPrice> current;
+        try {
+            current = lookup(items.stream()
+                    .map(CartItem::getVariantId)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet()));
+        } catch (RestClientException | ServiceUnavailableException e) {
+            // The cart still renders, as stored
+            log.warn("Cart shown unvalidated, catalog lookup failed: userId={}", userId, e);
+            return unvalidated(items);
+        }
+
+        List<CartLineView> lines = items.stream().map(item -> lineView(item, current)).toList();
+        BigDecimal subtotal = lines.stream()
+                .filter(line -> !line.isInactive())
+                .map(line -> Objects.requireNonNullElse(line.getCurrentPrice(), line.getItem().getPrice())
+                        .multiply(BigDecimal.valueOf(line.getItem().getQuantity())))
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return CartView.builder()
+                .lines(lines)
+                .subtotal(subtotal)
+                .validated(true)
+                .build();
+    }
+
+    // ── Helpers ──
+
+    /**
+     * Cached variants, plus every miss fetched in one catalog request. Variants the catalog no
+     * longer knows are not cached, so they are asked for again on the next render.
+     */
+    private Map<String, CatalogVariantPrice> lookup(Set<String> variantIds) {
+        Map<String, CatalogVariantPrice> found = new HashMap<>(prices.getAllPresent(variantIds));
+        List<String> missing = variantIds.stream().filter(id -> !found.containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            for (CatalogVariantPrice price : catalogClient.getVariantPrices(missing)) {
+                prices.put(price.getVariantId(), price);
+                found.put(price.getVariantId(), price);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * A line without a variant is shown as stored; checkout asks for a variant before pricing it.
+     */
+    private static CartLineView lineView(CartItem item, Map<String, CatalogVariantPrice> current) {
+        if (item.getVariantId() == null) {
+            return CartLineView.builder().item(item).build();
+        }
+        CatalogVariantPrice variant = current.get(item.getVariantId());
+        if (variant == null) {
+            return CartLineView.builder().item(item).inactive(true).build();
+        }
+        return CartLineView.builder()
+                .item(item)
+                .currentPrice(variant.getPrice())
+                .variantName(variant.getVariantName())
+                .availableStock(variant.availableStock())
+                .priceChanged(variant.getPrice() != null && variant.getPrice().compareTo(item.getPrice()) != 0)
+                .inactive(!variant.isOnSale())
+                .outOfStock(variant.availableStock() < item.getQuantity())
+                .build();
+    }
+
+    private static CartView unvalidated(List<CartItem> items) {
+        return CartView.builder()
+                .lines(items.stream().map(item -> CartLineView.builder().item(item).build()).toList())
+                .subtotal(items.stream()
+                        .map(item -> item.getPrice().multiply(BigDecimal.valueOf(item.getQuantity())))
+                        .reduce(BigDecimal.ZERO, BigDecimal::add))
+                .validated(false)
+                .build();
+    }
+}
@@ -0,0 +1,244 @@
+package com.ecom.order.service;
+
+import com.ecom.common.exception.BadRequestException;
+import com.ecom.common.exception.ConflictException;
+import com.ecom.common.exception.ServiceUnavailableException;
+import com.ecom.order.client.CatalogClient;
+import com.ecom.order.dto.CartItem;
+import com.ecom.order.dto.CatalogProduct;
+import com.ecom.order.dto.CheckoutRequest;
+import com.ecom.order.dto.StockReservation;
+import com.ecom.order.entity.Coupon;
+import com.ecom.order.entity.Order;
+import com.ecom.order.entity.OrderItem;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Turns a user's Redis cart into an order.
+ *
+ * The coupon is checked in memory up front. Price re-validation (one catalog read per product) and
+ * the stock reservation then run side by side, each under its own deadline, so checkout takes as
+ * long as the slower of them rather than their sum. The order is priced from the catalog's answers
+ * — never from the prices cached in the cart — the coupon redeemed, and the order created through
+ * {@link OrderService#createOrder}.
+ *
+ * If anything fails after stock was held, the hold is released, and so is the coupon redemption.
+ * That includes a reservation that only answers after its deadline has passed: its late result is
+ * released when it arrives.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CheckoutService {
+
+    private final CartService cartService;
+    private final CatalogClient catalogClient;
+    private final CouponEngine couponEngine;
+    private final OrderService orderService;
+    private final ExecutorService checkoutExecutor;
+    private final ObjectMapper objectMapper;
+
+    @Value("${checkout.deadlines.product:800ms}")
+    private Duration productDeadline;
+
+    @Value("${checkout.deadlines.reservation:1500ms}")
+    private Duration reservationDeadline;
+
+    public Order checkout(String userId, CheckoutRequest request) {
+        // A retry after the cart was cleared still answers with the order it placed
+        Optional<Order> existing = orderService.findByIdempotencyKey(request.getIdempotencyKey());
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+
+        List<CartItem> lines = cartService.getCart(userId);
+        if (lines.isEmpty()) {
+            throw new BadRequestException("Cart is empty");
+        }
+        for (CartItem line : lines) {
+            if (line.getVariantId() == null) {
+                throw new BadRequestException("Choose a variant for product " + line.getProductId());
+            }
+        }
+        Coupon coupon = request.getCouponCode() != null ? couponEngine.find(request.getCouponCode()) : null;
+
+        CompletableFuture<StockReservation> reservationCall = async(() -> catalogClient.reserveBatch(lines, userId));
+        boolean couponRedeemed = false;
+        try {
+            Map<String, CompletableFuture<Optional<CatalogProduct>>> products = lines.stream()
+                    .map(CartItem::getProductId)
+                    .distinct()
+                    .collect(Collectors.toMap(id -> id,
+                            id -> withDeadline(async(() -> catalogClient.getProduct(id)), productDeadline),
+                            (a, b) -> a, LinkedHashMap::new));
+            // The deadline goes on a copy: the call itself must still complete so a late hold can be released
+            CompletableFuture<StockReservation> reservation = withDeadline(reservationCall.copy(), reservationDeadline);
+
+            List<CompletableFuture<?>> calls = new ArrayList<>(products.values());
+            calls.add(reservation);
+            CompletableFuture.allOf(calls.toArray(CompletableFuture[]::new)).join();
+
+            StockReservation held = reservation.join();
+            if (!held.isSuccess()) {
+                throw new ConflictException("Insufficient stock: " + shortfall(held));
+            }
+            Order order = buildOrder(userId, request, lines, products, coupon, held);
+            if (coupon != null) {
+                couponEngine.redeem(coupon, userId);
+                couponRedeemed = true;
+            }
+            Order created = orderService.createOrder(order);
+            if (!held.getReservationId().equals(created.getReservationId())) {
+                // A concurrent duplicate checkout placed the order with its own hold and redemption
+                releaseWhenHeld(reservationCall);
+                if (couponRedeemed) {
+                    couponEngine.release(coupon, userId);
+                }
+            }
+            log.info("Checkout complete: userId={}, orderId={}, lines={}", userId, created.getId(), lines.size());
+            clearCheckedOut(userId, lines);
+            return created;
+        } catch (RuntimeException e) {
+            releaseWhenHeld(reservationCall);
+            if (couponRedeemed) {
+                couponEngine.release(coupon, userId);
+            }
+            throw translate(e);
+        }
+    }
+
+    // ── Helpers ──
+
+    /**
+     * The order stands even if Redis is unavailable; the user just still sees the lines in the cart.
+     */
+    private void clearCheckedOut(String userId, List<CartItem> lines) {
+        try {
+            cartService.removeLines(userId, lines);
+        } catch (Exception e) {
+            log.warn("Failed to clear checked-out cart lines: userId={}", userId, e);
+        }
+    }
+
+    private Order buildOrder(String userId, CheckoutRequest request, List<CartItem> lines,
+            Map<String, CompletableFuture<Optional<CatalogProduct>>> products, Coupon coupon,
+            StockReservation reservation) {
+        List<OrderItem> items = new ArrayList<>(lines.size());
+        BigDecimal subtotal = BigDecimal.ZERO;
+        for (CartItem line : lines) {
+            CatalogProduct product = products.get(line.getProductId()).join()
+                    .filter(CatalogProduct::isActive)
+                    .orElseThrow(() -> new BadRequestException("Product no longer available: " + line.getProductId()));
+            CatalogProduct.Variant variant = Optional.ofNullable(product.getVariants()).orElse(List.of()).stream()
+                    .filter(v -> v.getId().equals(line.getVariantId()) && Boolean.TRUE.equals(v.getIsActive()))
+                    .findFirst()
+                    .orElseThrow(() -> new BadRequestException("Variant no longer available: " + line.getVariantId()));
+            BigDecimal unitPrice = variant.getPrice() != null ? variant.getPrice() : product.getBasePrice();
+            BigDecimal totalPrice = unitPrice.multiply(BigDecimal.valueOf(line.getQuantity()));
+            items.add(OrderItem.builder()
+                    .productId(product.getId())
+                    .variantId(variant.getId())
+                    .productName(product.getName())
+                    .variantName(variant.getName())
+                    .quantity(line.getQuantity())
+                    .unitPrice(unitPrice)
+                    .totalPrice(totalPrice)
+                    .build());
+            subtotal = subtotal.add(totalPrice);
+        }
+
+        BigDecimal discount = coupon != null ? couponEngine.discountFor(coupon, subtotal) : BigDecimal.ZERO;
+        Order order = Order.builder()
+                .userId(userId)
+                .subtotal(subtotal)
+                .discountAmount(discount)
+                .totalAmount(subtotal.subtract(discount))
+                .couponId(coupon != null ? coupon.getId() : null)
+                .reservationId(reservation.getReservationId())
+                .shippingAddressSnapshot(toJson(request.getShippingAddress()))
+                .idempotencyKey(request.getIdempotencyKey())
+                .notes(request.getNotes())
+                .build();
+        order.getItems().addAll(items);
+        return order;
+    }
+
+    private <T> CompletableFuture<T> async(Supplier<T> call) {
+        try {
+            return CompletableFuture.supplyAsync(call, checkoutExecutor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static <T> CompletableFuture<T> withDeadline(CompletableFuture<T> call, Duration deadline) {
+        return call.orTimeout(deadline.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Release the hold whenever the reservation call completes — now, or after a missed deadline.
+     */
+    private void releaseWhenHeld(CompletableFuture<StockReservation> reservationCall) {
+        reservationCall.thenAccept(reservation -> {
+            if (reservation.isSuccess()) {
+                try {
+                    catalogClient.releaseReservation(reservation.getReservationId());
+                    log.info("Checkout stock hold released: reservationId={}", reservation.getReservationId());
+                } catch (Exception e) {
+                    // The hold expires on its own
+                    log.warn("Failed to release checkout stock hold: reservationId={}",
+                            reservation.getReservationId(), e);
+                }
+            }
+        });
+    }
+
+    private static String shortfall(StockReservation reservation) {
+        return Optional.ofNullable(reservation.getLines()).orElse(List.of()).stream()
+                .filter(line -> !line.isSuccess())
+                .map(line -> line.getVariantId() + " (" + Objects.requireNonNullElse(line.getMessage(), "unavailable") + ")")
+                .collect(Collectors.joining(", "));
+    }
+
+    private static RuntimeException translate(RuntimeException e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        if (cause instanceof TimeoutException) {
+            return new ServiceUnavailableException("Checkout timed out waiting for a downstream service", cause);
+        }
+        if (cause instanceof RestClientException || cause instanceof RejectedExecutionException) {
+            return new ServiceUnavailableException("Checkout could not reach catalog-service", cause);
+        }
+        return cause instanceof RuntimeException runtime ? runtime : new IllegalStateException(cause);
+    }
+
+    private String toJson(Map<String, Object> shippingAddress) {
+        try {
+            return objectMapper.writeValueAsString(shippingAddress);
+        } catch (JsonProcessingException e) {
+            throw new BadRequestException("Invalid shipping address");
+        }
+    }
+}
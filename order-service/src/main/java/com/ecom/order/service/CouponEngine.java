@@ -0,0 +1,221 @@
+package com.ecom.order.service;
+
+import com.ecom.common.exception.BadRequestException;
+import com.ecom.common.exception.ServiceUnavailableException;
+import com.ecom.order.entity.Coupon;
+import com.ecom.order.repository.CouponRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Coupon validation and redemption without touching the coupons table on the checkout path.
+ *
+ * Live coupons are held in memory by code and reloaded every refresh interval, so finding a coupon
+ * and pricing its discount are map lookups. Usage limits are enforced by Redis counters, checked
+ * and incremented in one script, so concurrent checkouts can never redeem a limited coupon past
+ * its limit. {@link CouponUsageReconciler} copies the counters back to {@code used_count}.
+ *
+ * A counter missing from Redis (never used yet, or lost) is seeded from the database before the
+ * redemption is counted. Keys: coupon:{couponId}:used, coupon:{couponId}:user:{userId} — the hash
+ * tag keeps both keys of a redemption in one cluster slot.
+ */
+@Component
+@Slf4j
+public class CouponEngine {
+
+    private static final long UNLIMITED = -1;
+    private static final long LIMIT_REACHED = -1;
+    private static final long USER_LIMIT_REACHED = -2;
+    private static final long COUNTER_MISSING = -3;
+    private static final String NO_SEED = "";
+
+    /**
+     * KEYS: global counter, user counter. ARGV: usage limit, per-user limit (-1 = none),
+     * expire-at (epoch s), global seed, user seed ('' = not loaded).
+     * Returns the new global count, or LIMIT_REACHED / USER_LIMIT_REACHED / COUNTER_MISSING.
+     */
+    private static final RedisScript<Long> REDEEM = new DefaultRedisScript<>(
+            "local used = redis.call('GET', KEYS[1]) or ARGV[4] "
+                    + "local mine = redis.call('GET', KEYS[2]) or ARGV[5] "
+                    + "if used == '' or mine == '' then return -3 end "
+                    + "used = tonumber(used) mine = tonumber(mine) "
+                    + "if tonumber(ARGV[1]) >= 0 and used >= tonumber(ARGV[1]) then return -1 end "
+                    + "if tonumber(ARGV[2]) >= 0 and mine >= tonumber(ARGV[2]) then return -2 end "
+                    + "redis.call('SET', KEYS[1], used + 1) "
+                    + "redis.call('EXPIREAT', KEYS[1], ARGV[3]) "
+                    + "redis.call('SET', KEYS[2], mine + 1) "
+                    + "redis.call('EXPIREAT', KEYS[2], ARGV[3]) "
+                    + "return used + 1",
+            Long.class);
+
+    /** KEYS: global counter, user counter. Takes one redemption back from each. */
+    private static final RedisScript<Long> RELEASE = new DefaultRedisScript<>(
+            "for i = 1, 2 do "
+                    + "if tonumber(redis.call('GET', KEYS[i]) or '0') > 0 then redis.call('DECR', KEYS[i]) end "
+                    + "end "
+                    + "return 1",
+            Long.class);
+
+    private final CouponRepository couponRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final Counter redeemed;
+    private final Counter limitReached;
+    private final Counter userLimitReached;
+
+    private volatile Map<String, Coupon> byCode = Map.of();
+
+    /** Counters outlive a coupon's validity by this much, so the reconciler sees the final count. */
+    @Value("${coupons.counter-retention:7d}")
+    private Duration counterRetention;
+
+    /** Expired coupons stay indexed this long, for the reconciler's last pass. */
+    @Value("${coupons.expired-grace:1d}")
+    private Duration expiredGrace;
+
+    public CouponEngine(CouponRepository couponRepository, StringRedisTemplate redisTemplate,
+            MeterRegistry meterRegistry) {
+        this.couponRepository = couponRepository;
+        this.redisTemplate = redisTemplate;
+        this.redeemed = redemptions(meterRegistry, "redeemed");
+        this.limitReached = redemptions(meterRegistry, "limit_reached");
+        this.userLimitReached = redemptions(meterRegistry, "user_limit_reached");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${coupons.refresh-interval-ms:30000}",
+            initialDelayString = "${coupons.refresh-interval-ms:30000}")
+    public void refresh() {
+        try {
+            byCode = couponRepository.findLive(LocalDateTime.now().minus(expiredGrace)).stream()
+                    .collect(Collectors.toUnmodifiableMap(Coupon::getCode, Function.identity()));
+            log.debug("Coupon index refreshed: coupons={}", byCode.size());
+        } catch (DataAccessException e) {
+            log.warn("Coupon index refresh failed, keeping {} coupons", byCode.size(), e);
+        }
+    }
+
+    /**
+     * @throws BadRequestException if the code is unknown, inactive or outside its validity window
+     */
+    public Coupon find(String code) {
+        Coupon coupon = byCode.get(code.trim());
+        if (coupon == null) {
+            throw new BadRequestException("Unknown coupon: " + code);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (now.isBefore(coupon.getValidFrom()) || now.isAfter(coupon.getValidUntil())) {
+            throw new BadRequestException("Coupon is not valid: " + code);
+        }
+        return coupon;
+    }
+
+    /**
+     * The discount {@code coupon} gives on {@code subtotal} — never more than the subtotal itself.
+     */
+    public BigDecimal discountFor(Coupon coupon, BigDecimal subtotal) {
+        if (coupon.getMinOrderAmount() != null && subtotal.compareTo(coupon.getMinOrderAmount()) < 0) {
+            throw new BadRequestException("Coupon " + coupon.getCode() + " needs an order of at least "
+                    + coupon.getMinOrderAmount());
+        }
+        BigDecimal discount = switch (coupon.getDiscountType()) {
+            case PERCENTAGE -> subtotal.multiply(coupon.getDiscountValue())
+                    .divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
+            case FIXED -> coupon.getDiscountValue();
+        };
+        if (coupon.getMaxDiscount() != null) {
+            discount = discount.min(coupon.getMaxDiscount());
+        }
+        return discount.min(subtotal);
+    }
+
+    /**
+     * Count one use of {@code coupon} by {@code userId}, or refuse it if either limit is reached.
+     * Redis being unavailable refuses it too — a limited coupon is never redeemed uncounted.
+     */
+    public void redeem(Coupon coupon, String userId) {
+        List<String> keys = List.of(usedKey(coupon.getId()), userKey(coupon.getId(), userId));
+        long expireAt = coupon.getValidUntil().plus(counterRetention).atZone(ZoneId.systemDefault()).toEpochSecond();
+        String usageLimit = String.valueOf(coupon.getUsageLimit() != null ? coupon.getUsageLimit() : UNLIMITED);
+        String perUserLimit = String.valueOf(coupon.getPerUserLimit() != null ? coupon.getPerUserLimit() : UNLIMITED);
+        try {
+            Long result = redisTemplate.execute(REDEEM, keys, usageLimit, perUserLimit, String.valueOf(expireAt),
+                    NO_SEED, NO_SEED);
+            if (result != null && result == COUNTER_MISSING) {
+                result = redisTemplate.execute(REDEEM, keys, usageLimit, perUserLimit, String.valueOf(expireAt),
+                        String.valueOf(couponRepository.countRedemptions(coupon.getId())),
+                        String.valueOf(couponRepository.countRedemptionsByUser(coupon.getId(), userId)));
+            }
+            if (result == null || result == COUNTER_MISSING) {
+                throw new ServiceUnavailableException("Coupon redemption could not be counted");
+            }
+            if (result == LIMIT_REACHED) {
+                limitReached.increment();
+                throw new BadRequestException("Coupon usage limit reached: " + coupon.getCode());
+            }
+            if (result == USER_LIMIT_REACHED) {
+                userLimitReached.increment();
+                throw new BadRequestException("You have already used coupon " + coupon.getCode());
+            }
+            redeemed.increment();
+        } catch (DataAccessException e) {
+            throw new ServiceUnavailableException("Coupon redemption could not be counted", e);
+        }
+    }
+
+    /**
+     * Give back a redemption whose order was never placed. Best effort: a failed release leaves the
+     * count one too high, which can only refuse a redemption, never allow an extra one.
+     */
+    public void release(Coupon coupon, String userId) {
+        try {
+            redisTemplate.execute(RELEASE, List.of(usedKey(coupon.getId()), userKey(coupon.getId(), userId)));
+        } catch (DataAccessException e) {
+            log.warn("Failed to release coupon redemption: couponId={}, userId={}", coupon.getId(), userId, e);
+        }
+    }
+
+    /**
+     * The coupons currently indexed, for reconciliation.
+     */
+    public Collection<Coupon> indexed() {
+        return byCode.values();
+    }
+
+    static String usedKey(String couponId) {
+        return "coupon:{" + couponId + "}:used";
+    }
+
+    // ── Helpers ──
+
+    private static String userKey(String couponId, String userId) {
+        return "coupon:{" + couponId + "}:user:" + userId;
+    }
+
+    private static Counter redemptions(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("coupons.redemptions")
+                .description("Coupon redemption attempts by outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
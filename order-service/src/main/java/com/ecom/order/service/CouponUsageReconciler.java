@@ -0,0 +1,73 @@
+package com.ecom.order.service;
+
+import com.ecom.order.entity.Coupon;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Copies the Redis redemption counters of indexed coupons to {@code coupons.used_count}: one MGET
+ * and one JDBC batch per chunk of coupons, and only rows whose count changed are written. The
+ * counters stay authoritative; used_count trails them by at most one interval.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CouponUsageReconciler {
+
+    private static final String UPDATE_USED_COUNT =
+            "UPDATE coupons SET used_count = ? WHERE id = ? AND (used_count IS NULL OR used_count <> ?)";
+
+    private final CouponEngine couponEngine;
+    private final StringRedisTemplate redisTemplate;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${coupons.reconcile-batch-size:500}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${coupons.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        try {
+            List<Coupon> coupons = new ArrayList<>(couponEngine.indexed());
+            int counted = 0;
+            for (int from = 0; from < coupons.size(); from += batchSize) {
+                counted += reconcileChunk(coupons.subList(from, Math.min(from + batchSize, coupons.size())));
+            }
+            if (counted > 0) {
+                log.debug("Coupon usage reconciled: coupons={}, counted={}", coupons.size(), counted);
+            }
+        } catch (Exception e) {
+            log.error("Coupon usage reconciliation failed", e);
+        }
+    }
+
+    // ── Helpers ──
+
+    private int reconcileChunk(List<Coupon> coupons) {
+        List<String> counts = redisTemplate.opsForValue()
+                .multiGet(coupons.stream().map(c -> CouponEngine.usedKey(c.getId())).toList());
+        if (counts == null) {
+            return 0;
+        }
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < coupons.size(); i++) {
+            // No counter yet: nothing redeemed since it was last seeded, used_count is current
+            if (counts.get(i) != null) {
+                int used = Integer.parseInt(counts.get(i));
+                rows.add(new Object[] { used, coupons.get(i).getId(), used });
+            }
+        }
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(UPDATE_USED_COUNT, rows);
+        return rows.size();
+    }
+}
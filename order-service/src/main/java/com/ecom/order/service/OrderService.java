@@ -1,22 +1,36 @@
 package com.ecom.order.service;
 
 import com.ecom.common.dto.ApiResponse;
+import com.ecom.common.dto.CursorPage;
+import com.ecom.common.dto.KeysetCursor;
 import com.ecom.common.event.BaseEvent;
 import com.ecom.common.event.EventTypes;
 import com.ecom.common.event.TopicNames;
 import com.ecom.common.exception.ConflictException;
 import com.ecom.common.exception.ResourceNotFoundException;
+import com.ecom.common.id.SnowflakeId;
+import com.ecom.common.id.UuidV7;
+import com.ecom.common.idempotency.IdempotentExecutor;
+import com.ecom.order.dto.OrderItemName;
+import com.ecom.order.dto.OrderSummary;
 import com.ecom.order.entity.Order;
 import com.ecom.order.entity.OrderStatusHistory;
+import com.ecom.order.repository.OrderIdempotencyKeyRepository;
 import com.ecom.order.repository.OrderRepository;
 import com.ecom.order.repository.OrderStatusHistoryRepository;
-import io.awspring.cloud.sns.core.SnsTemplate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -27,76 +41,88 @@ import java.util.UUID;
 @Slf4j
 public class OrderService {
 
+    private static final String IDEMPOTENCY_SCOPE = "order";
+    private static final Duration PARTITION_LOOKUP_SLACK = Duration.ofDays(1);
+
     private final OrderRepository orderRepository;
     private final OrderStatusHistoryRepository statusHistoryRepo;
-    private final SnsTemplate snsTemplate;
+    private final OrderIdempotencyKeyRepository idempotencyKeyRepository;
+    private final OrderTimelineCache timelineCache;
+    private final OutboxService outboxService;
+    private final StockReservationSettler reservationSettler;
+    private final IdempotentExecutor idempotentExecutor;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${orders.history.max-page-size:100}")
+    private int maxPageSize;
 
     /**
-     * Create a new order — idempotent via idempotency key.
+     * Create a new order — idempotent via idempotency key. A retry is answered with the order the
+     * first attempt created, from the idempotency store when it can be.
      */
-    @Transactional
     public Order createOrder(Order order) {
-        // Idempotency check
-        if (order.getIdempotencyKey() != null) {
-            Optional<Order> existing = orderRepository.findByIdempotencyKey(order.getIdempotencyKey());
-            if (existing.isPresent()) {
-                log.info("Duplicate order detected, returning existing: idempotencyKey={}",
-                        order.getIdempotencyKey());
-                return existing.get();
-            }
-        }
-
-        order = orderRepository.save(order);
-        log.info("Order created: id={}, number={}, total={}",
-                order.getId(), order.getOrderNumber(), order.getTotalAmount());
-
-        // Record status history
-        recordStatusChange(order.getId(), null, "PENDING", null, "Order placed");
-
-        // Publish ORDER_CREATED event
-        publishOrderEvent(order, EventTypes.ORDER_CREATED);
+        return idempotentExecutor.execute(IDEMPOTENCY_SCOPE, order.getIdempotencyKey(), Order.class,
+                () -> transactionTemplate.execute(status -> placeOrder(order)),
+                () -> idempotencyKeyRepository.findById(order.getIdempotencyKey())
+                        .flatMap(key -> findOrder(key.getOrderId())));
+    }
 
-        return order;
+    /**
+     * The order an earlier request with this idempotency key created, if any.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Order> findByIdempotencyKey(String idempotencyKey) {
+        return idempotencyKeyRepository.findById(idempotencyKey).flatMap(key -> findOrder(key.getOrderId()));
     }
 
     @Transactional(readOnly = true)
     public Order getOrderById(String id) {
-        return orderRepository.findById(id)
+        return findOrder(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Order", id));
     }
 
+    /**
+     * Order numbers embed their creation time, so the lookup prunes to the matching partitions.
+     * Numbers in the old millisecond format miss that lookup and fall back to the full scan.
+     */
     @Transactional(readOnly = true)
     public Order getOrderByNumber(String orderNumber) {
-        return orderRepository.findByOrderNumber(orderNumber)
+        return SnowflakeId.timestampOfOrderNumber(orderNumber)
+                .flatMap(createdAt -> orderRepository.findByOrderNumberAndCreatedAtBetween(orderNumber,
+                        partitionLookupFrom(createdAt), partitionLookupTo(createdAt)))
+                .or(() -> orderRepository.findByOrderNumber(orderNumber))
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found: " + orderNumber));
     }
 
     @Transactional(readOnly = true)
-    public List<Order> getOrdersByUser(String userId) {
-        return orderRepository.findByUserId(userId);
+    public CursorPage<OrderSummary> getOrderHistory(String userId, String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int limit = Math.max(1, Math.min(size, maxPageSize));
+        List<OrderSummary> page = orderRepository.findHistoryPage(
+                userId, after.createdAt(), after.id(), PageRequest.of(0, limit + 1));
+        withItems(page);
+        return CursorPage.of(page, limit, o -> new KeysetCursor(o.getCreatedAt(), o.getId()).encode());
     }
 
     /**
-     * Update order status and record in history.
+     * Update order status and record in history. The row is locked before the transition is
+     * checked, so of two concurrent updates (or a bulk one) the second sees the first's status.
      */
     @Transactional
     public Order updateStatus(String orderId, Order.OrderStatus newStatus, String changedBy, String note) {
-        Order order = getOrderById(orderId);
+        Order order = lockOrder(orderId).orElseThrow(() -> new ResourceNotFoundException("Order", orderId));
+        if (!order.getStatus().canTransitionTo(newStatus)) {
+            throw new ConflictException("Invalid status transition: " + order.getStatus() + " → " + newStatus);
+        }
         String oldStatus = order.getStatus().name();
         order.setStatus(newStatus);
         order = orderRepository.save(order);
 
         recordStatusChange(orderId, oldStatus, newStatus.name(), changedBy, note);
+        reservationSettler.settleAfterCommit(List.of(order), newStatus);
 
         // Publish appropriate event
-        String eventType = switch (newStatus) {
-            case CONFIRMED -> EventTypes.ORDER_CONFIRMED;
-            case SHIPPED -> EventTypes.ORDER_SHIPPED;
-            case DELIVERED -> EventTypes.ORDER_DELIVERED;
-            case CANCELLED -> EventTypes.ORDER_CANCELLED;
-            default -> null;
-        };
-
+        String eventType = eventTypeFor(newStatus);
         if (eventType != null) {
             publishOrderEvent(order, eventType);
         }
@@ -105,44 +131,146 @@ public class OrderService {
         return order;
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Served from the Redis read model; a miss rebuilds it from order_status_history.
+     */
     public List<OrderStatusHistory> getOrderTimeline(String orderId) {
-        return statusHistoryRepo.findByOrderIdOrderByCreatedAtAsc(orderId);
+        return timelineCache.get(orderId, () -> loadTimeline(orderId));
     }
 
     // ── Helpers ──
 
+    /**
+     * Item count and first item name for a newest-first page. The items were written with their
+     * orders, so one lookup bounded by the page's created_at window covers them all and only touches
+     * that window's partitions.
+     */
+    private void withItems(List<OrderSummary> page) {
+        if (page.isEmpty()) {
+            return;
+        }
+        Map<String, OrderSummary> byId = new HashMap<>();
+        for (OrderSummary order : page) {
+            order.setItemCount(0L);
+            byId.put(order.getId(), order);
+        }
+        LocalDateTime oldest = page.get(page.size() - 1).getCreatedAt();
+        LocalDateTime newest = page.get(0).getCreatedAt();
+        for (OrderItemName item : orderRepository.findItemNames(byId.keySet(),
+                oldest.minus(PARTITION_LOOKUP_SLACK), newest.plus(PARTITION_LOOKUP_SLACK))) {
+            OrderSummary order = byId.get(item.getOrderId());
+            order.setItemCount(order.getItemCount() + 1);
+            if (order.getFirstItemName() == null) {
+                order.setFirstItemName(item.getProductName());
+            }
+        }
+    }
+
+    /**
+     * History rows are written from the order's creation on, so a UUIDv7 id bounds the read to the
+     * partitions from the order's month onwards. Ids from before UUIDv7 read every partition.
+     */
+    private List<OrderStatusHistory> loadTimeline(String orderId) {
+        return UuidV7.timestampOf(orderId)
+                .map(createdAt -> statusHistoryRepo.findByOrderIdAndCreatedAtGreaterThanEqualOrderByCreatedAtAsc(
+                        orderId, partitionLookupFrom(createdAt)))
+                .orElseGet(() -> statusHistoryRepo.findByOrderIdOrderByCreatedAtAsc(orderId));
+    }
+
+    /**
+     * UUIDv7 ids embed their creation time, so the lookup only touches the partitions the order can
+     * be in. Ids from before UUIDv7 carry no time and are looked up across all partitions.
+     */
+    private Optional<Order> findOrder(String id) {
+        Optional<Instant> createdAt = UuidV7.timestampOf(id);
+        if (createdAt.isEmpty()) {
+            return orderRepository.findById(id);
+        }
+        return orderRepository.findByIdAndCreatedAtBetween(id,
+                partitionLookupFrom(createdAt.get()), partitionLookupTo(createdAt.get()));
+    }
+
+    /**
+     * {@link #findOrder} with the row locked FOR UPDATE.
+     */
+    private Optional<Order> lockOrder(String id) {
+        Optional<Instant> createdAt = UuidV7.timestampOf(id);
+        if (createdAt.isEmpty()) {
+            return orderRepository.lockAllById(List.of(id)).stream().findFirst();
+        }
+        return orderRepository.lockByIdAndCreatedAtBetween(id,
+                partitionLookupFrom(createdAt.get()), partitionLookupTo(createdAt.get()));
+    }
+
+    // The slack absorbs the gap between id generation and the insert, and any JVM/DB time zone offset
+    private static LocalDateTime partitionLookupFrom(Instant createdAt) {
+        return LocalDateTime.ofInstant(createdAt.minus(PARTITION_LOOKUP_SLACK), ZoneId.systemDefault());
+    }
+
+    private static LocalDateTime partitionLookupTo(Instant createdAt) {
+        return LocalDateTime.ofInstant(createdAt.plus(PARTITION_LOOKUP_SLACK), ZoneId.systemDefault());
+    }
+
+    private Order placeOrder(Order order) {
+        order.getItems().forEach(item -> item.setOrder(order));
+        Order saved = orderRepository.save(order);
+        if (saved.getIdempotencyKey() != null) {
+            // A concurrent duplicate fails here on the key's primary key and rolls the order back
+            idempotencyKeyRepository.insert(saved.getIdempotencyKey(), saved.getId(), LocalDateTime.now());
+        }
+        log.info("Order created: id={}, number={}, total={}",
+                saved.getId(), saved.getOrderNumber(), saved.getTotalAmount());
+
+        recordStatusChange(saved.getId(), null, "PENDING", null, "Order placed");
+
+        // ORDER_CREATED commits with the order; the outbox relay publishes it
+        publishOrderEvent(saved, EventTypes.ORDER_CREATED);
+        return saved;
+    }
+
     private void recordStatusChange(String orderId, String from, String to, String changedBy, String note) {
-        statusHistoryRepo.save(OrderStatusHistory.builder()
+        OrderStatusHistory entry = statusHistoryRepo.saveAndFlush(OrderStatusHistory.builder()
                 .orderId(orderId)
                 .fromStatus(from)
                 .toStatus(to)
                 .changedBy(changedBy)
                 .note(note)
                 .build());
+        timelineCache.appendAfterCommit(List.of(entry));
     }
 
     private void publishOrderEvent(Order order, String eventType) {
-        try {
-            BaseEvent event = BaseEvent.builder()
-                    .eventId(UUID.randomUUID().toString())
-                    .eventType(eventType)
-                    .source("order-service")
-                    .timestamp(Instant.now())
-                    .correlationId(UUID.randomUUID().toString())
-                    .idempotencyKey(order.getIdempotencyKey())
-                    .data(Map.of(
-                            "orderId", order.getId(),
-                            "orderNumber", order.getOrderNumber(),
-                            "userId", order.getUserId(),
-                            "totalAmount", order.getTotalAmount(),
-                            "status", order.getStatus().name()))
-                    .build();
-
-            snsTemplate.convertAndSend(TopicNames.ORDER_EVENTS, event);
-            log.info("Published {} event for orderId={}", eventType, order.getId());
-        } catch (Exception e) {
-            log.error("Failed to publish {} event for orderId={}", eventType, order.getId(), e);
-        }
+        outboxService.enqueue(TopicNames.ORDER_EVENTS, order.getId(), orderEvent(order, eventType));
+        log.debug("Queued {} event for orderId={}", eventType, order.getId());
+    }
+
+    /**
+     * @return the event announcing a move into {@code status}, or null if that status has none
+     */
+    static String eventTypeFor(Order.OrderStatus status) {
+        return switch (status) {
+            case CONFIRMED -> EventTypes.ORDER_CONFIRMED;
+            case SHIPPED -> EventTypes.ORDER_SHIPPED;
+            case DELIVERED -> EventTypes.ORDER_DELIVERED;
+            case CANCELLED -> EventTypes.ORDER_CANCELLED;
+            default -> null;
+        };
+    }
+
+    static BaseEvent orderEvent(Order order, String eventType) {
+        return BaseEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .eventType(eventType)
+                .source("order-service")
+                .timestamp(Instant.now())
+                .correlationId(UUID.randomUUID().toString())
+                .idempotencyKey(order.getIdempotencyKey())
+                .data(Map.of(
+                        "orderId", order.getId(),
+                        "orderNumber", order.getOrderNumber(),
+                        "userId", order.getUserId(),
+                        "totalAmount", order.getTotalAmount(),
+                        "status", order.getStatus().name()))
+                .build();
     }
 }
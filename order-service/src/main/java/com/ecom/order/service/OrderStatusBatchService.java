@@ -0,0 +1,168 @@
+package com.ecom.order.service;
+
+import com.ecom.common.event.BaseEvent;
+import com.ecom.common.event.TopicNames;
+import com.ecom.common.exception.BadRequestException;
+import com.ecom.common.id.UuidV7;
+import com.ecom.order.dto.BulkStatusRequest;
+import com.ecom.order.dto.StatusTransitionResult;
+import com.ecom.order.dto.StatusTransitionResult.Outcome;
+import com.ecom.order.entity.Order;
+import com.ecom.order.entity.Order.OrderStatus;
+import com.ecom.order.entity.OrderStatusHistory;
+import com.ecom.order.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Status transitions for many orders at once, e.g. a warehouse shift marking its dispatches SHIPPED.
+ *
+ * Orders are processed in chunks, one transaction each: lock the chunk's rows, check every
+ * transition against {@link OrderStatus#canTransitionTo}, then one UPDATE for the orders that may
+ * move, one JDBC batch of history rows and one batch of outbox events. Results are handed to the
+ * caller chunk by chunk as each commits, so a large request streams instead of buffering.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderStatusBatchService {
+
+    private static final String INSERT_HISTORY = "INSERT INTO order_status_history "
+            + "(id, order_id, from_status, to_status, changed_by, note, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final OrderRepository orderRepository;
+    private final OutboxService outboxService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderTimelineCache timelineCache;
+    private final StockReservationSettler reservationSettler;
+
+    @Value("${orders.bulk-status.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${orders.bulk-status.max-orders:10000}")
+    private int maxOrders;
+
+    /**
+     * Reject an oversized request before any result has been streamed.
+     */
+    public void validate(BulkStatusRequest request) {
+        if (request.getOrderIds().size() > maxOrders) {
+            throw new BadRequestException("At most " + maxOrders + " orders per bulk status request");
+        }
+    }
+
+    /**
+     * @param sink receives each chunk's results, in request order, once the chunk has committed
+     */
+    public void transition(BulkStatusRequest request, Consumer<List<StatusTransitionResult>> sink) {
+        validate(request);
+        List<String> ids = new ArrayList<>(new LinkedHashSet<>(request.getOrderIds()));
+        int updated = 0;
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            List<String> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+            List<StatusTransitionResult> results;
+            try {
+                results = transactionTemplate.execute(status -> applyChunk(chunk, request));
+            } catch (Exception e) {
+                log.error("Bulk status chunk failed: orders={}, target={}", chunk.size(), request.getStatus(), e);
+                results = chunk.stream()
+                        .map(id -> result(id, Outcome.FAILED, null, request.getStatus(), "Chunk failed, not applied"))
+                        .toList();
+            }
+            updated += (int) results.stream().filter(r -> r.getOutcome() == Outcome.UPDATED).count();
+            sink.accept(results);
+        }
+        log.info("Bulk status transition: target={}, requested={}, updated={}", request.getStatus(), ids.size(),
+                updated);
+    }
+
+    // ── Helpers ──
+
+    private List<StatusTransitionResult> applyChunk(List<String> ids, BulkStatusRequest request) {
+        OrderStatus target = request.getStatus();
+        Map<String, Order> locked = new HashMap<>();
+        orderRepository.lockAllById(ids).forEach(order -> locked.put(order.getId(), order));
+
+        List<StatusTransitionResult> results = new ArrayList<>(ids.size());
+        List<Order> moving = new ArrayList<>();
+        for (String id : ids) {
+            Order order = locked.get(id);
+            if (order == null) {
+                results.add(result(id, Outcome.NOT_FOUND, null, target, "Order not found"));
+            } else if (!order.getStatus().canTransitionTo(target)) {
+                results.add(result(id, Outcome.INVALID_TRANSITION, order.getStatus(), target,
+                        "Invalid status transition: " + order.getStatus() + " → " + target));
+            } else {
+                results.add(result(id, Outcome.UPDATED, order.getStatus(), target, null));
+                moving.add(order);
+            }
+        }
+        if (moving.isEmpty()) {
+            return results;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        orderRepository.updateStatuses(moving.stream().map(Order::getId).toList(), target, now);
+        insertHistory(moving, target, request, now);
+        reservationSettler.settleAfterCommit(moving, target);
+
+        String eventType = OrderService.eventTypeFor(target);
+        if (eventType != null) {
+            Map<String, BaseEvent> events = new LinkedHashMap<>();
+            for (Order order : moving) {
+                // Detached by the bulk UPDATE, so this only shapes the event
+                order.setStatus(target);
+                events.put(order.getId(), OrderService.orderEvent(order, eventType));
+            }
+            outboxService.enqueueAll(TopicNames.ORDER_EVENTS, events);
+        }
+        return results;
+    }
+
+    private void insertHistory(List<Order> orders, OrderStatus target, BulkStatusRequest request, LocalDateTime now) {
+        List<OrderStatusHistory> entries = new ArrayList<>(orders.size());
+        List<Object[]> rows = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            OrderStatusHistory entry = OrderStatusHistory.builder()
+                    .id(UuidV7.next())
+                    .orderId(order.getId())
+                    .fromStatus(order.getStatus().name())
+                    .toStatus(target.name())
+                    .changedBy(request.getChangedBy())
+                    .note(request.getNote())
+                    .createdAt(now)
+                    .build();
+            entries.add(entry);
+            rows.add(new Object[] { entry.getId(), entry.getOrderId(), entry.getFromStatus(), entry.getToStatus(),
+                    entry.getChangedBy(), entry.getNote(), Timestamp.valueOf(now) });
+        }
+        jdbcTemplate.batchUpdate(INSERT_HISTORY, rows);
+        timelineCache.appendAfterCommit(entries);
+    }
+
+    private static StatusTransitionResult result(String orderId, Outcome outcome, OrderStatus from, OrderStatus to,
+            String message) {
+        return StatusTransitionResult.builder()
+                .orderId(orderId)
+                .outcome(outcome)
+                .fromStatus(from)
+                .toStatus(to)
+                .message(message)
+                .build();
+    }
+}
@@ -0,0 +1,182 @@
+package com.ecom.order.service;
+
+import com.ecom.order.entity.Order.OrderStatus;
+import com.ecom.order.entity.OrderStatusHistory;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Read model of order timelines: one Redis list per order, one JSON entry per status change,
+ * oldest first. {@code order_status_history} stays the source of truth — a missing list is
+ * rebuilt from it on the next read, and status changes only append to lists that already exist.
+ *
+ * A rebuild races with appends: it may read the table just before a change commits. Every append
+ * bumps a generation key, and a rebuild only writes if the generation it saw before reading the
+ * table is unchanged, so a stale rebuild is dropped rather than cached.
+ * Keys: order:timeline:{orderId} (list), order:timeline:{orderId}:gen (counter).
+ */
+@Component
+@Slf4j
+public class OrderTimelineCache {
+
+    private static final String KEY = "order:timeline:";
+    private static final String GEN_SUFFIX = ":gen";
+    private static final Set<OrderStatus> FINAL = Set.of(OrderStatus.DELIVERED, OrderStatus.REFUNDED);
+
+    /** KEYS: list, gen. ARGV: expected gen ('' if none), ttl seconds, entries... */
+    private static final RedisScript<Long> REBUILD = new DefaultRedisScript<>(
+            "if (redis.call('GET', KEYS[2]) or '') ~= ARGV[1] then return 0 end "
+                    + "redis.call('DEL', KEYS[1]) "
+                    + "redis.call('RPUSH', KEYS[1], unpack(ARGV, 3)) "
+                    + "redis.call('EXPIRE', KEYS[1], ARGV[2]) "
+                    + "return 1",
+            Long.class);
+
+    /** KEYS: list, gen. ARGV: ttl seconds, entries... */
+    private static final RedisScript<Long> APPEND = new DefaultRedisScript<>(
+            "redis.call('INCR', KEYS[2]) "
+                    + "redis.call('EXPIRE', KEYS[2], ARGV[1]) "
+                    + "if redis.call('RPUSHX', KEYS[1], unpack(ARGV, 2)) > 0 then "
+                    + "redis.call('EXPIRE', KEYS[1], ARGV[1]) return 1 end "
+                    + "return 0",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Counter hits;
+    private final Counter misses;
+
+    @Value("${orders.timeline.active-ttl:7d}")
+    private Duration activeTtl;
+
+    /** Delivered and refunded orders rarely change again; their timelines age out sooner. */
+    @Value("${orders.timeline.final-ttl:1d}")
+    private Duration finalTtl;
+
+    public OrderTimelineCache(StringRedisTemplate redisTemplate, ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.hits = Counter.builder("orders.timeline.cache")
+                .description("Order timeline reads from the Redis read model")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("orders.timeline.cache")
+                .description("Order timeline reads from the Redis read model")
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param loader reads the timeline from {@code order_status_history}, oldest first
+     */
+    public List<OrderStatusHistory> get(String orderId, Supplier<List<OrderStatusHistory>> loader) {
+        String key = KEY + orderId;
+        String generation;
+        try {
+            List<String> cached = redisTemplate.opsForList().range(key, 0, -1);
+            if (cached != null && !cached.isEmpty()) {
+                hits.increment();
+                List<OrderStatusHistory> timeline = new ArrayList<>(cached.size());
+                for (String json : cached) {
+                    timeline.add(objectMapper.readValue(json, OrderStatusHistory.class));
+                }
+                return timeline;
+            }
+            generation = redisTemplate.opsForValue().get(key + GEN_SUFFIX);
+        } catch (DataAccessException | JsonProcessingException e) {
+            log.warn("Timeline cache read failed, reading from DB: orderId={}, error={}", orderId, e.getMessage());
+            return loader.get();
+        }
+
+        misses.increment();
+        List<OrderStatusHistory> timeline = loader.get();
+        if (!timeline.isEmpty()) {
+            List<String> args = new ArrayList<>(timeline.size() + 2);
+            args.add(generation == null ? "" : generation);
+            args.add(String.valueOf(ttlFor(timeline.get(timeline.size() - 1)).toSeconds()));
+            try {
+                for (OrderStatusHistory entry : timeline) {
+                    args.add(objectMapper.writeValueAsString(entry));
+                }
+                redisTemplate.execute(REBUILD, List.of(key, key + GEN_SUFFIX), args.toArray());
+            } catch (DataAccessException | JsonProcessingException e) {
+                log.warn("Timeline cache rebuild failed: orderId={}, error={}", orderId, e.getMessage());
+            }
+        }
+        return timeline;
+    }
+
+    /**
+     * Append status changes once the surrounding transaction commits; a rollback leaves the
+     * read model alone.
+     */
+    public void appendAfterCommit(List<OrderStatusHistory> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            append(entries);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                append(entries);
+            }
+        });
+    }
+
+    // ── Helpers ──
+
+    private void append(List<OrderStatusHistory> entries) {
+        Map<String, List<OrderStatusHistory>> byOrder = new LinkedHashMap<>();
+        entries.forEach(entry -> byOrder.computeIfAbsent(entry.getOrderId(), id -> new ArrayList<>()).add(entry));
+        byOrder.forEach((orderId, changes) -> {
+            String key = KEY + orderId;
+            List<String> args = new ArrayList<>(changes.size() + 1);
+            args.add(String.valueOf(ttlFor(changes.get(changes.size() - 1)).toSeconds()));
+            try {
+                for (OrderStatusHistory change : changes) {
+                    args.add(objectMapper.writeValueAsString(change));
+                }
+                redisTemplate.execute(APPEND, List.of(key, key + GEN_SUFFIX), args.toArray());
+            } catch (DataAccessException | JsonProcessingException e) {
+                // The list may now miss this change until it expires — drop it so the next read rebuilds
+                log.warn("Timeline cache append failed: orderId={}, error={}", orderId, e.getMessage());
+                evict(key);
+            }
+        });
+    }
+
+    private void evict(String key) {
+        try {
+            redisTemplate.delete(key);
+        } catch (DataAccessException e) {
+            log.warn("Timeline cache evict failed: key={}, error={}", key, e.getMessage());
+        }
+    }
+
+    private Duration ttlFor(OrderStatusHistory latest) {
+        return FINAL.contains(OrderStatus.valueOf(latest.getToStatus())) ? finalTtl : activeTtl;
+    }
+}
@@ -0,0 +1,169 @@
+package com.ecom.order.service;
+
+import com.ecom.order.entity.OutboxEvent;
+import com.ecom.order.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Relays outbox rows to SNS.
+ *
+ * Each batch is claimed with {@code FOR UPDATE SKIP LOCKED} and published with PublishBatch
+ * while its row locks are held, then marked SENT in one UPDATE before the transaction commits.
+ * Relays on other instances skip the locked rows, so they work on disjoint batches.
+ * Delivery is at-least-once: if the commit fails after SNS accepted a batch, those rows are
+ * published again, so consumers dedupe on {@code eventId}.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final SnsBatchPublisher snsBatchPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    private final DistributionSummary batchSizes;
+    private final Counter published;
+    private final Counter failed;
+    private final Timer deliveryLag;
+    private final AtomicLong oldestPendingAgeMs = new AtomicLong();
+
+    @Value("${outbox.relay.batch-size:100}")
+    private int batchSize;
+
+    @Value("${outbox.relay.max-batches-per-run:20}")
+    private int maxBatchesPerRun;
+
+    @Value("${outbox.relay.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${outbox.relay.retry-delay:30s}")
+    private Duration retryDelay;
+
+    @Value("${outbox.purge.retention:7d}")
+    private Duration retention;
+
+    @Value("${outbox.purge.batch-size:1000}")
+    private int purgeBatchSize;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository, SnsBatchPublisher snsBatchPublisher,
+            TransactionTemplate transactionTemplate, MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.snsBatchPublisher = snsBatchPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSizes = DistributionSummary.builder("outbox.relay.batch.size")
+                .description("Outbox rows claimed per relay batch")
+                .register(meterRegistry);
+        this.published = Counter.builder("outbox.relay.events")
+                .tag("result", "published")
+                .description("Outbox events relayed to SNS")
+                .register(meterRegistry);
+        this.failed = Counter.builder("outbox.relay.events")
+                .tag("result", "failed")
+                .description("Outbox events relayed to SNS")
+                .register(meterRegistry);
+        this.deliveryLag = Timer.builder("outbox.relay.lag")
+                .description("Time from outbox write to SNS publish")
+                .register(meterRegistry);
+        Gauge.builder("outbox.pending.age", oldestPendingAgeMs, AtomicLong::get)
+                .baseUnit("milliseconds")
+                .description("Age of the oldest unpublished outbox event")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.poll-interval-ms:500}")
+    public void relay() {
+        try {
+            for (int i = 0; i < maxBatchesPerRun; i++) {
+                Integer claimed = transactionTemplate.execute(status -> relayBatch());
+                if (claimed == null || claimed < batchSize) {
+                    break;
+                }
+            }
+            oldestPendingAgeMs.set(outboxEventRepository.findPendingCreatedAt(PageRequest.of(0, 1)).stream()
+                    .findFirst()
+                    .map(createdAt -> Math.max(0, Duration.between(createdAt, LocalDateTime.now()).toMillis()))
+                    .orElse(0L));
+        } catch (Exception e) {
+            log.error("Outbox relay run failed", e);
+        }
+    }
+
+    @Scheduled(cron = "${outbox.purge.cron:0 15 * * * *}")
+    public void purge() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        int total = 0;
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status -> outboxEventRepository.purgeSent(cutoff, purgeBatchSize));
+            total += deleted;
+        } while (deleted == purgeBatchSize);
+        if (total > 0) {
+            log.info("Outbox purged: rows={}, cutoff={}", total, cutoff);
+        }
+    }
+
+    // ── Helpers ──
+
+    private int relayBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> batch = outboxEventRepository.claimBatch(now, batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        batchSizes.record(batch.size());
+
+        Map<String, List<OutboxEvent>> byTopic = new LinkedHashMap<>();
+        batch.forEach(event -> byTopic.computeIfAbsent(event.getTopic(), t -> new ArrayList<>()).add(event));
+
+        List<Long> sent = new ArrayList<>(batch.size());
+        Map<String, List<Long>> failedByReason = new HashMap<>();
+        byTopic.forEach((topic, events) -> {
+            Map<String, String> rejected = snsBatchPublisher.publish(topic, events.stream()
+                    .map(event -> new SnsBatchPublisher.Entry(String.valueOf(event.getId()), event.getPayload()))
+                    .toList());
+            for (OutboxEvent event : events) {
+                String reason = rejected.get(String.valueOf(event.getId()));
+                if (reason == null) {
+                    sent.add(event.getId());
+                    deliveryLag.record(Duration.between(event.getCreatedAt(), now));
+                } else {
+                    failedByReason.computeIfAbsent(reason, r -> new ArrayList<>()).add(event.getId());
+                }
+            }
+        });
+
+        if (!sent.isEmpty()) {
+            outboxEventRepository.markSent(sent, LocalDateTime.now());
+            published.increment(sent.size());
+        }
+        failedByReason.forEach((reason, ids) -> {
+            outboxEventRepository.markFailed(ids, truncate(reason), now.plus(retryDelay), maxAttempts);
+            failed.increment(ids.size());
+            log.warn("Outbox events not published, will retry: ids={}, reason={}", ids, reason);
+        });
+        return batch.size();
+    }
+
+    private static String truncate(String reason) {
+        return reason.length() <= 500 ? reason : reason.substring(0, 500);
+    }
+}
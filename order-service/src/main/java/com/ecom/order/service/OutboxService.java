@@ -0,0 +1,70 @@
+package com.ecom.order.service;
+
+import com.ecom.common.event.BaseEvent;
+import com.ecom.order.entity.OutboxEvent;
+import com.ecom.order.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes events to the outbox table. Must run inside the caller's transaction so the event
+ * commits or rolls back with the change it describes; {@link OutboxRelay} publishes it later.
+ */
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(String topic, String aggregateId, BaseEvent event) {
+        outboxEventRepository.save(OutboxEvent.builder()
+                .eventId(event.getEventId())
+                .topic(topic)
+                .eventType(event.getEventType())
+                .aggregateId(aggregateId)
+                .payload(serialize(event))
+                .build());
+    }
+
+    /**
+     * Bulk variant of {@link #enqueue}: one JDBC batch instead of an INSERT round trip per event.
+     *
+     * @param eventsByAggregate event per aggregate id
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueAll(String topic, Map<String, BaseEvent> eventsByAggregate) {
+        if (eventsByAggregate.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(eventsByAggregate.size());
+        eventsByAggregate.forEach((aggregateId, event) -> rows.add(new Object[] {
+                event.getEventId(), topic, event.getEventType(), aggregateId, serialize(event), now, now }));
+        jdbcTemplate.batchUpdate("INSERT INTO outbox (event_id, topic, event_type, aggregate_id, payload, "
+                + "available_at, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    // ── Helpers ──
+
+    private String serialize(BaseEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize " + event.getEventType() + " event", e);
+        }
+    }
+}
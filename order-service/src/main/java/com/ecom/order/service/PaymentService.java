@@ -0,0 +1,56 @@
+package com.ecom.order.service;
+
+import com.ecom.common.exception.ResourceNotFoundException;
+import com.ecom.common.idempotency.IdempotentExecutor;
+import com.ecom.order.entity.Payment;
+import com.ecom.order.repository.OrderRepository;
+import com.ecom.order.repository.PaymentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PaymentService {
+
+    private static final String IDEMPOTENCY_SCOPE = "payment";
+
+    private final PaymentRepository paymentRepository;
+    private final OrderRepository orderRepository;
+    private final IdempotentExecutor idempotentExecutor;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Record a payment attempt — idempotent via idempotency key, so a client retrying after a
+     * timeout gets the original payment back instead of a second charge record.
+     */
+    public Payment createPayment(Payment payment) {
+        return idempotentExecutor.execute(IDEMPOTENCY_SCOPE, payment.getIdempotencyKey(), Payment.class,
+                () -> transactionTemplate.execute(status -> {
+                    if (!orderRepository.existsById(payment.getOrderId())) {
+                        throw new ResourceNotFoundException("Order", payment.getOrderId());
+                    }
+                    Payment saved = paymentRepository.save(payment);
+                    log.info("Payment created: id={}, orderId={}, amount={}",
+                            saved.getId(), saved.getOrderId(), saved.getAmount());
+                    return saved;
+                }),
+                () -> paymentRepository.findByIdempotencyKey(payment.getIdempotencyKey()));
+    }
+
+    @Transactional(readOnly = true)
+    public Payment getPaymentById(String id) {
+        return paymentRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Payment", id));
+    }
+
+    @Transactional(readOnly = true)
+    public List<Payment> getPaymentsByOrder(String orderId) {
+        return paymentRepository.findAllByOrderId(orderId);
+    }
+}
@@ -0,0 +1,94 @@
+package com.ecom.order.service;
+
+import io.awspring.cloud.sns.core.CachingTopicArnResolver;
+import io.awspring.cloud.sns.core.DefaultTopicArnResolver;
+import io.awspring.cloud.sns.core.TopicArnResolver;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.sns.SnsClient;
+import software.amazon.awssdk.services.sns.model.PublishBatchRequestEntry;
+import software.amazon.awssdk.services.sns.model.PublishBatchResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Publishes pre-serialized messages with SNS PublishBatch — up to 10 messages and 256 KB per
+ * call instead of one round trip per message.
+ */
+@Component
+@Slf4j
+public class SnsBatchPublisher {
+
+    public static final int MAX_BATCH_ENTRIES = 10;
+    private static final int MAX_BATCH_BYTES = 256 * 1024;
+
+    private final SnsClient snsClient;
+    private final TopicArnResolver topicArnResolver;
+
+    public SnsBatchPublisher(SnsClient snsClient) {
+        this.snsClient = snsClient;
+        this.topicArnResolver = new CachingTopicArnResolver(new DefaultTopicArnResolver(snsClient));
+    }
+
+    /**
+     * @param id unique within one {@link #publish} call
+     */
+    public record Entry(String id, String message) {
+    }
+
+    /**
+     * @return the entries SNS did not accept, id → reason; empty when everything was published
+     */
+    public Map<String, String> publish(String topicName, List<Entry> entries) {
+        Map<String, String> failed = new LinkedHashMap<>();
+        if (entries.isEmpty()) {
+            return failed;
+        }
+        String topicArn;
+        try {
+            topicArn = topicArnResolver.resolveTopicArn(topicName).toString();
+        } catch (Exception e) {
+            log.error("Failed to resolve SNS topic: {}", topicName, e);
+            entries.forEach(entry -> failed.put(entry.id(), "Topic resolution failed: " + e.getMessage()));
+            return failed;
+        }
+
+        List<Entry> chunk = new ArrayList<>(MAX_BATCH_ENTRIES);
+        int chunkBytes = 0;
+        for (Entry entry : entries) {
+            int bytes = entry.message().getBytes(StandardCharsets.UTF_8).length;
+            if (!chunk.isEmpty() && (chunk.size() == MAX_BATCH_ENTRIES || chunkBytes + bytes > MAX_BATCH_BYTES)) {
+                send(topicArn, chunk, failed);
+                chunk = new ArrayList<>(MAX_BATCH_ENTRIES);
+                chunkBytes = 0;
+            }
+            chunk.add(entry);
+            chunkBytes += bytes;
+        }
+        send(topicArn, chunk, failed);
+        return failed;
+    }
+
+    // ── Helpers ──
+
+    private void send(String topicArn, List<Entry> chunk, Map<String, String> failed) {
+        try {
+            PublishBatchResponse response = snsClient.publishBatch(request -> request
+                    .topicArn(topicArn)
+                    .publishBatchRequestEntries(chunk.stream()
+                            .map(entry -> PublishBatchRequestEntry.builder()
+                                    .id(entry.id())
+                                    .message(entry.message())
+                                    .build())
+                            .toList()));
+            response.failed().forEach(f -> failed.put(f.id(), f.code() + ": " + f.message()));
+        } catch (Exception e) {
+            log.error("SNS PublishBatch failed: topic={}, entries={}", topicArn, chunk.size(), e);
+            chunk.forEach(entry -> failed.put(entry.id(), String.valueOf(e.getMessage())));
+        }
+    }
+}
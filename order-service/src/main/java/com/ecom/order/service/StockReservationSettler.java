@@ -0,0 +1,73 @@
+package com.ecom.order.service;
+
+import com.ecom.order.client.CatalogClient;
+import com.ecom.order.entity.Order;
+import com.ecom.order.entity.Order.OrderStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Settles the stock hold checkout took for an order once the order's status change commits:
+ * CONFIRMED turns the hold into a sale, CANCELLED gives the stock back. A release that fails is
+ * covered by the hold expiring on its own; a confirm that fails is logged with its reservation id.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StockReservationSettler {
+
+    private final CatalogClient catalogClient;
+    private final ExecutorService checkoutExecutor;
+
+    public void settleAfterCommit(Collection<Order> orders, OrderStatus status) {
+        if (status != OrderStatus.CONFIRMED && status != OrderStatus.CANCELLED) {
+            return;
+        }
+        List<String> reservationIds = orders.stream().map(Order::getReservationId).filter(Objects::nonNull).toList();
+        if (reservationIds.isEmpty()) {
+            return;
+        }
+        Runnable settle = () -> reservationIds.forEach(id -> settle(id, status));
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            submit(settle);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                submit(settle);
+            }
+        });
+    }
+
+    // ── Helpers ──
+
+    private void submit(Runnable settle) {
+        try {
+            checkoutExecutor.execute(settle);
+        } catch (RejectedExecutionException e) {
+            settle.run();
+        }
+    }
+
+    private void settle(String reservationId, OrderStatus status) {
+        try {
+            if (status == OrderStatus.CONFIRMED) {
+                catalogClient.confirmReservation(reservationId);
+            } else {
+                catalogClient.releaseReservation(reservationId);
+            }
+        } catch (Exception e) {
+            log.error("Failed to settle stock reservation: reservationId={}, status={}", reservationId, status, e);
+        }
+    }
+}
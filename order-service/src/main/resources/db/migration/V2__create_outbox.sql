@@ -0,0 +1,21 @@
+-- V2__create_outbox.sql
+-- Transactional outbox: events are written with the order change and relayed to SNS asynchronously
+
+CREATE TABLE IF NOT EXISTS outbox (
+    id              BIGINT NOT NULL AUTO_INCREMENT,
+    event_id        CHAR(36) NOT NULL UNIQUE,
+    topic           VARCHAR(100) NOT NULL,
+    event_type      VARCHAR(50) NOT NULL,
+    aggregate_id    CHAR(36) NOT NULL,
+    payload         JSON NOT NULL,
+    status          ENUM('PENDING','SENT','FAILED') NOT NULL DEFAULT 'PENDING',
+    attempts        INT NOT NULL DEFAULT 0,
+    last_error      VARCHAR(500),
+    available_at    DATETIME(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+    created_at      DATETIME(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+    sent_at         DATETIME(3),
+    PRIMARY KEY (id),
+    -- Relay claim: PENDING rows in id order; purge: SENT rows by age
+    INDEX idx_outbox_status_id (status, id),
+    INDEX idx_outbox_status_sent (status, sent_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
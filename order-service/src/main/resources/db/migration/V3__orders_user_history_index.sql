@@ -0,0 +1,8 @@
+-- V3__orders_user_history_index.sql
+-- Order history is keyset-paginated newest first per user: (user_id, created_at, id) serves both the
+-- filter and the sort, so a page is a short index range scan. It also covers user_id lookups, so the
+-- single-column index goes.
+
+ALTER TABLE orders
+    DROP INDEX idx_orders_user,
+    ADD INDEX idx_orders_user_created (user_id, created_at, id);
@@ -0,0 +1,104 @@
+-- V4__partition_orders_by_month.sql
+-- RANGE-partition orders and its append-only children by created_at, one partition per month.
+--
+-- MySQL requires every unique key of a partitioned table to include the partitioning column, so
+-- primary keys become (id, created_at) and order_number is unique per (order_number, created_at)
+-- (Snowflake order numbers are unique on their own). Idempotency keys need true global
+-- uniqueness, so that moves to the small unpartitioned order_idempotency_keys table.
+--
+-- p_max catches anything past the last month; the partition maintenance job splits upcoming
+-- months out of it ahead of time and archives + drops partitions past retention.
+
+CREATE TABLE IF NOT EXISTS order_idempotency_keys (
+    idempotency_key CHAR(36) NOT NULL,
+    order_id        CHAR(36) NOT NULL,
+    created_at      DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (idempotency_key),
+    INDEX idx_oik_created (created_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+INSERT INTO order_idempotency_keys (idempotency_key, order_id, created_at)
+SELECT idempotency_key, id, created_at FROM orders WHERE idempotency_key IS NOT NULL;
+
+-- ── orders ──
+
+ALTER TABLE orders
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (id, created_at),
+    DROP INDEX order_number,
+    DROP INDEX idx_orders_number,
+    ADD UNIQUE INDEX uk_orders_number (order_number, created_at),
+    DROP INDEX idempotency_key;
+
+ALTER TABLE orders PARTITION BY RANGE COLUMNS (created_at) (
+    PARTITION p_start VALUES LESS THAN ('2026-01-01'),
+    PARTITION p202601 VALUES LESS THAN ('2026-02-01'),
+    PARTITION p202602 VALUES LESS THAN ('2026-03-01'),
+    PARTITION p202603 VALUES LESS THAN ('2026-04-01'),
+    PARTITION p202604 VALUES LESS THAN ('2026-05-01'),
+    PARTITION p202605 VALUES LESS THAN ('2026-06-01'),
+    PARTITION p202606 VALUES LESS THAN ('2026-07-01'),
+    PARTITION p202607 VALUES LESS THAN ('2026-08-01'),
+    PARTITION p202608 VALUES LESS THAN ('2026-09-01'),
+    PARTITION p202609 VALUES LESS THAN ('2026-10-01'),
+    PARTITION p202610 VALUES LESS THAN ('2026-11-01'),
+    PARTITION p202611 VALUES LESS THAN ('2026-12-01'),
+    PARTITION p202612 VALUES LESS THAN ('2027-01-01'),
+    PARTITION p_max VALUES LESS THAN (MAXVALUE)
+);
+
+-- ── order_items ──
+
+UPDATE order_items i JOIN orders o ON o.id = i.order_id
+SET i.created_at = o.created_at
+WHERE i.created_at IS NULL;
+
+ALTER TABLE order_items
+    MODIFY created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (id, created_at);
+
+ALTER TABLE order_items PARTITION BY RANGE COLUMNS (created_at) (
+    PARTITION p_start VALUES LESS THAN ('2026-01-01'),
+    PARTITION p202601 VALUES LESS THAN ('2026-02-01'),
+    PARTITION p202602 VALUES LESS THAN ('2026-03-01'),
+    PARTITION p202603 VALUES LESS THAN ('2026-04-01'),
+    PARTITION p202604 VALUES LESS THAN ('2026-05-01'),
+    PARTITION p202605 VALUES LESS THAN ('2026-06-01'),
+    PARTITION p202606 VALUES LESS THAN ('2026-07-01'),
+    PARTITION p202607 VALUES LESS THAN ('2026-08-01'),
+    PARTITION p202608 VALUES LESS THAN ('2026-09-01'),
+    PARTITION p202609 VALUES LESS THAN ('2026-10-01'),
+    PARTITION p202610 VALUES LESS THAN ('2026-11-01'),
+    PARTITION p202611 VALUES LESS THAN ('2026-12-01'),
+    PARTITION p202612 VALUES LESS THAN ('2027-01-01'),
+    PARTITION p_max VALUES LESS THAN (MAXVALUE)
+);
+
+-- ── order_status_history ──
+
+UPDATE order_status_history h JOIN orders o ON o.id = h.order_id
+SET h.created_at = o.created_at
+WHERE h.created_at IS NULL;
+
+ALTER TABLE order_status_history
+    MODIFY created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (id, created_at);
+
+ALTER TABLE order_status_history PARTITION BY RANGE COLUMNS (created_at) (
+    PARTITION p_start VALUES LESS THAN ('2026-01-01'),
+    PARTITION p202601 VALUES LESS THAN ('2026-02-01'),
+    PARTITION p202602 VALUES LESS THAN ('2026-03-01'),
+    PARTITION p202603 VALUES LESS THAN ('2026-04-01'),
+    PARTITION p202604 VALUES LESS THAN ('2026-05-01'),
+    PARTITION p202605 VALUES LESS THAN ('2026-06-01'),
+    PARTITION p202606 VALUES LESS THAN ('2026-07-01'),
+    PARTITION p202607 VALUES LESS THAN ('2026-08-01'),
+    PARTITION p202608 VALUES LESS THAN ('2026-09-01'),
+    PARTITION p202609 VALUES LESS THAN ('2026-10-01'),
+    PARTITION p202610 VALUES LESS THAN ('2026-11-01'),
+    PARTITION p202611 VALUES LESS THAN ('2026-12-01'),
+    PARTITION p202612 VALUES LESS THAN ('2027-01-01'),
+    PARTITION p_max VALUES LESS THAN (MAXVALUE)
+);
@@ -0,0 +1,8 @@
+-- V5__order_status_history_timeline_index.sql
+-- Timeline reads filter by order_id and sort by created_at: (order_id, created_at) serves both,
+-- so rebuilding a timeline is an index range scan with no filesort. It also covers order_id
+-- lookups, so the single-column index goes.
+
+ALTER TABLE order_status_history
+    DROP INDEX idx_osh_order,
+    ADD INDEX idx_osh_order_created (order_id, created_at);
@@ -0,0 +1,6 @@
+-- V6__orders_reservation_id.sql
+-- Checkout holds stock in catalog-service before the order exists. The order keeps the hold's
+-- reservation id so confirming the order confirms the hold and cancelling it releases the stock.
+
+ALTER TABLE orders
+    ADD COLUMN reservation_id CHAR(36) NULL AFTER coupon_id;
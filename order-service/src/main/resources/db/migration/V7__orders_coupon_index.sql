@@ -0,0 +1,7 @@
+-- V7__orders_coupon_index.sql
+-- A coupon whose Redis counters are missing is seeded at checkout by counting its orders, overall
+-- and for the redeeming user. (coupon_id, user_id) turns both counts into index range scans
+-- instead of a scan of every partition of orders.
+
+ALTER TABLE orders
+    ADD INDEX idx_orders_coupon_user (coupon_id, user_id);
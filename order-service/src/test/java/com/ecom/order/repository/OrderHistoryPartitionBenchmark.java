@@ -0,0 +1,282 @@
+package com.ecom.order.repository;
+
+import com.ecom.common.id.UuidV7;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Child-row lookups on month-partitioned orders and order_items, with and without a created_at
+ * window: one order's items, and the items of a 20-order history page. Reports the average time
+ * per lookup and how many partitions EXPLAIN says it reads. Runs under the {@code benchmark}
+ * profile only.
+ *
+ * Needs MySQL — H2 has no range partitioning, so without a MySQL url the benchmark is skipped:
+ *
+ * <pre>
+ * ./mvnw -P benchmark -pl common-lib,order-service test -Dtest=OrderHistoryPartitionBenchmark \
+ *     -Dbenchmark.jdbc-url=jdbc:mysql://localhost:3308/orders_bench -Dbenchmark.jdbc-user=root \
+ *     -Dbenchmark.jdbc-password=...
+ * </pre>
+ *
+ * It creates and drops its own bench_porders and bench_porder_items tables, partitioned like V4.
+ */
+class OrderHistoryPartitionBenchmark {
+
+    private static final String JDBC_URL = System.getProperty("benchmark.jdbc-url", "");
+    private static final String JDBC_USER = System.getProperty("benchmark.jdbc-user", "root");
+    private static final String JDBC_PASSWORD = System.getProperty("benchmark.jdbc-password", "");
+    private static final int ORDERS = Integer.getInteger("benchmark.orders", 200_000);
+    private static final int MONTHS = 12;
+    private static final int USERS = 2_000;
+    private static final int ITEMS_PER_ORDER = 3;
+    private static final int PAGE = 20;
+    private static final int LOOKUPS = 2_000;
+    private static final int BATCH = 500;
+
+    @Test
+    void childLookupsWithAndWithoutACreatedAtWindow() throws SQLException {
+        assumeTrue(JDBC_URL.startsWith("jdbc:mysql:"), "needs -Dbenchmark.jdbc-url pointing at MySQL");
+        try (Connection connection = DriverManager.getConnection(JDBC_URL, JDBC_USER, JDBC_PASSWORD)) {
+            connection.setAutoCommit(false);
+            createTables(connection);
+            load(connection);
+            List<Sample> orders = sampleOrders(connection);
+            List<List<Sample>> pages = samplePages(connection);
+
+            System.out.printf("%-22s %-10s %12s %12s%n", "lookup", "window", "avg us", "partitions");
+            report(connection, "items of one order", "none", orders,
+                    "SELECT COUNT(*) FROM bench_porder_items WHERE order_id = ?", false);
+            report(connection, "items of one order", "created_at", orders,
+                    "SELECT COUNT(*) FROM bench_porder_items WHERE order_id = ? AND created_at BETWEEN ? AND ?", true);
+            reportPages(connection, "none", pages, false);
+            reportPages(connection, "created_at", pages, true);
+            dropTables(connection);
+        }
+    }
+
+    // ── Helpers ──
+
+    private record Sample(String id, LocalDateTime createdAt) {
+    }
+
+    private static void report(Connection connection, String label, String window, List<Sample> orders,
+            String sql, boolean bounded) throws SQLException {
+        try (PreparedStatement lookup = connection.prepareStatement(sql)) {
+            long started = System.nanoTime();
+            for (Sample order : orders) {
+                bindOne(lookup, order, bounded);
+                try (ResultSet rows = lookup.executeQuery()) {
+                    rows.next();
+                    assertThat(rows.getInt(1)).isEqualTo(ITEMS_PER_ORDER);
+                }
+            }
+            double micros = (System.nanoTime() - started) / 1e3 / orders.size();
+            int partitions = partitions(connection, sql, orders.get(0), bounded);
+            System.out.printf("%-22s %-10s %12.0f %12d%n", label, window, micros, partitions);
+        }
+    }
+
+    private static void reportPages(Connection connection, String window, List<List<Sample>> pages, boolean bounded)
+            throws SQLException {
+        long started = System.nanoTime();
+        for (List<Sample> page : pages) {
+            try (PreparedStatement lookup = connection.prepareStatement(pageSql(page.size(), bounded))) {
+                bindPage(lookup, page, bounded);
+                try (ResultSet rows = lookup.executeQuery()) {
+                    Set<String> orders = new HashSet<>();
+                    while (rows.next()) {
+                        orders.add(rows.getString(1));
+                    }
+                    assertThat(orders).hasSize(page.size());
+                }
+            }
+        }
+        double micros = (System.nanoTime() - started) / 1e3 / pages.size();
+        List<Sample> first = pages.get(0);
+        int partitions;
+        try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + pageSql(first.size(), bounded))) {
+            bindPage(explain, first, bounded);
+            partitions = partitionCount(explain);
+        }
+        System.out.printf("%-22s %-10s %12.0f %12d%n", "items of a page", window, micros, partitions);
+    }
+
+    private static String pageSql(int orders, boolean bounded) {
+        StringJoiner ids = new StringJoiner(", ", "(", ")");
+        for (int i = 0; i < orders; i++) {
+            ids.add("?");
+        }
+        return "SELECT order_id, product_name FROM bench_porder_items WHERE order_id IN " + ids
+                + (bounded ? " AND created_at BETWEEN ? AND ?" : "") + " ORDER BY id";
+    }
+
+    private static void bindOne(PreparedStatement statement, Sample order, boolean bounded) throws SQLException {
+        statement.setString(1, order.id());
+        if (bounded) {
+            statement.setTimestamp(2, Timestamp.valueOf(order.createdAt()));
+            statement.setTimestamp(3, Timestamp.valueOf(order.createdAt().plusMinutes(1)));
+        }
+    }
+
+    private static void bindPage(PreparedStatement statement, List<Sample> page, boolean bounded) throws SQLException {
+        int p = 1;
+        LocalDateTime from = page.get(0).createdAt();
+        LocalDateTime to = from;
+        for (Sample order : page) {
+            statement.setString(p++, order.id());
+            from = order.createdAt().isBefore(from) ? order.createdAt() : from;
+            to = order.createdAt().isAfter(to) ? order.createdAt() : to;
+        }
+        if (bounded) {
+            statement.setTimestamp(p++, Timestamp.valueOf(from));
+            statement.setTimestamp(p, Timestamp.valueOf(to.plusMinutes(1)));
+        }
+    }
+
+    private static int partitions(Connection connection, String sql, Sample order, boolean bounded)
+            throws SQLException {
+        try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql)) {
+            bindOne(explain, order, bounded);
+            return partitionCount(explain);
+        }
+    }
+
+    private static int partitionCount(PreparedStatement explain) throws SQLException {
+        try (ResultSet plan = explain.executeQuery()) {
+            plan.next();
+            String partitions = plan.getString("partitions");
+            return partitions == null ? 0 : partitions.split(",").length;
+        }
+    }
+
+    private static List<Sample> sampleOrders(Connection connection) throws SQLException {
+        List<Sample> orders = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery(
+                     "SELECT id, created_at FROM bench_porders ORDER BY RAND() LIMIT " + LOOKUPS)) {
+            while (rows.next()) {
+                orders.add(new Sample(rows.getString(1), rows.getTimestamp(2).toLocalDateTime()));
+            }
+        }
+        return orders;
+    }
+
+    /** The newest page of history of a few hundred users, as the history endpoint would read it. */
+    private static List<List<Sample>> samplePages(Connection connection) throws SQLException {
+        List<List<Sample>> pages = new ArrayList<>();
+        try (PreparedStatement page = connection.prepareStatement(
+                "SELECT id, created_at FROM bench_porders WHERE user_id = ? "
+                        + "ORDER BY created_at DESC, id DESC LIMIT " + PAGE)) {
+            for (int u = 0; u < LOOKUPS / 10; u++) {
+                page.setString(1, "user-" + ThreadLocalRandom.current().nextInt(USERS));
+                List<Sample> orders = new ArrayList<>();
+                try (ResultSet rows = page.executeQuery()) {
+                    while (rows.next()) {
+                        orders.add(new Sample(rows.getString(1), rows.getTimestamp(2).toLocalDateTime()));
+                    }
+                }
+                if (!orders.isEmpty()) {
+                    pages.add(orders);
+                }
+            }
+        }
+        return pages;
+    }
+
+    /** Orders spread evenly over the last {@link #MONTHS} months, items stamped with their order's time. */
+    private static void load(Connection connection) throws SQLException {
+        LocalDateTime start = LocalDate.now().withDayOfMonth(1).minusMonths(MONTHS - 1).atStartOfDay();
+        long spanSeconds = Duration.between(start, LocalDateTime.now()).getSeconds();
+        BigDecimal price = new BigDecimal("19.99");
+        try (PreparedStatement order = connection.prepareStatement(
+                "INSERT INTO bench_porders (id, user_id, total_amount, created_at) VALUES (?, ?, ?, ?)");
+             PreparedStatement item = connection.prepareStatement(
+                     "INSERT INTO bench_porder_items (id, order_id, product_name, unit_price, created_at) "
+                             + "VALUES (?, ?, 'Mug', ?, ?)")) {
+            for (int n = 0; n < ORDERS; n++) {
+                String orderId = UuidV7.next();
+                Timestamp createdAt = Timestamp.valueOf(start.plusSeconds(spanSeconds * n / ORDERS));
+                order.setString(1, orderId);
+                order.setString(2, "user-" + ThreadLocalRandom.current().nextInt(USERS));
+                order.setBigDecimal(3, price);
+                order.setTimestamp(4, createdAt);
+                order.addBatch();
+                for (int i = 0; i < ITEMS_PER_ORDER; i++) {
+                    item.setString(1, UuidV7.next());
+                    item.setString(2, orderId);
+                    item.setBigDecimal(3, price);
+                    item.setTimestamp(4, createdAt);
+                    item.addBatch();
+                }
+                if ((n + 1) % BATCH == 0) {
+                    order.executeBatch();
+                    item.executeBatch();
+                    connection.commit();
+                }
+            }
+            order.executeBatch();
+            item.executeBatch();
+            connection.commit();
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE TABLE bench_porders, bench_porder_items");
+        }
+    }
+
+    private static void createTables(Connection connection) throws SQLException {
+        dropTables(connection);
+        String partitions = monthlyPartitions();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE bench_porders ("
+                    + "id CHAR(36) NOT NULL, user_id CHAR(36) NOT NULL, total_amount DECIMAL(12,2) NOT NULL, "
+                    + "created_at DATETIME NOT NULL, PRIMARY KEY (id, created_at), "
+                    + "INDEX idx_bench_porders_user (user_id, created_at, id)) " + partitions);
+            statement.execute("CREATE TABLE bench_porder_items ("
+                    + "id CHAR(36) NOT NULL, order_id CHAR(36) NOT NULL, product_name VARCHAR(500) NOT NULL, "
+                    + "unit_price DECIMAL(12,2) NOT NULL, created_at DATETIME NOT NULL, PRIMARY KEY (id, created_at), "
+                    + "INDEX idx_bench_poi_order (order_id)) " + partitions);
+        }
+        connection.commit();
+    }
+
+    private static String monthlyPartitions() {
+        LocalDate month = LocalDate.now().withDayOfMonth(1).minusMonths(MONTHS - 1);
+        StringJoiner partitions = new StringJoiner(", ", "PARTITION BY RANGE COLUMNS (created_at) (", ")");
+        partitions.add("PARTITION p_start VALUES LESS THAN ('" + month + "')");
+        for (int m = 0; m < MONTHS; m++) {
+            LocalDate next = month.plusMonths(1);
+            partitions.add("PARTITION p" + m + " VALUES LESS THAN ('" + next + "')");
+            month = next;
+        }
+        partitions.add("PARTITION p_max VALUES LESS THAN (MAXVALUE)");
+        return partitions.toString();
+    }
+
+    private static void dropTables(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_porder_items");
+            statement.execute("DROP TABLE IF EXISTS bench_porders");
+        }
+        connection.commit();
+    }
+}
@@ -0,0 +1,140 @@
+package com.ecom.order.repository;
+
+import com.ecom.common.id.UuidV7;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Insert throughput into orders and order_items keyed by random UUIDv4 versus time-ordered UUIDv7,
+ * reported per slice of the load so a slowdown as the tables grow shows up. Runs under the
+ * {@code benchmark} profile only.
+ *
+ * Defaults to an in-memory database in MySQL mode. Random keys hurt most where pages have to come
+ * from disk, so point it at a scratch MySQL schema for numbers that mean something for InnoDB:
+ *
+ * <pre>
+ * ./mvnw -P benchmark -pl common-lib,order-service test -Dtest=OrderIdInsertBenchmark \
+ *     -Dbenchmark.jdbc-url=jdbc:mysql://localhost:3308/orders_bench -Dbenchmark.jdbc-user=root \
+ *     -Dbenchmark.jdbc-password=... -Dbenchmark.orders=1000000
+ * </pre>
+ *
+ * It creates and drops its own bench_orders and bench_order_items tables.
+ */
+class OrderIdInsertBenchmark {
+
+    private static final String JDBC_URL = System.getProperty("benchmark.jdbc-url",
+            "jdbc:h2:mem:orders-bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+    private static final String JDBC_USER = System.getProperty("benchmark.jdbc-user", "sa");
+    private static final String JDBC_PASSWORD = System.getProperty("benchmark.jdbc-password", "");
+    private static final int ORDERS = Integer.getInteger("benchmark.orders", 200_000);
+    private static final int SLICES = 4;
+    private static final int ITEMS_PER_ORDER = 3;
+    private static final int BATCH = 500;
+
+    @Test
+    void ordersPerSecondByIdVersion() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(JDBC_URL, JDBC_USER, JDBC_PASSWORD)) {
+            connection.setAutoCommit(false);
+            load(connection, UuidV7::next, ORDERS / 10);
+
+            System.out.printf("%-6s %-18s %12s%n", "ids", "orders loaded", "orders/s");
+            report(connection, "v4", () -> UUID.randomUUID().toString());
+            report(connection, "v7", UuidV7::next);
+            dropTables(connection);
+        }
+    }
+
+    // ── Helpers ──
+
+    private static void report(Connection connection, String label, Supplier<String> ids) throws SQLException {
+        double[] rates = load(connection, ids, ORDERS);
+        int slice = ORDERS / SLICES;
+        for (int s = 0; s < SLICES; s++) {
+            System.out.printf("%-6s %-18s %12.0f%n", label, (s * slice) + "-" + ((s + 1) * slice), rates[s]);
+            assertThat(rates[s]).isPositive();
+        }
+    }
+
+    /** Loads {@code orders} orders into fresh tables; returns the orders per second of each slice. */
+    private static double[] load(Connection connection, Supplier<String> ids, int orders) throws SQLException {
+        createTables(connection);
+        double[] rates = new double[SLICES];
+        int slice = orders / SLICES;
+        BigDecimal price = new BigDecimal("19.99");
+        try (PreparedStatement order = connection.prepareStatement(
+                "INSERT INTO bench_orders (id, user_id, order_number, status, total_amount, created_at) "
+                        + "VALUES (?, ?, ?, 'PENDING', ?, ?)");
+             PreparedStatement item = connection.prepareStatement(
+                     "INSERT INTO bench_order_items (id, order_id, product_id, product_name, quantity, unit_price, "
+                             + "total_price, created_at) VALUES (?, ?, ?, 'Mug', 1, ?, ?, ?)")) {
+            for (int s = 0; s < SLICES; s++) {
+                long started = System.nanoTime();
+                for (int n = s * slice; n < (s + 1) * slice; n++) {
+                    String orderId = ids.get();
+                    Timestamp now = new Timestamp(System.currentTimeMillis());
+                    order.setString(1, orderId);
+                    order.setString(2, "user-" + (n % 10_000));
+                    order.setString(3, "ORD-" + n);
+                    order.setBigDecimal(4, price);
+                    order.setTimestamp(5, now);
+                    order.addBatch();
+                    for (int i = 0; i < ITEMS_PER_ORDER; i++) {
+                        item.setString(1, ids.get());
+                        item.setString(2, orderId);
+                        item.setString(3, "product-" + i);
+                        item.setBigDecimal(4, price);
+                        item.setBigDecimal(5, price);
+                        item.setTimestamp(6, now);
+                        item.addBatch();
+                    }
+                    if ((n + 1) % BATCH == 0) {
+                        order.executeBatch();
+                        item.executeBatch();
+                        connection.commit();
+                    }
+                }
+                order.executeBatch();
+                item.executeBatch();
+                connection.commit();
+                rates[s] = slice / ((System.nanoTime() - started) / 1e9);
+            }
+        }
+        return rates;
+    }
+
+    private static void createTables(Connection connection) throws SQLException {
+        dropTables(connection);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE bench_orders ("
+                    + "id CHAR(36) NOT NULL, user_id CHAR(36) NOT NULL, order_number VARCHAR(50) NOT NULL, "
+                    + "status VARCHAR(20) NOT NULL, total_amount DECIMAL(12,2) NOT NULL, created_at DATETIME NOT NULL, "
+                    + "PRIMARY KEY (id))");
+            statement.execute("CREATE INDEX idx_bench_orders_user ON bench_orders (user_id, created_at, id)");
+            statement.execute("CREATE TABLE bench_order_items ("
+                    + "id CHAR(36) NOT NULL, order_id CHAR(36) NOT NULL, product_id CHAR(36) NOT NULL, "
+                    + "product_name VARCHAR(500) NOT NULL, quantity INT NOT NULL, unit_price DECIMAL(12,2) NOT NULL, "
+                    + "total_price DECIMAL(12,2) NOT NULL, created_at DATETIME NOT NULL, PRIMARY KEY (id))");
+            statement.execute("CREATE INDEX idx_bench_oi_order ON bench_order_items (order_id)");
+        }
+        connection.commit();
+    }
+
+    private static void dropTables(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_order_items");
+            statement.execute("DROP TABLE IF EXISTS bench_orders");
+        }
+        connection.commit();
+    }
+}
@@ -0,0 +1,105 @@
+package com.ecom.order.repository;
+
+import com.ecom.order.dto.OrderItemName;
+import com.ecom.order.dto.OrderSummary;
+import com.ecom.order.entity.Order;
+import com.ecom.order.entity.OrderItem;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The order history reads, against an in-memory database in MySQL mode.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:orders;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.flyway.enabled=false",
+        "ids.node-id=1"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class OrderRepositoryTest {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private final String userId = UUID.randomUUID().toString();
+
+    @Test
+    void historyPageIsNewestFirstAndStopsAtTheCursor() {
+        Order first = order("Mug", "Plate");
+        Order second = order("Bowl");
+        Order third = order("Spoon");
+
+        List<OrderSummary> page = orderRepository.findHistoryPage(userId, third.getCreatedAt(), third.getId(),
+                PageRequest.of(0, 10));
+
+        assertThat(page).extracting(OrderSummary::getId).containsExactly(second.getId(), first.getId());
+        assertThat(page).allSatisfy(order -> assertThat(order.getItemCount()).isNull());
+    }
+
+    @Test
+    void itemNamesAreInInsertionOrderWithinTheWindow() {
+        Order first = order("Mug", "Plate", "Cup");
+        Order second = order("Bowl");
+        LocalDateTime from = first.getCreatedAt().minusMinutes(1);
+        LocalDateTime to = second.getCreatedAt().plusMinutes(1);
+
+        List<OrderItemName> items = orderRepository.findItemNames(List.of(first.getId(), second.getId()), from, to);
+
+        assertThat(items).extracting(OrderItemName::getProductName).containsExactly("Mug", "Plate", "Cup", "Bowl");
+        assertThat(items).extracting(OrderItemName::getOrderId)
+                .containsExactly(first.getId(), first.getId(), first.getId(), second.getId());
+    }
+
+    @Test
+    void itemNamesOutsideTheWindowAreNotRead() {
+        Order order = order("Mug");
+
+        List<OrderItemName> items = orderRepository.findItemNames(List.of(order.getId()),
+                order.getCreatedAt().plusDays(1), order.getCreatedAt().plusDays(2));
+
+        assertThat(items).isEmpty();
+    }
+
+    // ── Helpers ──
+
+    private Order order(String... productNames) {
+        Order order = Order.builder()
+                .userId(userId)
+                .subtotal(new BigDecimal("19.99"))
+                .totalAmount(new BigDecimal("19.99"))
+                .shippingAddressSnapshot("{}")
+                .build();
+        for (String productName : productNames) {
+            order.getItems().add(OrderItem.builder()
+                    .order(order)
+                    .productId(UUID.randomUUID().toString())
+                    .productName(productName)
+                    .quantity(1)
+                    .unitPrice(new BigDecimal("19.99"))
+                    .totalPrice(new BigDecimal("19.99"))
+                    .build());
+        }
+        Order saved = entityManager.persistFlushFind(order);
+        entityManager.clear();
+        return saved;
+    }
+}
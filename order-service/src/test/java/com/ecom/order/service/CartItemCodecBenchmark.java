@@ -0,0 +1,142 @@
+package com.ecom.order.service;
+
+import com.ecom.order.dto.CartItem;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.codec.ByteArrayCodec;
+import org.junit.jupiter.api.Test;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cart item encoding, binary codec versus the JSON it replaced: encode and decode time and heap
+ * allocated per item, and bytes per 20-line cart both as encoded values and as the Redis hash
+ * holding them (MEMORY USAGE on an embedded redis-server). Runs under the {@code benchmark}
+ * profile only.
+ */
+class CartItemCodecBenchmark {
+
+    private static final int PORT = 16383;
+    private static final int LINES = 20;
+    private static final int OPS = 200_000;
+    private static final int ROUNDS = 5;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final CartItemCodec codec = new CartItemCodec(objectMapper);
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    void encodeDecodeCostAndSizePerCart() throws IOException {
+        List<CartItem> cart = cart();
+        List<byte[]> binary = cart.stream().map(codec::encode).toList();
+        List<byte[]> json = cart.stream().map(this::json).toList();
+        assertThat(binary.stream().map(codec::decode).toList()).isEqualTo(cart);
+
+        System.out.printf("%-8s %-8s %10s %14s%n", "format", "op", "ns/item", "alloc B/item");
+        report("binary", "encode", cart, codec::encode);
+        report("json", "encode", cart, this::json);
+        report("binary", "decode", binary, codec::decode);
+        report("json", "decode", json, this::fromJson);
+
+        System.out.printf("%n%-8s %14s %14s%n", "format", "value bytes", "redis bytes");
+        System.out.printf("%-8s %14d %14d%n", "binary", size(binary), redisBytes(binary));
+        System.out.printf("%-8s %14d %14d%n", "json", size(json), redisBytes(json));
+    }
+
+    // ── Helpers ──
+
+    /** Median time and allocation per item over {@link #ROUNDS} rounds, after as many warm-up rounds. */
+    private <T> void report(String format, String op, List<T> inputs, Function<T, ?> work) {
+        double[] nanos = new double[ROUNDS];
+        double[] allocated = new double[ROUNDS];
+        for (int round = -ROUNDS; round < ROUNDS; round++) {
+            long bytesBefore = threads.getCurrentThreadAllocatedBytes();
+            long started = System.nanoTime();
+            Object sink = null;
+            for (int n = 0; n < OPS; n++) {
+                sink = work.apply(inputs.get(n % inputs.size()));
+            }
+            long elapsed = System.nanoTime() - started;
+            long bytes = threads.getCurrentThreadAllocatedBytes() - bytesBefore;
+            assertThat(sink).isNotNull();
+            if (round >= 0) {
+                nanos[round] = (double) elapsed / OPS;
+                allocated[round] = (double) bytes / OPS;
+            }
+        }
+        System.out.printf("%-8s %-8s %10.0f %14.0f%n", format, op, median(nanos), median(allocated));
+    }
+
+    private static double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    private static long size(List<byte[]> values) {
+        return values.stream().mapToLong(value -> value.length).sum();
+    }
+
+    private static long redisBytes(List<byte[]> values) throws IOException {
+        RedisServer redisServer = new RedisServer(PORT);
+        redisServer.start();
+        RedisClient client = RedisClient.create("redis://localhost:" + PORT);
+        try (StatefulRedisConnection<byte[], byte[]> connection = client.connect(ByteArrayCodec.INSTANCE)) {
+            byte[] key = "cart:benchmark".getBytes(StandardCharsets.UTF_8);
+            for (int i = 0; i < values.size(); i++) {
+                connection.sync().hset(key, ("line-" + i).getBytes(StandardCharsets.UTF_8), values.get(i));
+            }
+            return connection.sync().memoryUsage(key);
+        } finally {
+            client.shutdown();
+            redisServer.stop();
+        }
+    }
+
+    private byte[] json(CartItem item) {
+        try {
+            return objectMapper.writeValueAsBytes(item);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private CartItem fromJson(byte[] value) {
+        try {
+            return objectMapper.readValue(value, CartItem.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static List<CartItem> cart() {
+        List<CartItem> cart = new ArrayList<>();
+        for (int i = 0; i < LINES; i++) {
+            cart.add(CartItem.builder()
+                    .productId(UUID.randomUUID().toString())
+                    .variantId(UUID.randomUUID().toString())
+                    .productName("Stoneware Coffee Mug, 350 ml #" + i)
+                    .price(new BigDecimal("19.99").add(BigDecimal.valueOf(i)))
+                    .quantity(1 + i % 3)
+                    .updatedAt(Instant.ofEpochSecond(1_772_000_000L + i))
+                    .build());
+        }
+        return cart;
+    }
+}
@@ -0,0 +1,126 @@
+package com.ecom.order.service;
+
+import com.ecom.common.exception.BadRequestException;
+import com.ecom.order.dto.CartItem;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CartItemCodecTest {
+
+    private final CartItemCodec codec = new CartItemCodec(new ObjectMapper());
+
+    @Test
+    void uuidIdsRoundTripInSixteenBytes() {
+        CartItem item = item(UUID.randomUUID().toString(), UUID.randomUUID().toString(), "Mug", "19.99");
+
+        byte[] encoded = codec.encode(item);
+
+        assertThat(codec.decode(encoded)).isEqualTo(item);
+        // version + header + 2 × (tag + 16) + name + price
+        assertThat(encoded.length).isLessThan(1 + 8 + 2 * 17 + 4 + 6);
+    }
+
+    @Test
+    void nonUuidIdsRoundTripAsText() {
+        // Upper case parses as a UUID but would not print back the same, so it is kept as text
+        String upperCaseUuid = UUID.randomUUID().toString().toUpperCase();
+        CartItem item = item("sku-42", upperCaseUuid, "Mug", "5.00");
+
+        CartItem decoded = codec.decode(codec.encode(item));
+
+        assertThat(decoded.getProductId()).isEqualTo("sku-42");
+        assertThat(decoded.getVariantId()).isEqualTo(upperCaseUuid);
+    }
+
+    @Test
+    void missingNameAndVariantRoundTripAsNull() {
+        CartItem item = item(UUID.randomUUID().toString(), null, null, "0");
+        item.setUpdatedAt(null);
+
+        assertThat(codec.decode(codec.encode(item))).isEqualTo(item);
+    }
+
+    @Test
+    void emptyNameStaysEmpty() {
+        CartItem item = item("p-1", null, "", "1.50");
+
+        assertThat(codec.decode(codec.encode(item)).getProductName()).isEmpty();
+    }
+
+    @Test
+    void negativeScalePriceKeepsItsValue() {
+        CartItem item = item("p-1", null, "Sofa", "1E+3");
+
+        BigDecimal price = codec.decode(codec.encode(item)).getPrice();
+
+        assertThat(price).isEqualByComparingTo("1000");
+        assertThat(price.scale()).isZero();
+    }
+
+    @Test
+    void negativePriceRoundTrips() {
+        CartItem item = item("p-1", null, "Credit", "-12.34");
+
+        assertThat(codec.decode(codec.encode(item)).getPrice()).isEqualTo(new BigDecimal("-12.34"));
+    }
+
+    @Test
+    void priceBeyondALongIsRefused() {
+        CartItem item = item("p-1", null, "Yacht", "92233720368547758.08");
+
+        assertThatThrownBy(() -> codec.encode(item)).isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void updatedAtIsKeptToTheSecond() {
+        CartItem item = item("p-1", null, "Mug", "1.00");
+        item.setUpdatedAt(Instant.parse("2026-03-01T10:15:30.750Z"));
+
+        assertThat(codec.decode(codec.encode(item)).getUpdatedAt()).isEqualTo(Instant.parse("2026-03-01T10:15:30Z"));
+    }
+
+    @Test
+    void legacyJsonIsReadWithItsShortestDecimalPrice() {
+        String json = """
+                {"productId":"p-1","variantId":"v-1","productName":"Mug","price":19.99,"quantity":3}""";
+
+        CartItem decoded = codec.decode(json.getBytes(StandardCharsets.UTF_8));
+
+        assertThat(decoded.getProductId()).isEqualTo("p-1");
+        assertThat(decoded.getVariantId()).isEqualTo("v-1");
+        assertThat(decoded.getProductName()).isEqualTo("Mug");
+        assertThat(decoded.getPrice()).isEqualTo(new BigDecimal("19.99"));
+        assertThat(decoded.getQuantity()).isEqualTo(3);
+        assertThat(decoded.getUpdatedAt()).isNull();
+    }
+
+    @Test
+    void legacyJsonWithoutOptionalFields() {
+        CartItem decoded = codec.decode("{\"productId\":\"p-1\",\"quantity\":1}".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(decoded.getVariantId()).isNull();
+        assertThat(decoded.getProductName()).isNull();
+        assertThat(decoded.getPrice()).isEqualByComparingTo("0");
+    }
+
+    // ── Helpers ──
+
+    private static CartItem item(String productId, String variantId, String name, String price) {
+        return CartItem.builder()
+                .productId(productId)
+                .variantId(variantId)
+                .productName(name)
+                .price(new BigDecimal(price))
+                .quantity(2)
+                .updatedAt(Instant.parse("2026-03-01T10:15:30Z"))
+                .build();
+    }
+}
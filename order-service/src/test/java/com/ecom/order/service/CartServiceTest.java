@@ -0,0 +1,145 @@
+package com.ecom.order.service;
+
+import com.ecom.common.exception.BadRequestException;
+import com.ecom.order.dto.CartItem;
+import com.ecom.order.dto.CartOperation;
+import com.ecom.order.dto.CartOperationResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the cart scripts against a real redis-server.
+ */
+class CartServiceTest {
+
+    private static final int PORT = 16384;
+
+    private static RedisServer redisServer;
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    private CartService cartService;
+    private String userId;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        redisServer = new RedisServer(PORT);
+        redisServer.start();
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", PORT));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void newService() {
+        cartService = new CartService(redisTemplate, new CartItemCodec(new ObjectMapper().findAndRegisterModules()));
+        ReflectionTestUtils.setField(cartService, "maxBatchOperations", 100);
+        ReflectionTestUtils.setField(cartService, "defaultMergeStrategy", CartService.MergeStrategy.SUM);
+        userId = "user-" + UUID.randomUUID();
+    }
+
+    @Test
+    void addingTheSameItemSumsTheQuantities() {
+        cartService.addItem(userId, item("mug", 2));
+
+        assertThat(cartService.addItem(userId, item("mug", 3))).isEqualTo(5);
+        assertThat(cartService.getCart(userId)).singleElement()
+                .extracting(CartItem::getQuantity).isEqualTo(5);
+    }
+
+    @Test
+    void addThatWouldPassTheMaximumIsRefusedAndLeavesTheCartAlone() {
+        cartService.addItem(userId, item("mug", CartItem.MAX_QUANTITY - 1));
+
+        assertThatThrownBy(() -> cartService.addItem(userId, item("mug", 2)))
+                .isInstanceOf(BadRequestException.class);
+        assertThat(cartService.getCart(userId)).singleElement()
+                .extracting(CartItem::getQuantity).isEqualTo(CartItem.MAX_QUANTITY - 1);
+        assertThat(cartService.addItem(userId, item("mug", 1))).isEqualTo(CartItem.MAX_QUANTITY);
+    }
+
+    @Test
+    void batchAddPastTheMaximumIsNotAppliedButTheRestIs() {
+        cartService.addItem(userId, item("mug", CartItem.MAX_QUANTITY));
+
+        List<CartOperationResult> results = cartService.applyBatch(userId, List.of(
+                add("mug", 1),
+                add("plate", 4)));
+
+        assertThat(results).extracting(CartOperationResult::isApplied).containsExactly(false, true);
+        assertThat(results).extracting(CartOperationResult::getQuantity).containsExactly(null, 4L);
+        assertThat(cartService.getCart(userId)).extracting(CartItem::getQuantity)
+                .containsExactlyInAnyOrder(CartItem.MAX_QUANTITY, 4);
+    }
+
+    @Test
+    void quantityOutsideTheBoundsIsRejectedBeforeRedis() {
+        CartOperation set = new CartOperation();
+        set.setType(CartOperation.Type.SET_QUANTITY);
+        set.setProductId("mug");
+        set.setQuantity(CartItem.MAX_QUANTITY + 1);
+
+        assertThatThrownBy(() -> cartService.applyBatch(userId, List.of(set)))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> cartService.updateQuantity(userId, "mug", null, 0))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void summingMergeStopsAtTheMaximum() {
+        String guestId = "guest-" + UUID.randomUUID();
+        cartService.addItem(userId, item("mug", 600));
+        cartService.addItem(guestId, item("mug", 600));
+
+        cartService.merge(userId, guestId, CartService.MergeStrategy.SUM);
+
+        assertThat(cartService.getCart(userId)).singleElement()
+                .extracting(CartItem::getQuantity).isEqualTo(CartItem.MAX_QUANTITY);
+    }
+
+    // ── Helpers ──
+
+    private static CartItem item(String productId, int quantity) {
+        return CartItem.builder()
+                .productId(productId)
+                .productName("Stoneware " + productId)
+                .price(new BigDecimal("19.99"))
+                .quantity(quantity)
+                .updatedAt(Instant.now())
+                .build();
+    }
+
+    private static CartOperation add(String productId, int quantity) {
+        CartOperation operation = new CartOperation();
+        operation.setType(CartOperation.Type.ADD);
+        operation.setProductId(productId);
+        operation.setProductName("Stoneware " + productId);
+        operation.setPrice(new BigDecimal("19.99"));
+        operation.setQuantity(quantity);
+        return operation;
+    }
+}
@@ -0,0 +1,162 @@
+package com.ecom.order.service;
+
+import com.ecom.common.exception.BadRequestException;
+import com.ecom.order.entity.Coupon;
+import com.ecom.order.repository.CouponRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the coupon redemption scripts against a real redis-server.
+ */
+class CouponEngineTest {
+
+    private static final int PORT = 16381;
+
+    private static RedisServer redisServer;
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    private CouponRepository couponRepository;
+    private CouponEngine engine;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        redisServer = new RedisServer(PORT);
+        redisServer.start();
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", PORT));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void newEngine() {
+        couponRepository = mock(CouponRepository.class);
+        engine = new CouponEngine(couponRepository, redisTemplate, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(engine, "counterRetention", Duration.ofDays(7));
+    }
+
+    @Test
+    void concurrentCheckoutsNeverOversubscribeALimitedCoupon() throws Exception {
+        Coupon coupon = coupon(50, null);
+
+        int redeemed = redeemConcurrently(coupon, 400, n -> "user-" + n);
+
+        assertThat(redeemed).isEqualTo(50);
+        assertThat(redisTemplate.opsForValue().get(CouponEngine.usedKey(coupon.getId()))).isEqualTo("50");
+    }
+
+    @Test
+    void missingCounterIsSeededFromTheDatabase() throws Exception {
+        Coupon coupon = coupon(50, null);
+        when(couponRepository.countRedemptions(coupon.getId())).thenReturn(47L);
+
+        int redeemed = redeemConcurrently(coupon, 100, n -> "user-" + n);
+
+        assertThat(redeemed).isEqualTo(3);
+    }
+
+    @Test
+    void oneUserRacingThemselvesRedeemsOnlyTheirLimit() throws Exception {
+        Coupon coupon = coupon(null, 1);
+
+        int redeemed = redeemConcurrently(coupon, 50, n -> "user-1");
+
+        assertThat(redeemed).isEqualTo(1);
+        assertThatThrownBy(() -> engine.redeem(coupon, "user-1")).isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void releasedRedemptionCanBeTakenAgain() {
+        Coupon coupon = coupon(1, null);
+        engine.redeem(coupon, "user-1");
+        assertThatThrownBy(() -> engine.redeem(coupon, "user-2")).isInstanceOf(BadRequestException.class);
+
+        engine.release(coupon, "user-1");
+
+        engine.redeem(coupon, "user-2");
+        assertThat(redisTemplate.opsForValue().get(CouponEngine.usedKey(coupon.getId()))).isEqualTo("1");
+    }
+
+    // ── Helpers ──
+
+    private Coupon coupon(Integer usageLimit, Integer perUserLimit) {
+        Coupon coupon = Coupon.builder()
+                .id(UUID.randomUUID().toString())
+                .code("SAVE-" + UUID.randomUUID())
+                .discountType(Coupon.DiscountType.FIXED)
+                .discountValue(BigDecimal.TEN)
+                .usageLimit(usageLimit)
+                .perUserLimit(perUserLimit)
+                .validFrom(LocalDateTime.now().minusDays(1))
+                .validUntil(LocalDateTime.now().plusDays(1))
+                .build();
+        when(couponRepository.countRedemptionsByUser(anyString(), anyString())).thenReturn(0L);
+        return coupon;
+    }
+
+    /** Fires all attempts at once from 32 threads; returns how many were redeemed. */
+    private int redeemConcurrently(Coupon coupon, int attempts, IntFunction<String> userForAttempt) throws Exception {
+        AtomicInteger redeemed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(32);
+        try {
+            List<Future<?>> runs = new ArrayList<>();
+            for (int n = 0; n < attempts; n++) {
+                String userId = userForAttempt.apply(n);
+                runs.add(pool.submit(() -> {
+                    start.await();
+                    try {
+                        engine.redeem(coupon, userId);
+                        redeemed.incrementAndGet();
+                    } catch (BadRequestException refused) {
+                        // Limit reached
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> run : runs) {
+                run.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        return redeemed.get();
+    }
+}
@@ -0,0 +1,29 @@
+package com.ecom.user.controller;
+
+import com.ecom.common.dto.ApiResponse;
+import com.ecom.user.dto.ContactsRequest;
+import com.ecom.user.dto.UserContact;
+import com.ecom.user.service.UserService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Internal user endpoints — called by Order Service. Id lists travel in the request body, so a
+ * lookup is bounded by users.contacts.max-ids rather than by the URL length.
+ */
+@RestController
+@RequestMapping("/internal/users")
+@RequiredArgsConstructor
+public class InternalUserController {
+
+    private final UserService userService;
+
+    @PostMapping("/contacts")
+    public ResponseEntity<ApiResponse<List<UserContact>>> getContacts(@Valid @RequestBody ContactsRequest request) {
+        return ResponseEntity.ok(ApiResponse.ok(userService.getContacts(request.getIds())));
+    }
+}
@@ -0,0 +1,13 @@
+package com.ecom.user.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class ContactsRequest {
+
+    @NotNull(message = "User ids are required")
+    private List<String> ids;
+}
@@ -0,0 +1,17 @@
+package com.ecom.user.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Where to reach a user, for services that email them on their own schedule.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserContact {
+    private String id;
+    private String email;
+    private String fullName;
+}
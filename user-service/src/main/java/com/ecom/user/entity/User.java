@@ -1,5 +1,6 @@
 package com.ecom.user.entity;
 
+import com.ecom.common.id.UuidV7;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
@@ -73,7 +74,7 @@ public class User {
     @PrePersist
     public void prePersist() {
         if (id == null) {
-            id = java.util.UUID.randomUUID().toString();
+            id = UuidV7.next();
         }
     }
 }
@@ -1,9 +1,14 @@
 package com.ecom.user.repository;
 
+import com.ecom.user.dto.UserContact;
 import com.ecom.user.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +17,11 @@ public interface UserRepository extends JpaRepository<User, String> {
     Optional<User> findByEmail(String email);
 
     boolean existsByEmail(String email);
+
+    @Query("""
+            SELECT new com.ecom.user.dto.UserContact(u.id, u.email, u.fullName)
+            FROM User u
+            WHERE u.id IN :ids AND u.status = :status
+            """)
+    List<UserContact> findContacts(@Param("ids") Collection<String> ids, @Param("status") User.UserStatus status);
 }
@@ -4,19 +4,23 @@ import com.ecom.common.dto.ApiResponse;
 import com.ecom.common.event.BaseEvent;
 import com.ecom.common.event.EventTypes;
 import com.ecom.common.event.TopicNames;
+import com.ecom.common.exception.BadRequestException;
 import com.ecom.common.exception.DuplicateResourceException;
 import com.ecom.common.exception.ResourceNotFoundException;
 import com.ecom.user.dto.CreateUserRequest;
+import com.ecom.user.dto.UserContact;
 import com.ecom.user.dto.UserResponse;
 import com.ecom.user.entity.User;
 import com.ecom.user.repository.UserRepository;
 import io.awspring.cloud.sns.core.SnsTemplate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -30,6 +34,9 @@ public class UserService {
     private final UserRepository userRepository;
     private final SnsTemplate snsTemplate;
 
+    @Value("${users.contacts.max-ids:500}")
+    private int maxContactIds;
+
     @Transactional
     public UserResponse createUser(CreateUserRequest request) {
         // Check for duplicate email
@@ -74,6 +81,22 @@ public class UserService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Contacts of the active users among {@code ids}. Unknown ids — guest cart owners, for
+     * instance — and suspended or deleted users are absent from the result.
+     */
+    @Transactional(readOnly = true)
+    public List<UserContact> getContacts(Collection<String> ids) {
+        List<String> distinct = ids.stream().distinct().toList();
+        if (distinct.size() > maxContactIds) {
+            throw new BadRequestException("At most " + maxContactIds + " user ids per lookup");
+        }
+        if (distinct.isEmpty()) {
+            return List.of();
+        }
+        return userRepository.findContacts(distinct, User.UserStatus.ACTIVE);
+    }
+
     @Transactional
     public UserResponse updateUser(String id, CreateUserRequest request) {
         User user = userRepository.findById(id)